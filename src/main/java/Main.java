@@ -1,13 +1,30 @@
 import implementations.algorithm.AlgorithmImp;
-import implementations.io.Conversion;
+import implementations.algorithm.AraStarAlgorithm;
+import implementations.algorithm.BeamSearchAlgorithm;
+import implementations.algorithm.DeterministicParallelAlgorithm;
+import implementations.algorithm.GeneticAlgorithm;
+import implementations.algorithm.SearchEventChannel;
+import implementations.algorithm.SearchMetrics;
+import implementations.distributed.SearchCoordinator;
+import implementations.distributed.SearchWorker;
 import implementations.io.InputImp;
-import implementations.io.OutputImp;
+import implementations.io.SolveContext;
+import implementations.preprocessing.EngineSelector;
+import implementations.preprocessing.ProcessorSweep;
 import interfaces.algorithm.Algorithm;
+import interfaces.algorithm.SearchView;
 import interfaces.io.Input;
+import interfaces.structures.DAG;
+import interfaces.structures.Schedule;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class Main {
 	public static void main(String args[]) {
@@ -16,15 +33,42 @@ public class Main {
 		boolean outputSpec = false;
 		String outputFileName= "";
 		int noOfParallerCores = 1;
+		String metricsFileName = null;
+		long timeLimitSeconds = 0;
+		int beamWidth = 0;
+		int generations = 0;
+		int coordinatorPort = 0;
+		String coordinatorHost = null;
+		boolean deterministic = false;
+		String warmStartFileName = null;
+		boolean sweep = false;
+		boolean explainEngine = false;
 		
 		//java jar scheduler.jar INPUT.dot P [OPTION]
 		//Optional :
 		//-p N
 		//-V
 		//-o OUTPUT
+		//-m METRICS
+		//-t SECONDS
+		//-b WIDTH
+		//-g GENERATIONS
+		//-c [HOST:]PORT
+		//-d
+		//-s SCHEDULE
+		//-a
+		//-e
+		//java jar scheduler.jar -w HOST:PORT
 
 		//convert to ArrayList
 		List<String> argsList = new ArrayList<>(Arrays.asList(args));
+
+		// a worker of a distributed search gets the graph from its coordinator
+		if (argsList.size() == 2 && argsList.get(0).equals("-w")) {
+			String address = argsList.get(1);
+			new SearchWorker(SearchWorker.host(address), SearchWorker.port(address)).run();
+			return;
+		}
 		
 		// check filepath of .dot file
 		final String filePath = argsList.get(0);
@@ -43,45 +87,178 @@ public class Main {
 		}
 
 		//optional options
-		//hard-coded for now
-		if (argsList.size() > 2) {
-			for (int i = 2; i < argsList.size(); i++) {
-				String str = argsList.get(i);
+		//every option is matched whole, and options taking a value skip past it
+		for (int i = 2; i < argsList.size(); i++) {
+			String str = argsList.get(i);
 
-				if (str.contains("-v")) {
-					visualisation = true;
-				} else if (str.contains("-p")) {
-
-					String tempInt = argsList.get(i + 1);
-					
+			if (str.equals("-v")) {
+				visualisation = true;
+			} else if (str.equals("-p")) {
+				try {
+					noOfParallerCores = Integer.parseInt(optionValue(argsList, i++));
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("no of parallel cores not a valid integer");
+				}
+			} else if (str.equals("-o")) {
+				outputFileName = optionValue(argsList, i++);
+				outputSpec = true;
+			} else if (str.equals("-m")) {
+				metricsFileName = optionValue(argsList, i++);
+			} else if (str.equals("-t")) {
+				try {
+					timeLimitSeconds = Long.parseLong(optionValue(argsList, i++));
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("time limit not a valid integer");
+				}
+			} else if (str.equals("-b")) {
+				try {
+					beamWidth = Integer.parseInt(optionValue(argsList, i++));
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("beam width not a valid integer");
+				}
+			} else if (str.equals("-g")) {
+				try {
+					generations = Integer.parseInt(optionValue(argsList, i++));
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("number of generations not a valid integer");
+				}
+			} else if (str.equals("-d")) {
+				deterministic = true;
+			} else if (str.equals("-s")) {
+				warmStartFileName = optionValue(argsList, i++);
+			} else if (str.equals("-a")) {
+				sweep = true;
+			} else if (str.equals("-e")) {
+				explainEngine = true;
+			} else if (str.equals("-c")) {
+				String address = optionValue(argsList, i++);
+				if (address.contains(":")) {
+					coordinatorHost = SearchWorker.host(address);
+					coordinatorPort = SearchWorker.port(address);
+				} else {
 					try {
-						// test if it is an int
-						noOfParallerCores = Integer.parseInt(tempInt);
+						coordinatorPort = Integer.parseInt(address);
 					} catch (NumberFormatException e) {
-						throw new IllegalArgumentException("no of parallel cores not a valid integer");
+						throw new IllegalArgumentException("port not a valid integer");
 					}
-
-				} else if (str.contains("-o")) {
-					outputFileName = argsList.get(i + 1);
-					outputSpec = true;
 				}
+			} else {
+				throw new IllegalArgumentException("unknown option " + str);
 			}
 		}
 
+		// each of these picks the engine, so no more than one may be given
+		int engines = 0;
+		for (boolean engine : new boolean[] {visualisation, coordinatorPort > 0, deterministic, generations > 0,
+				beamWidth > 0, timeLimitSeconds > 0, sweep}) {
+			engines += engine ? 1 : 0;
+		}
+		if (engines > 1) {
+			throw new IllegalArgumentException("only one of -v, -c, -d, -g, -b, -t and -a can be given");
+		}
+		// only the default engine is picked from a prediction
+		if (explainEngine && engines > 0) {
+			throw new IllegalArgumentException("-e cannot be combined with -v, -c, -d, -g, -b, -t or -a");
+		}
+		// a warm start is only searched from by the engines that take a first schedule
+		if (warmStartFileName != null && (coordinatorPort > 0 || deterministic || generations > 0 || sweep)) {
+			throw new IllegalArgumentException("-s cannot be combined with -c, -d, -g or -a");
+		}
+
 		Input input = new InputImp(filePath, noOfProcessors);
 
-		Conversion conversion = new Conversion(input);
+		// the graph and settings of this solve, rather than the shared graph
+		SolveContext context = new SolveContext(filePath, input, noOfParallerCores, outputSpec ? outputFileName : null);
+		DAG dag = context.getDAG();
 
-		Algorithm alg = new AlgorithmImp(input.getProcessorCount(),visualisation,noOfParallerCores);
+		Schedule warmStart = null;
+		if (warmStartFileName != null) {
+			// a schedule of an earlier version of the graph, repaired to fit it
+			warmStart = context.createWarmStart(warmStartFileName);
+			System.out.println("starting from " + warmStartFileName + " with total time " + warmStart.getTotalTime());
+		}
+
+		SearchMetrics metrics = new SearchMetrics();
+		if (metricsFileName != null) {
+			metrics.startPeriodicExport(metricsFileName, 1000);
+		}
 
-		OutputImp outputImp;
+		// the GUI module is only loaded when asked for, so headless runs never load Swing
+		SearchEventChannel channel = null;
+		if (visualisation) {
+			channel = new SearchEventChannel(metrics);
+			SearchView.load().show(new File(filePath).getName(), dag,
+					input.getProcessorCount(), noOfParallerCores, channel);
+		}
 
-		if (outputSpec){
-			outputImp = new OutputImp(alg.getCurrentBestSchedule(), filePath, outputFileName);
+		// each improvement of an anytime search is printed with how far from optimal it can be
+		Consumer<AraStarAlgorithm.Solution> printSolution = solution -> System.out.println(String.format(
+				"%.0f ms: total time %d, lower bound %d, at most %.3f times optimal",
+				solution.getElapsedMs(), solution.getTotalTime(), solution.getLowerBound(), solution.getSuboptimality()));
+
+		// without a view, special shapes of graph are solved directly, and otherwise unconnected parts of the
+		// graph are solved separately and chains are contracted before searching; the view shows the full search
+		Algorithm alg;
+		if (visualisation) {
+			alg = new AlgorithmImp(dag, input.getProcessorCount(), noOfParallerCores, metrics, channel, warmStart);
+		} else if (coordinatorPort > 0) {
+			// searched by worker processes started with -w HOST:PORT, here or on other machines
+			try {
+				// only workers on this machine can connect unless a host to listen on is given
+				InetAddress listenOn = coordinatorHost == null ? InetAddress.getLoopbackAddress()
+						: InetAddress.getByName(coordinatorHost);
+				ServerSocket server = new ServerSocket(coordinatorPort, 50, listenOn);
+				System.out.println("waiting for workers on " + listenOn.getHostAddress() + ":" + coordinatorPort);
+				alg = new SearchCoordinator(dag, input.getProcessorCount(), server, metrics);
+			} catch (IOException e) {
+				e.printStackTrace();
+				return;
+			}
+		} else if (deterministic) {
+			// the same schedule and statistics on every run with the same -p
+			alg = new DeterministicParallelAlgorithm(dag, input.getProcessorCount(), noOfParallerCores, metrics);
+		} else if (generations > 0) {
+			alg = new GeneticAlgorithm(dag, input.getProcessorCount(), GeneticAlgorithm.DEFAULT_POPULATION,
+					generations, true, 0, noOfParallerCores, metrics);
+		} else if (beamWidth > 0) {
+			// graphs too big to search exhaustively
+			alg = new BeamSearchAlgorithm(dag, input.getProcessorCount(), beamWidth, noOfParallerCores, metrics, warmStart);
+		} else if (timeLimitSeconds > 0) {
+			// settle for the best schedule found in time
+			alg = new AraStarAlgorithm(dag, input.getProcessorCount(), timeLimitSeconds * 1000, metrics, printSolution,
+					warmStart);
+		} else if (sweep) {
+			// every number of processors from 1 to P, printed as a table; the schedule on P is written out
+			ProcessorSweep processorSweep = new ProcessorSweep(dag, input.getProcessorCount(), noOfParallerCores, metrics);
+			System.out.println(processorSweep.toTable());
+			alg = processorSweep;
 		} else {
-			outputImp = new OutputImp(alg.getCurrentBestSchedule(), filePath);
+			// an exact search unless it is predicted to take far too long
+			EngineSelector selector = new EngineSelector(dag, input.getProcessorCount(), EngineSelector.DEFAULT_BUDGET_MS);
+			if (explainEngine && selector.isEstimated()) {
+				System.out.println(String.format("exact search predicted to take %.0f ms (%.3g states), using %s",
+						selector.getPredictedMs(), selector.getEstimatedNodes(), selector.getEngine()));
+			} else if (explainEngine) {
+				System.out.println("graph small or of a special shape, using " + selector.getEngine());
+			}
+			alg = selector.createAlgorithm(noOfParallerCores, metrics, printSolution, warmStart);
+		}
+
+		if (metricsFileName != null) {
+			metrics.stopPeriodicExport(metricsFileName);
+		}
+
+		context.createOutput(alg.getCurrentBestSchedule()).outputToFile();
+	}
+
+	/**
+	 * @param i - the position of an option taking a value
+	 * @return the value following the option
+	 */
+	private static String optionValue(List<String> argsList, int i) {
+		if (i + 1 >= argsList.size()) {
+			throw new IllegalArgumentException(argsList.get(i) + " needs a value");
 		}
-	
-		outputImp.outputToFile();
+		return argsList.get(i + 1);
 	}
 }
\ No newline at end of file
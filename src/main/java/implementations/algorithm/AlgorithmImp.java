@@ -7,23 +7,25 @@ import java.util.Comparator;//####[6]####
 import java.util.HashMap;//####[7]####
 import java.util.HashSet;//####[8]####
 import java.util.List;//####[9]####
+import java.util.Map;//####[10]####
 import java.util.NoSuchElementException;//####[10]####
 import java.util.Set;//####[11]####
-import java.util.concurrent.Semaphore;//####[13]####
+import java.util.function.Consumer;//####[12]####
+import java.util.function.IntSupplier;//####[12]####
+import java.util.function.Supplier;//####[12]####
 import java.lang.InterruptedException;//####[14]####
+import implementations.io.SolveContext;//####[16]####
 import implementations.structures.DAGImp;//####[16]####
 import implementations.structures.NodeScheduleImp;//####[17]####
 import implementations.structures.ScheduleImp;//####[18]####
 import interfaces.algorithm.Algorithm;//####[19]####
 import interfaces.algorithm.AlgorithmNode;//####[20]####
+import interfaces.algorithm.BranchOrdering;//####[21]####
+import interfaces.algorithm.SearchView;//####[21]####
 import interfaces.structures.DAG;//####[21]####
 import interfaces.structures.Node;//####[22]####
 import interfaces.structures.NodeSchedule;//####[23]####
 import interfaces.structures.Schedule;//####[24]####
-import visualisation.BarChartModel;//####[25]####
-import visualisation.Clock;//####[26]####
-import visualisation.ComboView;//####[27]####
-import visualisation.TableModel;//####[28]####
 //####[28]####
 //-- ParaTask related imports//####[28]####
 import pt.runtime.*;//####[28]####
@@ -38,14 +40,14 @@ import java.util.List;//####[28]####
 /**
  * This class represents the algorithm to solve the scheduling problem.
  * The class is responsible for all DFS searches and maintaining a current best result.
- * The class also acts as a controller for the View to update the visualisation.
+ * When visualisation is on, the search publishes its progress to a view through a {@link SearchEventChannel},
+ * through which it can also be cancelled.
  * 
  * Algorithm @author: Daniel, Victor, Wayne
  * 
  * Visualisation @author: Pulkit
  *///####[38]####
 public class AlgorithmImp implements Algorithm {//####[39]####
-    static{ParaTask.init();}//####[39]####
     /*  ParaTask helper method to access private/protected slots *///####[39]####
     public void __pt__accessPrivateSlot(Method m, Object instance, TaskID arg, Object interResult ) throws IllegalArgumentException, IllegalAccessException, InvocationTargetException {//####[39]####
         if (m.getParameterTypes().length == 0)//####[39]####
@@ -62,67 +64,171 @@ public class AlgorithmImp implements Algorithm {//####[39]####
 //####[42]####
     private HashMap<String, NodeSchedule> _currentBestSchedule;//####[42]####
 //####[43]####
-    private int _recursiveCalls = 0;//####[43]####
+    private SearchMetrics _metrics;//####[43]####
 //####[44]####
-    private Semaphore _threads;//####[44]####
+    private ForkController _forks;//####[44]####
 //####[45]####
     private int _numberOfThreads = 0;//####[45]####
 //####[47]####
-    private TableModel _model;//####[47]####
-//####[48]####
-    private BarChartModel _chartModel;//####[48]####
-//####[49]####
-    private ComboView _schedule;//####[49]####
+    private SearchEventChannel _channel;//####[49]####
 //####[51]####
-    private int _bestTime = Integer.MAX_VALUE;//####[51]####
+    private volatile int _bestTime = Integer.MAX_VALUE;//####[51]####
 //####[53]####
-    private Set<Set<AlgorithmNode>> _uniqueProcessed;//####[53]####
+    private Set<Map<AlgorithmNode, Integer>> _uniqueProcessed;//####[53]####
 //####[55]####
+    private DominanceStore _dominance;//####[55]####
+//####[57]####
+    private BranchOrdering _ordering;//####[57]####
+//####[57]####
     private boolean _visualisation;//####[55]####
+//####[57]####
+    private static boolean _paraTaskStarted = false;//####[57]####
 //####[58]####
     public AlgorithmImp(int numberOfCores, boolean visualisation, int noOfParallerCores) {//####[58]####
-        _dag = DAGImp.getInstance();//####[59]####
-        _numberOfCores = numberOfCores;//####[60]####
-        _currentBestSchedule = new HashMap<String, NodeSchedule>();//####[61]####
-        _visualisation = visualisation;//####[62]####
-        _numberOfThreads = noOfParallerCores - 1;//####[63]####
-        _threads = new Semaphore(_numberOfThreads);//####[64]####
-        if (_visualisation) //####[66]####
-        {//####[66]####
-            _model = TableModel.getInstance();//####[67]####
-            _model.initModel(_currentBestSchedule, _dag, _numberOfCores);//####[68]####
-            _chartModel = new BarChartModel();//####[70]####
-            _schedule = new ComboView(_model, _dag, _numberOfCores, _chartModel);//####[72]####
-            _schedule.setParallelLabel(noOfParallerCores);//####[73]####
-        }//####[74]####
-        _uniqueProcessed = Collections.synchronizedSet(new HashSet<Set<AlgorithmNode>>());//####[77]####
+        this(numberOfCores, visualisation, noOfParallerCores, new SearchMetrics());//####[59]####
+    }//####[60]####
+//####[65]####
+    /**
+	 * @param metrics - collects the search statistics, so they can be watched while the constructor runs
+	 *///####[65]####
+    public AlgorithmImp(int numberOfCores, boolean visualisation, int noOfParallerCores, SearchMetrics metrics) {//####[67]####
+        this(numberOfCores, noOfParallerCores, metrics, visualisation ? openView(numberOfCores, noOfParallerCores, metrics) : null);//####[68]####
+    }//####[70]####
+//####[76]####
+    /**
+	 * @param metrics - collects the search statistics, so they can be watched while the constructor runs
+	 * @param channel - where progress is published for a view that is already open, or null to run without one
+	 *///####[76]####
+    public AlgorithmImp(int numberOfCores, int noOfParallerCores, SearchMetrics metrics, SearchEventChannel channel) {//####[76]####
+        this(DAGImp.getInstance(), numberOfCores, noOfParallerCores, metrics, channel, null);//####[77]####
+    }//####[78]####
+//####[80]####
+    /**
+	 * @param context - the graph, number of processors and number of threads of this solve
+	 * @param metrics - collects the search statistics, so they can be watched while the constructor runs
+	 * @param channel - where progress is published for a view that is already open, or null to run without one
+	 *///####[80]####
+    public AlgorithmImp(SolveContext context, SearchMetrics metrics, SearchEventChannel channel) {//####[85]####
+        this(context.getDAG(), context.getNumberOfCores(), context.getNoOfParallerCores(), metrics, channel, null);//####[86]####
+    }//####[87]####
+//####[86]####
+    /**
+	 * @param dag - the graph to schedule, which need not be the shared instance
+	 * @param metrics - collects the search statistics, so they can be watched while the constructor runs
+	 * @param channel - where progress is published for a view that is already open, or null to run without one
+	 * @param initialSchedule - a complete schedule of the graph to start the search from, or null
+	 *///####[86]####
+    public AlgorithmImp(DAG dag, int numberOfCores, int noOfParallerCores, SearchMetrics metrics, SearchEventChannel channel, Schedule initialSchedule) {//####[86]####
+        this(dag, numberOfCores, noOfParallerCores, metrics, channel, initialSchedule, BranchOrdering.INDEX);//####[88]####
+    }//####[89]####
+//####[97]####
+    /**
+	 * @param dag - the graph to schedule, which need not be the shared instance
+	 * @param metrics - collects the search statistics, so they can be watched while the constructor runs
+	 * @param channel - where progress is published for a view that is already open, or null to run without one
+	 * @param initialSchedule - a complete schedule of the graph to start the search from, or null
+	 * @param ordering - the order in which the search tries nodes and cores
+	 *///####[97]####
+    public AlgorithmImp(DAG dag, int numberOfCores, int noOfParallerCores, SearchMetrics metrics, SearchEventChannel channel, Schedule initialSchedule, BranchOrdering ordering) {//####[97]####
+        _dag = dag;//####[98]####
+        _ordering = ordering;//####[99]####
+        _metrics = metrics;//####[78]####
+        _numberOfCores = numberOfCores;//####[79]####
+        _currentBestSchedule = new HashMap<String, NodeSchedule>();//####[80]####
+        _channel = channel;//####[81]####
+        _visualisation = (channel != null);//####[82]####
+        _numberOfThreads = noOfParallerCores - 1;//####[83]####
+        _forks = new ForkController(_dag.getAllNodes().size(), _numberOfThreads);//####[84]####
+        if (_numberOfThreads > 0) //####[86]####
+        {//####[86]####
+            startParaTask();//####[87]####
+        }//####[88]####
+        _uniqueProcessed = Collections.synchronizedSet(new HashSet<Map<AlgorithmNode, Integer>>());//####[77]####
+        _dominance = new DominanceStore(_dag, _numberOfCores);//####[78]####
         produceSequentialSchedule();//####[79]####
         produceGreedySchedule();//####[80]####
-        Schedule emptySchedule = new ScheduleImp(_numberOfCores);//####[82]####
+        if (initialSchedule != null) //####[81]####
+        {//####[81]####
+            compareSchedules(initialSchedule);//####[82]####
+        }//####[83]####
+        LocalSearchImprover improver = null;//####[85]####
+        if (_numberOfThreads > 0 && Runtime.getRuntime().availableProcessors() > noOfParallerCores) //####[85]####
+        {//####[85]####
+            improver = startImprover();//####[85]####
+        }//####[85]####
+        Schedule emptySchedule = new ScheduleImp(_dag, _numberOfCores);//####[85]####
         recursiveScheduleGeneration(new ArrayList<AlgorithmNode>(), AlgorithmNode.convertNodetoAlgorithmNode(_dag.getAllNodes()), AlgorithmNode.convertNodetoAlgorithmNode(_dag.getStartNodes()), emptySchedule);//####[83]####
+        boolean interrupted = false;//####[85]####
         try {//####[85]####
-            _threads.acquire(_numberOfThreads);//####[86]####
+            _forks.awaitAll();//####[86]####
         } catch (InterruptedException ex) {//####[87]####
             ex.printStackTrace();//####[88]####
+            interrupted = true;//####[88]####
+        }//####[89]####
+        if (improver != null) //####[89]####
+        {//####[89]####
+            improver.stop();//####[89]####
         }//####[89]####
+        if (!interrupted && (_channel == null || !_channel.isCancelled())) //####[90]####
+        {//####[90]####
+            _metrics.recordFinished();//####[90]####
+        }//####[90]####
         if (_visualisation) //####[92]####
         {//####[92]####
-            _model.changeData(_currentBestSchedule, _bestTime);//####[94]####
-            _model = TableModel.resetInstance();//####[96]####
-            Clock.getInstance().stopClock();//####[98]####
-            _schedule.setStatusLabel(Clock.getInstance().getProcessStatus());//####[99]####
-        }//####[100]####
-    }//####[101]####
-//####[106]####
+            _channel.publishFinished();//####[95]####
+        }//####[98]####
+    }//####[107]####
+//####[112]####
     /**
-	 * helper method for firing update.
-	 *///####[106]####
-    private void fireUpdateToGUI(int bestTime) {//####[106]####
-        _chartModel.addDataToSeries(bestTime);//####[108]####
-        _model.changeData(_currentBestSchedule, bestTime);//####[109]####
-        _schedule.setBestTimeText(bestTime);//####[110]####
-    }//####[111]####
+	 * helper method for opening the default view when visualisation is asked for without a channel.
+	 *///####[112]####
+    private static SearchEventChannel openView(int numberOfCores, int noOfParallerCores, SearchMetrics metrics) {//####[112]####
+        SearchEventChannel channel = new SearchEventChannel(metrics);//####[113]####
+        SearchView.load().show("", DAGImp.getInstance(), numberOfCores, noOfParallerCores, channel);//####[114]####
+        return channel;//####[115]####
+    }//####[116]####
+//####[122]####
+    /**
+	 * The ParaTask runtime starts its worker threads when initialised, so it is only started once a
+	 * parallel search is asked for. (The generated class must not initialise it statically.)
+	 *///####[122]####
+    private static synchronized void startParaTask() {//####[122]####
+        if (!_paraTaskStarted) //####[123]####
+        {//####[123]####
+            ParaTask.init();//####[124]####
+            _paraTaskStarted = true;//####[125]####
+        }//####[126]####
+    }//####[127]####
 //####[119]####
+    /**
+	 * Starts a {@link LocalSearchImprover} on the best schedule so far. Its schedules go through
+	 * compareSchedules like the search's own, so they bound the search as soon as they are found.
+	 *///####[130]####
+    private LocalSearchImprover startImprover() {//####[130]####
+        LocalSearchImprover improver = new LocalSearchImprover(_dag, _numberOfCores, new IntSupplier() {//####[131]####
+//####[133]####
+            public int getAsInt() {//####[133]####
+                return _bestTime;//####[134]####
+            }//####[135]####
+        }, new Supplier<Map<String, NodeSchedule>>() {//####[131]####
+//####[138]####
+            public Map<String, NodeSchedule> get() {//####[138]####
+                return copyBestSchedule();//####[139]####
+            }//####[140]####
+        }, new Consumer<HashMap<String, NodeSchedule>>() {//####[131]####
+//####[143]####
+            public void accept(HashMap<String, NodeSchedule> schedule) {//####[143]####
+                compareSchedules(ScheduleImp.fromNodeSchedules(_dag, _numberOfCores, schedule));//####[144]####
+            }//####[145]####
+        }, 0);//####[131]####
+        improver.start();//####[147]####
+        return improver;//####[148]####
+    }//####[149]####
+//####[151]####
+    private synchronized Map<String, NodeSchedule> copyBestSchedule() {//####[151]####
+        return new HashMap<String, NodeSchedule>(_currentBestSchedule);//####[152]####
+    }//####[153]####
+//####[160]####
     /**
 	 * This method will produce a sequential schedule to set the lower bound.
 	 * 
@@ -135,7 +241,7 @@ public class AlgorithmImp implements Algorithm {//####[39]####
         List<Node> remainingNodes = new ArrayList<Node>();//####[122]####
         reachableNodes.addAll(_dag.getStartNodes());//####[124]####
         remainingNodes.addAll(_dag.getAllNodes());//####[125]####
-        Schedule schedule = new ScheduleImp(_numberOfCores);//####[127]####
+        Schedule schedule = new ScheduleImp(_dag, _numberOfCores);//####[127]####
         while (!reachableNodes.isEmpty()) //####[129]####
         {//####[129]####
             Node toBeScheduled = reachableNodes.get(0);//####[130]####
@@ -169,7 +275,7 @@ public class AlgorithmImp implements Algorithm {//####[39]####
         List<Node> remainingNodes = new ArrayList<Node>();//####[161]####
         reachableNodes.addAll(_dag.getStartNodes());//####[163]####
         remainingNodes.addAll(_dag.getAllNodes());//####[164]####
-        Schedule schedule = new ScheduleImp(_numberOfCores);//####[166]####
+        Schedule schedule = new ScheduleImp(_dag, _numberOfCores);//####[166]####
         while (!reachableNodes.isEmpty()) //####[168]####
         {//####[168]####
             List<Integer> reachableAmount = new ArrayList<Integer>();//####[170]####
@@ -216,8 +322,24 @@ public class AlgorithmImp implements Algorithm {//####[39]####
 	 * @return number of times the recursive method was called
 	 *///####[214]####
     public int getRecursiveCalls() {//####[214]####
-        return _recursiveCalls;//####[215]####
+        return (int) _metrics.getExpansions();//####[215]####
     }//####[216]####
+//####[223]####
+    /**
+	 * Purely for benchmarking purposes
+	 *
+	 * @return number of partial schedules discarded by the bound, duplicate detection or symmetry
+	 *///####[223]####
+    public int getPrunedStates() {//####[223]####
+        return (int) _metrics.getPrunedTotal();//####[224]####
+    }//####[225]####
+//####[230]####
+    /**
+	 * @return the statistics collected during the search
+	 *///####[230]####
+    public SearchMetrics getMetrics() {//####[230]####
+        return _metrics;//####[231]####
+    }//####[232]####
 //####[224]####
     /**
 	 * This method is a thread-safe way of comparing a schedule against the current 
@@ -333,9 +455,12 @@ public class AlgorithmImp implements Algorithm {//####[39]####
 	 * @param prev			        - The previous schedule.
 	 *///####[241]####
     public void __pt__recursiveScheduleGenerationTask(List<AlgorithmNode> processed, List<AlgorithmNode> remainingNodes, List<AlgorithmNode> quasiReachableNodes, Schedule prev) {//####[241]####
-        recursiveScheduleGeneration(processed, remainingNodes, quasiReachableNodes, prev);//####[242]####
-        _threads.release();//####[243]####
-    }//####[244]####
+        try {//####[242]####
+            recursiveScheduleGeneration(processed, remainingNodes, quasiReachableNodes, prev);//####[243]####
+        } finally {//####[244]####
+            _forks.finished();//####[246]####
+        }//####[247]####
+    }//####[248]####
 //####[244]####
 //####[259]####
     /**
@@ -352,32 +477,47 @@ public class AlgorithmImp implements Algorithm {//####[39]####
 	 * @param prev			        - The previous schedule.
 	 *///####[259]####
     private void recursiveScheduleGeneration(List<AlgorithmNode> processed, List<AlgorithmNode> remainingNodes, List<AlgorithmNode> quasiReachableNodes, Schedule prev) {//####[259]####
-        if (_visualisation) //####[260]####
-        {//####[260]####
-            _schedule.setCallsButtonText(_recursiveCalls++);//####[261]####
-        }//####[262]####
+        if (_channel != null && _channel.isCancelled()) //####[265]####
+        {//####[265]####
+            return;//####[266]####
+        }//####[267]####
+        _metrics.recordExpansion();//####[269]####
         if (quasiReachableNodes.size() == 0) //####[265]####
         {//####[265]####
             Schedule finalSchedule = prev;//####[266]####
             compareSchedules(finalSchedule);//####[268]####
         } else {//####[269]####
-            for (int i = 0; i < quasiReachableNodes.size(); i++) //####[270]####
-            {//####[270]####
-                Schedule newSchedule;//####[271]####
-                for (int j = 1; j <= _numberOfCores; j++) //####[274]####
-                {//####[274]####
+            List<Integer> coresAssigned = new ArrayList<Integer>();//####[270]####
+            for (AlgorithmNode algNode : processed) //####[271]####
+            {//####[271]####
+                if (!coresAssigned.contains(algNode.getCore())) //####[272]####
+                {//####[272]####
+                    coresAssigned.add(algNode.getCore());//####[273]####
+                }//####[274]####
+            }//####[275]####
+            List<Integer> cores = new ArrayList<Integer>();//####[279]####
+            for (int j = 1; j <= Math.min(coresAssigned.size() + 1, _numberOfCores); j++) //####[280]####
+            {//####[280]####
+                cores.add(j);//####[281]####
+            }//####[282]####
+            quasiReachableNodes = _ordering.orderNodes(quasiReachableNodes, prev);//####[284]####
+            for (int i = 0; i < quasiReachableNodes.size(); i++) //####[285]####
+            {//####[285]####
+                Schedule newSchedule;//####[286]####
+                for (int j : _ordering.orderCores(quasiReachableNodes.get(i), cores, prev)) //####[289]####
+                {//####[289]####
+                    int lowerBound;//####[290]####
                     List<AlgorithmNode> newProcessed = new ArrayList<AlgorithmNode>(processed);//####[278]####
                     AlgorithmNode node = quasiReachableNodes.get(i).createClone();//####[279]####
                     node.setCore(j);//####[280]####
                     newProcessed.add(node);//####[281]####
-                    Set<AlgorithmNode> algNodesSet = new HashSet<AlgorithmNode>(newProcessed);//####[283]####
                     if (checkValidSchedule(newProcessed)) //####[285]####
                     {//####[285]####
                         int idleTime = prev.getTotalIdleTime();//####[294]####
                         double maxIdleTime = 0;//####[296]####
                         for (int k = 1; k <= _numberOfCores; k++) //####[297]####
                         {//####[297]####
-                            int processorIdleTime = prev.getTotalTime() - prev.getFinishTimeForCore(i);//####[298]####
+                            int processorIdleTime = prev.getTotalTime() - prev.getFinishTimeForCore(k);//####[298]####
                             if (maxIdleTime < processorIdleTime) //####[299]####
                             {//####[299]####
                                 maxIdleTime = processorIdleTime;//####[300]####
@@ -397,22 +537,37 @@ public class AlgorithmImp implements Algorithm {//####[39]####
                         double shortestTimePossible = Math.max(Math.ceil((remainingTime - idleTime) / _numberOfCores), maxNodeWeight - maxIdleTime);//####[314]####
                         if (prev.getTotalTime() + shortestTimePossible >= _bestTime) //####[315]####
                         {//####[315]####
+                            _metrics.recordBoundPrune();//####[316]####
                             continue;//####[316]####
                         }//####[317]####
+                        lowerBound = prev.getTotalTime() + (int) shortestTimePossible;//####[318]####
                         newSchedule = prev.getNextSchedule(node);//####[320]####
                         if ((newSchedule.getTotalTime() >= _bestTime)) //####[323]####
                         {//####[323]####
+                            _metrics.recordBoundPrune();//####[324]####
                             continue;//####[324]####
                         }//####[325]####
+                        lowerBound = Math.max(lowerBound, newSchedule.getTotalTime());//####[326]####
                     } else {//####[326]####
                         break;//####[327]####
                     }//####[328]####
-                    if (_uniqueProcessed.contains(algNodesSet)) //####[339]####
+                    Map<AlgorithmNode, Integer> placement = new HashMap<AlgorithmNode, Integer>();//####[341]####
+                    for (int k = 0; k < newSchedule.getSizeOfSchedule(); k++) //####[342]####
+                    {//####[342]####
+                        placement.put(newProcessed.get(k), newSchedule.getNodeStartTime(k));//####[343]####
+                    }//####[344]####
+                    if (_uniqueProcessed.contains(placement)) //####[345]####
                     {//####[339]####
+                        _metrics.recordDuplicatePrune();//####[340]####
                         continue;//####[340]####
                     } else {//####[342]####
-                        _uniqueProcessed.add(algNodesSet);//####[343]####
+                        _uniqueProcessed.add(placement);//####[349]####
                     }//####[344]####
+                    if (!_dominance.addIfNotDominated(newSchedule)) //####[354]####
+                    {//####[354]####
+                        _metrics.recordDominancePrune();//####[355]####
+                        continue;//####[356]####
+                    }//####[357]####
                     List<AlgorithmNode> newRemaining = new ArrayList<AlgorithmNode>(remainingNodes);//####[348]####
                     newRemaining.remove(quasiReachableNodes.get(i));//####[349]####
                     List<AlgorithmNode> newReachable = new ArrayList<AlgorithmNode>(quasiReachableNodes);//####[351]####
@@ -425,29 +580,23 @@ public class AlgorithmImp implements Algorithm {//####[39]####
                             newReachable.add(algNode);//####[356]####
                         }//####[357]####
                     }//####[358]####
-                    List<Integer> coresAssigned = new ArrayList<Integer>();//####[373]####
-                    for (AlgorithmNode algNode : processed) //####[374]####
-                    {//####[374]####
-                        coresAssigned.add(algNode.getCore());//####[375]####
-                    }//####[376]####
-                    if (!coresAssigned.contains(node.getCore())) //####[378]####
-                    {//####[378]####
-                        recursiveScheduleGeneration(newProcessed, newRemaining, newReachable, newSchedule);//####[380]####
-                        break;//####[381]####
-                    } else {//####[382]####
-                        if (_dag.getNodeByName(node.getNodeName()).getSuccessors().size() > 1 && _threads.tryAcquire()) //####[387]####
-                        {//####[387]####
-                            recursiveScheduleGenerationTask(newProcessed, newRemaining, newReachable, newSchedule);//####[388]####
-                        } else {//####[389]####
-                            recursiveScheduleGeneration(newProcessed, newRemaining, newReachable, newSchedule);//####[390]####
-                        }//####[391]####
-                    }//####[392]####
+                    if (!coresAssigned.contains(node.getCore())) //####[388]####
+                    {//####[388]####
+                        _metrics.recordSymmetryPrune(_numberOfCores - coresAssigned.size() - 1);//####[390]####
+                    }//####[391]####
+                    if (_forks.tryFork(newRemaining.size(), lowerBound, _bestTime)) //####[397]####
+                    {//####[397]####
+                        recursiveScheduleGenerationTask(newProcessed, newRemaining, newReachable, newSchedule);//####[398]####
+                    } else {//####[399]####
+                        recursiveScheduleGeneration(newProcessed, newRemaining, newReachable, newSchedule);//####[400]####
+                    }//####[401]####
                 }//####[393]####
             }//####[394]####
         }//####[395]####
     }//####[396]####
 //####[398]####
     private void setNewBestSchedule(Schedule finalSchedule) {//####[398]####
+        _metrics.recordIncumbent(finalSchedule.getTotalTime());//####[399]####
         for (int i = 0; i < finalSchedule.getSizeOfSchedule(); i++) //####[399]####
         {//####[399]####
             NodeSchedule nodeSchedule = new NodeScheduleImp(finalSchedule.getNodeStartTime(i), finalSchedule.getNodeCore(i));//####[400]####
@@ -455,7 +604,7 @@ public class AlgorithmImp implements Algorithm {//####[39]####
         }//####[402]####
         if (_visualisation) //####[404]####
         {//####[404]####
-            fireUpdateToGUI(finalSchedule.getTotalTime());//####[405]####
+            _channel.publishIncumbent(finalSchedule.getTotalTime(), _currentBestSchedule);//####[405]####
         }//####[406]####
     }//####[407]####
 //####[416]####
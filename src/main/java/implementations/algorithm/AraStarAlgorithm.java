@@ -0,0 +1,347 @@
+package implementations.algorithm;
+
+import implementations.structures.ArraySchedule;
+import implementations.structures.IndexedDAG;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.DAG;
+import interfaces.structures.NodeSchedule;
+import interfaces.structures.Schedule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * This class schedules graphs too big to solve optimally in the time available, with an
+ * Anytime Repairing A* (ARA*) search.
+ *
+ * The search is a best-first search over partial schedules, ordered by the total time so far plus
+ * epsilon times the rest of the partial schedule's {@link ArraySchedule#getLowerBound() lower bound}.
+ * With epsilon above 1 the search dives towards complete schedules, and stops as soon as its best
+ * schedule is within a factor epsilon of optimal. Epsilon is then lowered and the search carries on
+ * from where it stopped: states already expanded are never expanded again, the states waiting to be
+ * expanded are only reordered. At epsilon 1 it is an A* search, which ends with an optimal schedule.
+ *
+ * Whenever the best schedule or the proven lower bound on the optimal total time improves, a
+ * {@link Solution} is reported, so the caller always knows how far from optimal the best schedule can be.
+ * The search stops at the time limit, or if it would need more memory than a few hundred megabytes.
+ */
+public class AraStarAlgorithm implements Algorithm {
+	public static final double DEFAULT_INITIAL_EPSILON = 2.0;
+	public static final double DEFAULT_EPSILON_STEP = 0.25;
+
+	// number of start times and cores held in memory before the search gives up (about 200 MB)
+	private static final long STATE_BUDGET = 50000000L;
+
+	private final IndexedDAG _dag;
+	private final int _numberOfCores;
+	private final SearchMetrics _metrics;
+	private final Consumer<Solution> _listener;
+	private final long _startTime = System.nanoTime();
+	private final long _deadline;
+	private final long _maxStates;
+
+	private final List<Solution> _solutions = new ArrayList<Solution>();
+	private ArraySchedule _best;
+	private int _lowerBound;
+	private double _epsilon;
+	private long _sequence = 0;
+
+	/**
+	 * A schedule found by the search, with how far from optimal it is proven to be.
+	 */
+	public static class Solution {
+		private final int _totalTime;
+		private final int _lowerBound;
+		private final double _epsilon;
+		private final double _elapsedMs;
+
+		private Solution(int totalTime, int lowerBound, double epsilon, double elapsedMs) {
+			_totalTime = totalTime;
+			_lowerBound = lowerBound;
+			_epsilon = epsilon;
+			_elapsedMs = elapsedMs;
+		}
+
+		public int getTotalTime() {
+			return _totalTime;
+		}
+
+		/**
+		 * @return a total time no schedule can beat
+		 */
+		public int getLowerBound() {
+			return _lowerBound;
+		}
+
+		/**
+		 * @return the epsilon the search was running with
+		 */
+		public double getEpsilon() {
+			return _epsilon;
+		}
+
+		/**
+		 * @return the total time divided by the lower bound: the schedule is at most this many times the optimal
+		 */
+		public double getSuboptimality() {
+			return (_lowerBound == 0) ? 1 : (double) _totalTime / _lowerBound;
+		}
+
+		public boolean isOptimal() {
+			return _totalTime == _lowerBound;
+		}
+
+		/**
+		 * @return milliseconds from the start of the search until this was found
+		 */
+		public double getElapsedMs() {
+			return _elapsedMs;
+		}
+	}
+
+	/**
+	 * A partial schedule waiting to be expanded.
+	 */
+	private static class Entry implements Comparable<Entry> {
+		private final ArraySchedule _schedule;
+		private final int _lowerBound;
+		private final long _sequence;
+		private double _priority;
+
+		private Entry(ArraySchedule schedule, int lowerBound, long sequence) {
+			_schedule = schedule;
+			_lowerBound = lowerBound;
+			_sequence = sequence;
+		}
+
+		/**
+		 * Cheaper first, then the more complete schedule, then the one found first.
+		 */
+		@Override
+		public int compareTo(Entry other) {
+			int compare = Double.compare(_priority, other._priority);
+			if (compare == 0) {
+				compare = Integer.compare(other._schedule.getScheduledCount(), _schedule.getScheduledCount());
+			}
+			return (compare != 0) ? compare : Long.compare(_sequence, other._sequence);
+		}
+	}
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param timeLimitMs - how long to search for before settling for the best schedule so far
+	 * @param metrics - collects the search statistics
+	 * @param listener - told about every improvement as it is found, or null
+	 */
+	public AraStarAlgorithm(DAG dag, int numberOfCores, long timeLimitMs, SearchMetrics metrics, Consumer<Solution> listener) {
+		this(dag, numberOfCores, timeLimitMs, metrics, listener, null);
+	}
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param timeLimitMs - how long to search for before settling for the best schedule so far
+	 * @param metrics - collects the search statistics
+	 * @param listener - told about every improvement as it is found, or null
+	 * @param initialSchedule - a complete schedule of the graph to start the search from, or null
+	 */
+	public AraStarAlgorithm(DAG dag, int numberOfCores, long timeLimitMs, SearchMetrics metrics, Consumer<Solution> listener,
+			Schedule initialSchedule) {
+		this(dag, numberOfCores, timeLimitMs, DEFAULT_INITIAL_EPSILON, DEFAULT_EPSILON_STEP, metrics, listener,
+				initialSchedule);
+	}
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param timeLimitMs - how long to search for before settling for the best schedule so far
+	 * @param initialEpsilon - the first suboptimality factor to search for, at least 1
+	 * @param epsilonStep - how much to lower epsilon by each time it is met
+	 * @param metrics - collects the search statistics
+	 * @param listener - told about every improvement as it is found, or null
+	 */
+	public AraStarAlgorithm(DAG dag, int numberOfCores, long timeLimitMs, double initialEpsilon, double epsilonStep,
+			SearchMetrics metrics, Consumer<Solution> listener) {
+		this(dag, numberOfCores, timeLimitMs, initialEpsilon, epsilonStep, metrics, listener, null);
+	}
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param timeLimitMs - how long to search for before settling for the best schedule so far
+	 * @param initialEpsilon - the first suboptimality factor to search for, at least 1
+	 * @param epsilonStep - how much to lower epsilon by each time it is met
+	 * @param metrics - collects the search statistics
+	 * @param listener - told about every improvement as it is found, or null
+	 * @param initialSchedule - a complete schedule of the graph to start the search from, or null
+	 */
+	public AraStarAlgorithm(DAG dag, int numberOfCores, long timeLimitMs, double initialEpsilon, double epsilonStep,
+			SearchMetrics metrics, Consumer<Solution> listener, Schedule initialSchedule) {
+		if (initialEpsilon < 1 || epsilonStep <= 0) {
+			throw new IllegalArgumentException("epsilon must be at least 1 and be lowered by a positive step");
+		}
+		_dag = new IndexedDAG(dag);
+		_numberOfCores = numberOfCores;
+		_metrics = metrics;
+		_listener = listener;
+		_deadline = _startTime + timeLimitMs * 1000000L;
+		_maxStates = STATE_BUDGET / (2L * _dag.size() + numberOfCores + 1);
+		_epsilon = initialEpsilon;
+
+		ArraySchedule empty = new ArraySchedule(_dag, numberOfCores);
+		_lowerBound = empty.getLowerBound();
+		// when communication costs dominate, running everything on one core can beat the list schedule
+		ArraySchedule listSchedule = ListScheduler.bottomLevelFirst(_dag, numberOfCores);
+		ArraySchedule sequential = ListScheduler.sequential(_dag, numberOfCores);
+		ArraySchedule first = (sequential.getTotalTime() < listSchedule.getTotalTime()) ? sequential : listSchedule;
+		if (initialSchedule != null) {
+			ArraySchedule initial = ListScheduler.fromSchedule(_dag, numberOfCores, initialSchedule);
+			if (initial.getTotalTime() < first.getTotalTime()) {
+				first = initial;
+			}
+		}
+		setNewBestSchedule(first);
+
+		List<Entry> open = new ArrayList<Entry>();
+		open.add(new Entry(empty, _lowerBound, _sequence++));
+		Set<ArraySchedule> closed = new HashSet<ArraySchedule>();
+
+		while (!isOptimal()) {
+			PriorityQueue<Entry> queue = prioritise(open);
+			boolean metEpsilon = search(queue, closed);
+			open = new ArrayList<Entry>(queue);
+			raiseLowerBound(open);
+			if (!metEpsilon) {
+				break;
+			}
+			_epsilon = Math.max(1, _epsilon - epsilonStep);
+		}
+
+		if (isOptimal()) {
+			_metrics.recordFinished();
+		}
+	}
+
+	/**
+	 * @return the waiting schedules in order of the current epsilon
+	 */
+	private PriorityQueue<Entry> prioritise(List<Entry> open) {
+		PriorityQueue<Entry> queue = new PriorityQueue<Entry>(Math.max(1, open.size()));
+		for (Entry entry : open) {
+			int totalTime = entry._schedule.getTotalTime();
+			entry._priority = totalTime + _epsilon * (entry._lowerBound - totalTime);
+			queue.add(entry);
+		}
+		return queue;
+	}
+
+	/**
+	 * Expands the cheapest waiting schedule until the best schedule is within epsilon of optimal.
+	 *
+	 * @return true if it is, false if time or memory ran out first
+	 */
+	private boolean search(PriorityQueue<Entry> open, Set<ArraySchedule> closed) {
+		while (!open.isEmpty() && _best.getTotalTime() > open.peek()._priority) {
+			if (System.nanoTime() > _deadline || closed.size() + open.size() > _maxStates) {
+				return false;
+			}
+			Entry entry = open.poll();
+			if (!closed.add(entry._schedule)) {
+				_metrics.recordDuplicatePrune();
+				continue;
+			}
+			_metrics.recordExpansion();
+
+			ArraySchedule schedule = entry._schedule;
+			for (int node = 0; node < _dag.size(); node++) {
+				if (!schedule.isReady(node)) {
+					continue;
+				}
+				// the empty cores are all the same, so only the first is tried
+				for (int core = 1; core <= Math.min(schedule.getUsedCores() + 1, _numberOfCores); core++) {
+					ArraySchedule next = schedule.place(node, core);
+					int lowerBound = next.isComplete() ? next.getTotalTime() : next.getLowerBound();
+					if (lowerBound >= _best.getTotalTime()) {
+						_metrics.recordBoundPrune();
+					} else if (next.isComplete()) {
+						setNewBestSchedule(next);
+					} else if (closed.contains(next)) {
+						_metrics.recordDuplicatePrune();
+					} else {
+						Entry child = new Entry(next, lowerBound, _sequence++);
+						child._priority = next.getTotalTime() + _epsilon * (lowerBound - next.getTotalTime());
+						open.add(child);
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Every schedule better than the best so far extends one of the waiting schedules, so none can
+	 * finish before the lowest of their lower bounds.
+	 */
+	private void raiseLowerBound(List<Entry> open) {
+		int lowerBound = _best.getTotalTime();
+		for (Entry entry : open) {
+			lowerBound = Math.min(lowerBound, entry._lowerBound);
+		}
+		if (lowerBound > _lowerBound) {
+			_lowerBound = lowerBound;
+			report();
+		}
+	}
+
+	private void setNewBestSchedule(ArraySchedule schedule) {
+		_best = schedule;
+		_metrics.recordIncumbent(schedule.getTotalTime());
+		report();
+	}
+
+	private void report() {
+		Solution solution = new Solution(_best.getTotalTime(), _lowerBound, _epsilon, (System.nanoTime() - _startTime) / 1e6);
+		_solutions.add(solution);
+		if (_listener != null) {
+			_listener.accept(solution);
+		}
+	}
+
+	/**
+	 * @return true if the best schedule is proven optimal
+	 */
+	public boolean isOptimal() {
+		return _best.getTotalTime() <= _lowerBound;
+	}
+
+	/**
+	 * @return a total time no schedule can beat
+	 */
+	public int getLowerBound() {
+		return _lowerBound;
+	}
+
+	/**
+	 * @return every improvement, in the order it was found; the last is the final result
+	 */
+	public List<Solution> getSolutions() {
+		return Collections.unmodifiableList(_solutions);
+	}
+
+	@Override
+	public HashMap<String, NodeSchedule> getCurrentBestSchedule() {
+		return _best.toNodeSchedules();
+	}
+
+	@Override
+	public int getBestTotalTime() {
+		return _best.getTotalTime();
+	}
+}
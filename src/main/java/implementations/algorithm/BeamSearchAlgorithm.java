@@ -0,0 +1,267 @@
+package implementations.algorithm;
+
+import implementations.structures.ArraySchedule;
+import implementations.structures.IndexedDAG;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.DAG;
+import interfaces.structures.NodeSchedule;
+import interfaces.structures.Schedule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class schedules graphs far too big for an exact search (hundreds or thousands of nodes) with a beam search.
+ *
+ * The search schedules one node per level. At each level every partial schedule in the beam is extended by its
+ * ready nodes with the highest bottom levels, on each core they could go on, and only the best {@code width}
+ * of the new partial schedules are kept. They are scored by {@link ArraySchedule#getLowerBound()}, then by the
+ * total time so far. The work per level is fixed by the width, so the run time grows predictably with the size of the
+ * graph: about width * branching * cores * nodes^2 steps.
+ *
+ * The partial schedules of a level are extended in parallel. The order they are merged in does not depend on the
+ * threads, so the result is the same for any number of threads. The result is never worse than a list schedule,
+ * which is also what the beam starts out with as its best schedule, or than a schedule it is given to start from.
+ */
+public class BeamSearchAlgorithm implements Algorithm {
+	public static final int DEFAULT_WIDTH = 32;
+	public static final int DEFAULT_BRANCHING = 4;
+
+	private static final Comparator<Candidate> BEST_FIRST = new Comparator<Candidate>() {
+		@Override
+		public int compare(Candidate a, Candidate b) {
+			int compare = Integer.compare(a._bound, b._bound);
+			if (compare == 0) {
+				compare = Integer.compare(a._schedule.getIdleTime(), b._schedule.getIdleTime());
+			}
+			return (compare != 0) ? compare : Integer.compare(a._schedule.getTotalTime(), b._schedule.getTotalTime());
+		}
+	};
+
+	private final IndexedDAG _dag;
+	private final int _numberOfCores;
+	private final int _width;
+	private final int _branching;
+	private final SearchMetrics _metrics;
+
+	private ArraySchedule _best;
+
+	/**
+	 * A partial schedule and its score.
+	 */
+	private static class Candidate {
+		private final ArraySchedule _schedule;
+		private final int _bound;
+
+		private Candidate(ArraySchedule schedule, int bound) {
+			_schedule = schedule;
+			_bound = bound;
+		}
+	}
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param width - number of partial schedules kept at each level
+	 * @param threads - number of threads to extend the beam with
+	 * @param metrics - collects the search statistics
+	 */
+	public BeamSearchAlgorithm(DAG dag, int numberOfCores, int width, int threads, SearchMetrics metrics) {
+		this(dag, numberOfCores, width, DEFAULT_BRANCHING, threads, metrics, null);
+	}
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param width - number of partial schedules kept at each level
+	 * @param threads - number of threads to extend the beam with
+	 * @param metrics - collects the search statistics
+	 * @param initialSchedule - a complete schedule of the graph to keep if the beam finds nothing better, or null
+	 */
+	public BeamSearchAlgorithm(DAG dag, int numberOfCores, int width, int threads, SearchMetrics metrics,
+			Schedule initialSchedule) {
+		this(dag, numberOfCores, width, DEFAULT_BRANCHING, threads, metrics, initialSchedule);
+	}
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param width - number of partial schedules kept at each level
+	 * @param branching - number of ready nodes tried from each partial schedule
+	 * @param threads - number of threads to extend the beam with
+	 * @param metrics - collects the search statistics
+	 */
+	public BeamSearchAlgorithm(DAG dag, int numberOfCores, int width, int branching, int threads, SearchMetrics metrics) {
+		this(dag, numberOfCores, width, branching, threads, metrics, null);
+	}
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param width - number of partial schedules kept at each level
+	 * @param branching - number of ready nodes tried from each partial schedule
+	 * @param threads - number of threads to extend the beam with
+	 * @param metrics - collects the search statistics
+	 * @param initialSchedule - a complete schedule of the graph to keep if the beam finds nothing better, or null
+	 */
+	public BeamSearchAlgorithm(DAG dag, int numberOfCores, int width, int branching, int threads, SearchMetrics metrics,
+			Schedule initialSchedule) {
+		if (width < 1 || branching < 1) {
+			throw new IllegalArgumentException("width and branching must be at least 1");
+		}
+		_dag = new IndexedDAG(dag);
+		_numberOfCores = numberOfCores;
+		_width = width;
+		_branching = branching;
+		_metrics = metrics;
+
+		ArraySchedule listSchedule = ListScheduler.bottomLevelFirst(_dag, numberOfCores);
+		ArraySchedule sequential = ListScheduler.sequential(_dag, numberOfCores);
+		ArraySchedule first = (sequential.getTotalTime() < listSchedule.getTotalTime()) ? sequential : listSchedule;
+		if (initialSchedule != null) {
+			ArraySchedule initial = ListScheduler.fromSchedule(_dag, numberOfCores, initialSchedule);
+			if (initial.getTotalTime() < first.getTotalTime()) {
+				first = initial;
+			}
+		}
+		setNewBestSchedule(first);
+
+		ExecutorService pool = (threads > 1) ? Executors.newFixedThreadPool(threads) : null;
+		try {
+			List<ArraySchedule> beam = Collections.singletonList(new ArraySchedule(_dag, numberOfCores));
+			for (int level = 0; level < _dag.size() && !beam.isEmpty(); level++) {
+				beam = select(extendAll(beam, pool, threads));
+			}
+			for (ArraySchedule schedule : beam) {
+				if (schedule.getTotalTime() < _best.getTotalTime()) {
+					setNewBestSchedule(schedule);
+				}
+			}
+		} finally {
+			if (pool != null) {
+				pool.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * Extends every partial schedule in the beam, splitting the beam between the threads.
+	 *
+	 * @return the new partial schedules, in the order of the beam whatever the number of threads
+	 */
+	private List<Candidate> extendAll(final List<ArraySchedule> beam, ExecutorService pool, int threads) {
+		if (pool == null || beam.size() == 1) {
+			return extend(beam);
+		}
+
+		List<Callable<List<Candidate>>> tasks = new ArrayList<Callable<List<Candidate>>>();
+		int chunk = (beam.size() + threads - 1) / threads;
+		for (int from = 0; from < beam.size(); from += chunk) {
+			final List<ArraySchedule> part = beam.subList(from, Math.min(beam.size(), from + chunk));
+			tasks.add(new Callable<List<Candidate>>() {
+				@Override
+				public List<Candidate> call() {
+					return extend(part);
+				}
+			});
+		}
+
+		List<Candidate> candidates = new ArrayList<Candidate>();
+		try {
+			for (Future<List<Candidate>> future : pool.invokeAll(tasks)) {
+				candidates.addAll(future.get());
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Could not extend the beam", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while extending the beam", e);
+		}
+		return candidates;
+	}
+
+	private List<Candidate> extend(List<ArraySchedule> schedules) {
+		List<Candidate> candidates = new ArrayList<Candidate>();
+		for (ArraySchedule schedule : schedules) {
+			_metrics.recordExpansion();
+			for (int node : highestReadyNodes(schedule)) {
+				// the empty cores are all the same, so only the first is tried
+				for (int core = 1; core <= Math.min(schedule.getUsedCores() + 1, _numberOfCores); core++) {
+					ArraySchedule next = schedule.place(node, core);
+					int bound = next.isComplete() ? next.getTotalTime() : next.getLowerBound();
+					if (bound >= _best.getTotalTime()) {
+						_metrics.recordBoundPrune();
+					} else {
+						candidates.add(new Candidate(next, bound));
+					}
+				}
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * @return up to branching ready nodes, highest bottom level first
+	 */
+	private List<Integer> highestReadyNodes(ArraySchedule schedule) {
+		List<Integer> ready = new ArrayList<Integer>();
+		for (int node = 0; node < _dag.size(); node++) {
+			if (schedule.isReady(node)) {
+				ready.add(node);
+			}
+		}
+		Collections.sort(ready, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				int compare = Integer.compare(_dag.getBottomLevel(b), _dag.getBottomLevel(a));
+				return (compare != 0) ? compare : Integer.compare(a, b);
+			}
+		});
+		return ready.subList(0, Math.min(_branching, ready.size()));
+	}
+
+	/**
+	 * @return the best width distinct partial schedules; the sort is stable, so ties keep the order of the beam
+	 */
+	private List<ArraySchedule> select(List<Candidate> candidates) {
+		Collections.sort(candidates, BEST_FIRST);
+		List<ArraySchedule> beam = new ArrayList<ArraySchedule>();
+		Set<ArraySchedule> kept = new HashSet<ArraySchedule>();
+		for (Candidate candidate : candidates) {
+			if (beam.size() == _width) {
+				break;
+			}
+			if (kept.add(candidate._schedule)) {
+				beam.add(candidate._schedule);
+			} else {
+				_metrics.recordDuplicatePrune();
+			}
+		}
+		return beam;
+	}
+
+	private void setNewBestSchedule(ArraySchedule schedule) {
+		_best = schedule;
+		_metrics.recordIncumbent(schedule.getTotalTime());
+	}
+
+	@Override
+	public HashMap<String, NodeSchedule> getCurrentBestSchedule() {
+		return _best.toNodeSchedules();
+	}
+
+	@Override
+	public int getBestTotalTime() {
+		return _best.getTotalTime();
+	}
+}
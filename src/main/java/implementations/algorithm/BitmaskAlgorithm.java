@@ -0,0 +1,619 @@
+package implementations.algorithm;
+
+import implementations.structures.ArraySchedule;
+import implementations.structures.IndexedDAG;
+import implementations.structures.NodeScheduleImp;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.DAG;
+import interfaces.structures.NodeSchedule;
+import interfaces.structures.Schedule;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * This class solves small graphs optimally by a depth-first branch and bound over the subsets of scheduled nodes,
+ * remembering the profile of every partial schedule it has explored.
+ *
+ * Nodes are only ever appended to a core, so how a partial schedule can be completed depends only on the set of
+ * scheduled nodes, when each core becomes free, and when the data for each waiting node reaches each core. A
+ * partial schedule no earlier in any of these than one of the same nodes explored before cannot finish earlier, so
+ * it is pruned. Which core is which does not matter, so the cores are sorted into a canonical order first. Nodes
+ * that can go in any order, such as the sources of a join, are put in a fixed order (Orr and Sinnen).
+ *
+ * The set of scheduled nodes is a bit mask, and the profiles are kept in arrays of ints keyed by it, so the search
+ * allocates next to nothing per partial schedule. The search itself works on arrays it changes and restores in
+ * place.
+ *
+ * The graph is small enough when it has at most {@link #MAX_NODES} nodes, see
+ * {@link implementations.preprocessing.ReducingAlgorithm}.
+ */
+public class BitmaskAlgorithm implements Algorithm {
+	// largest graph solved by this engine rather than AlgorithmImp
+	public static final int MAX_NODES = 20;
+	// the scheduled nodes are a bit mask in an int
+	static final int MAX_SUPPORTED_NODES = 31;
+
+	private final IndexedDAG _dag;
+	private final int _size;
+	private final int _numberOfCores;
+	private final SearchMetrics _metrics;
+	private final ProfileTable _explored = new ProfileTable();
+
+	private final int[] _predecessorMasks;
+	private final int[] _successorMasks;
+	// communication cost to the only successor, or 0 if there is not exactly one
+	private final int[] _outCosts;
+
+	// the partial schedule being explored: start time and core of each node, and when each core is free
+	private final int[] _startTimes;
+	private final int[] _cores;
+	private final int[] _coreFinishTimes;
+	private int _scheduled = 0;
+	private int _usedCores = 0;
+	private int _busy = 0;
+	private int _remainingWeight;
+
+	// scratch space for each depth of the search, so nothing is allocated while searching
+	private final int[][] _childNodes;
+	private final int[][] _childCores;
+	private final int[][] _childBounds;
+	private final int[] _owed;
+	private final int[] _waiting;
+	private final int[][] _columns;
+	private final int[][] _sortedColumns;
+	private final int[] _profile;
+	private final int[] _earliestStart;
+	private final int[] _readyNodes;
+	private final int[] _readyArrivals;
+
+	private int _bestTime = Integer.MAX_VALUE;
+	private int[] _bestStartTimes;
+	private int[] _bestCores;
+
+	/**
+	 * @param dag - the graph to schedule, of at most 31 nodes
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param metrics - collects the search statistics
+	 * @param initialSchedule - a complete schedule of the graph to start the search from, or null
+	 */
+	public BitmaskAlgorithm(DAG dag, int numberOfCores, SearchMetrics metrics, Schedule initialSchedule) {
+		_dag = new IndexedDAG(dag);
+		_size = _dag.size();
+		if (_size > MAX_SUPPORTED_NODES) {
+			throw new IllegalArgumentException("graph has more than " + MAX_SUPPORTED_NODES + " nodes");
+		}
+		_numberOfCores = numberOfCores;
+		_metrics = metrics;
+
+		_predecessorMasks = new int[_size];
+		_successorMasks = new int[_size];
+		_outCosts = new int[_size];
+		for (int node = 0; node < _size; node++) {
+			int[] predecessors = _dag.getPredecessors(node);
+			for (int i = 0; i < predecessors.length; i++) {
+				_predecessorMasks[node] |= 1 << predecessors[i];
+				if (_dag.getSuccessors(predecessors[i]).length == 1) {
+					_outCosts[predecessors[i]] = _dag.getPredecessorCosts(node)[i];
+				}
+			}
+			for (int successor : _dag.getSuccessors(node)) {
+				_successorMasks[node] |= 1 << successor;
+			}
+		}
+
+		_startTimes = new int[_size];
+		_cores = new int[_size];
+		_coreFinishTimes = new int[numberOfCores + 1];
+		_remainingWeight = _dag.getTotalWeight();
+		int maxChildren = _size * numberOfCores;
+		_childNodes = new int[_size][maxChildren];
+		_childCores = new int[_size][maxChildren];
+		_childBounds = new int[_size][maxChildren];
+		_owed = new int[numberOfCores + 1];
+		_waiting = new int[_size];
+		_columns = new int[numberOfCores][_size + 1];
+		_sortedColumns = new int[numberOfCores][];
+		_profile = new int[numberOfCores * (_size + 1)];
+		_earliestStart = new int[_size];
+		_readyNodes = new int[_size];
+		_readyArrivals = new int[_size];
+
+		// when communication costs dominate, running everything on one core can beat the list schedule
+		useIfBetter(ListScheduler.bottomLevelFirst(_dag, numberOfCores));
+		useIfBetter(ListScheduler.sequential(_dag, numberOfCores));
+		if (initialSchedule != null && initialSchedule.getTotalTime() < _bestTime) {
+			int[] startTimes = new int[_size];
+			int[] cores = new int[_size];
+			for (int i = 0; i < initialSchedule.getSizeOfSchedule(); i++) {
+				int node = _dag.indexOf(initialSchedule.getNodeName(i));
+				startTimes[node] = initialSchedule.getNodeStartTime(i);
+				cores[node] = initialSchedule.getNodeCore(i);
+			}
+			setNewBestSchedule(initialSchedule.getTotalTime(), startTimes, cores);
+		}
+
+		if (_size > 0) {
+			search(0);
+		}
+		_metrics.recordFinished();
+	}
+
+	/**
+	 * Explores every way of completing the current partial schedule that could beat the best time.
+	 */
+	private void search(int depth) {
+		_metrics.recordExpansion();
+		int full = (int) ((1L << _size) - 1);
+
+		// nodes a waiting node still needs data from, by core, which makes otherwise equal cores different
+		Arrays.fill(_owed, 0);
+		for (int node = 0; node < _size; node++) {
+			if ((_scheduled & (1 << node)) != 0 && (_successorMasks[node] & ~_scheduled) != 0) {
+				_owed[_cores[node]] |= 1 << node;
+			}
+		}
+
+		int[] childNodes = _childNodes[depth];
+		int[] childCores = _childCores[depth];
+		int[] childBounds = _childBounds[depth];
+		int children = 0;
+		int coresToTry = Math.min(_usedCores + 1, _numberOfCores);
+		int fixedNode = fixedOrderNode();
+		for (int node = 0; node < _size; node++) {
+			if ((_scheduled & (1 << node)) != 0 || (_predecessorMasks[node] & ~_scheduled) != 0) {
+				continue;
+			}
+			if (fixedNode >= 0 && node != fixedNode) {
+				continue;
+			}
+			for (int core = 1; core <= coresToTry; core++) {
+				if (isSameAsEarlierCore(core)) {
+					_metrics.recordSymmetryPrune(1);
+					continue;
+				}
+				int usedCores = _usedCores;
+				int previousFinish = place(node, core);
+				int bound = (_scheduled == full) ? totalTime() : lowerBound();
+				unplace(node, core, previousFinish, usedCores);
+				if (bound >= _bestTime) {
+					_metrics.recordBoundPrune();
+					continue;
+				}
+				// insertion sort, so the most promising child is explored first
+				int i = children++;
+				while (i > 0 && childBounds[i - 1] > bound) {
+					childNodes[i] = childNodes[i - 1];
+					childCores[i] = childCores[i - 1];
+					childBounds[i] = childBounds[i - 1];
+					i--;
+				}
+				childNodes[i] = node;
+				childCores[i] = core;
+				childBounds[i] = bound;
+			}
+		}
+
+		for (int i = 0; i < children; i++) {
+			// the best time may have fallen since the child was bounded
+			if (childBounds[i] >= _bestTime) {
+				_metrics.recordBoundPrune();
+				continue;
+			}
+			int node = childNodes[i];
+			int core = childCores[i];
+			int usedCores = _usedCores;
+			int previousFinish = place(node, core);
+			if (_scheduled == full) {
+				setNewBestSchedule(totalTime(), _startTimes, _cores);
+			} else if (addIfNotDominated()) {
+				search(depth + 1);
+			} else {
+				_metrics.recordDominancePrune();
+			}
+			unplace(node, core, previousFinish, usedCores);
+		}
+	}
+
+	/**
+	 * Fixed task order (Orr and Sinnen): when every ready node has at most one predecessor and at most one successor,
+	 * the ready nodes with a successor share it, and the ready nodes with a predecessor have it on the same core,
+	 * some optimal schedule appends them in order of data arrival, breaking ties by the larger communication cost to
+	 * the successor, as long as that order also has the communication costs to the successor falling. Then only the
+	 * first node in the order need be tried, which turns the many orders of fork, join and tree shaped parts of a
+	 * graph into one.
+	 *
+	 * @return the only ready node worth trying, or -1 if all are
+	 */
+	private int fixedOrderNode() {
+		int count = 0;
+		int successor = -1;
+		int predecessorCore = 0;
+		for (int node = 0; node < _size; node++) {
+			if ((_scheduled & (1 << node)) != 0 || (_predecessorMasks[node] & ~_scheduled) != 0) {
+				continue;
+			}
+			int[] predecessors = _dag.getPredecessors(node);
+			int[] successors = _dag.getSuccessors(node);
+			if (predecessors.length > 1 || successors.length > 1) {
+				return -1;
+			}
+			if (successors.length == 1) {
+				if (successor >= 0 && successor != successors[0]) {
+					return -1;
+				}
+				successor = successors[0];
+			}
+			if (predecessors.length == 1) {
+				if (predecessorCore != 0 && predecessorCore != _cores[predecessors[0]]) {
+					return -1;
+				}
+				predecessorCore = _cores[predecessors[0]];
+			}
+
+			// insertion sort by data arrival, then by the larger cost to the successor
+			int arrival = (predecessors.length == 1)
+					? _startTimes[predecessors[0]] + _dag.getWeight(predecessors[0]) + _dag.getPredecessorCosts(node)[0] : 0;
+			int i = count++;
+			while (i > 0 && (_readyArrivals[i - 1] > arrival
+					|| (_readyArrivals[i - 1] == arrival && _outCosts[_readyNodes[i - 1]] < _outCosts[node]))) {
+				_readyNodes[i] = _readyNodes[i - 1];
+				_readyArrivals[i] = _readyArrivals[i - 1];
+				i--;
+			}
+			_readyNodes[i] = node;
+			_readyArrivals[i] = arrival;
+		}
+		if (count < 2) {
+			return -1;
+		}
+		for (int i = 1; i < count; i++) {
+			if (_outCosts[_readyNodes[i]] > _outCosts[_readyNodes[i - 1]]) {
+				return -1;
+			}
+		}
+		return _readyNodes[0];
+	}
+
+	/**
+	 * Two cores are interchangeable if they are free at the same time and no waiting node needs data from either.
+	 */
+	private boolean isSameAsEarlierCore(int core) {
+		if (_owed[core] != 0) {
+			return false;
+		}
+		for (int earlier = 1; earlier < core; earlier++) {
+			if (_owed[earlier] == 0 && _coreFinishTimes[earlier] == _coreFinishTimes[core]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Appends the node to the core.
+	 *
+	 * @return the time the core was free before, to undo the placement with
+	 */
+	private int place(int node, int core) {
+		int previousFinish = _coreFinishTimes[core];
+		int startTime = earliestStartTime(node, core);
+		int finishTime = startTime + _dag.getWeight(node);
+		_startTimes[node] = startTime;
+		_cores[node] = core;
+		_coreFinishTimes[core] = finishTime;
+		_scheduled |= 1 << node;
+		_busy += finishTime - previousFinish;
+		_remainingWeight -= _dag.getWeight(node);
+		if (core > _usedCores) {
+			_usedCores = core;
+		}
+		return previousFinish;
+	}
+
+	/**
+	 * Undoes {@link #place}, given what it changed.
+	 */
+	private void unplace(int node, int core, int previousFinish, int usedCores) {
+		_busy -= _coreFinishTimes[core] - previousFinish;
+		_coreFinishTimes[core] = previousFinish;
+		_scheduled &= ~(1 << node);
+		_remainingWeight += _dag.getWeight(node);
+		_cores[node] = 0;
+		_usedCores = usedCores;
+	}
+
+	/**
+	 * @return the time the node would start if appended to the core, counting only the predecessors already scheduled
+	 */
+	private int earliestStartTime(int node, int core) {
+		int startTime = _coreFinishTimes[core];
+		int[] predecessors = _dag.getPredecessors(node);
+		int[] costs = _dag.getPredecessorCosts(node);
+		for (int i = 0; i < predecessors.length; i++) {
+			int predecessor = predecessors[i];
+			if ((_scheduled & (1 << predecessor)) == 0) {
+				continue;
+			}
+			int arrival = _startTimes[predecessor] + _dag.getWeight(predecessor);
+			if (_cores[predecessor] != core) {
+				arrival += costs[i];
+			}
+			startTime = Math.max(startTime, arrival);
+		}
+		return startTime;
+	}
+
+	private int totalTime() {
+		int totalTime = 0;
+		for (int core = 1; core <= _numberOfCores; core++) {
+			totalTime = Math.max(totalTime, _coreFinishTimes[core]);
+		}
+		return totalTime;
+	}
+
+	/**
+	 * The same bound as {@link ArraySchedule#getLowerBound()}: the total time so far, the work left shared evenly
+	 * between the cores, and for every node not scheduled yet the earliest it can start plus its bottom level.
+	 */
+	private int lowerBound() {
+		int bound = Math.max(totalTime(), (_busy + _remainingWeight + _numberOfCores - 1) / _numberOfCores);
+		int coresToTry = Math.min(_usedCores + 1, _numberOfCores);
+		// nodes are in topological order, so the predecessors of a node are done before it
+		for (int node = 0; node < _size; node++) {
+			if ((_scheduled & (1 << node)) != 0) {
+				continue;
+			}
+			int unscheduledFinish = 0;
+			for (int predecessor : _dag.getPredecessors(node)) {
+				if ((_scheduled & (1 << predecessor)) == 0) {
+					unscheduledFinish = Math.max(unscheduledFinish, _earliestStart[predecessor] + _dag.getWeight(predecessor));
+				}
+			}
+			int start = Integer.MAX_VALUE;
+			for (int core = 1; core <= coresToTry; core++) {
+				start = Math.min(start, Math.max(unscheduledFinish, earliestStartTime(node, core)));
+			}
+			_earliestStart[node] = start;
+			bound = Math.max(bound, start + _dag.getBottomLevel(node));
+			if (bound >= _bestTime) {
+				break;
+			}
+		}
+		return bound;
+	}
+
+	/**
+	 * Remembers the profile of the current partial schedule, unless a schedule of the same nodes explored before
+	 * dominates it (see {@link DominanceStore}): its cores were free no later, and the data for every waiting node
+	 * reached every core no later. The cores are sorted by their column of the profile first, so a schedule is also
+	 * caught when it only dominates with its cores renumbered.
+	 *
+	 * @return true if the partial schedule is worth exploring
+	 */
+	private boolean addIfNotDominated() {
+		int rows = 1;
+		for (int node = 0; node < _size; node++) {
+			if ((_scheduled & (1 << node)) == 0 && (_predecessorMasks[node] & _scheduled) != 0) {
+				_waiting[rows - 1] = node;
+				rows++;
+			}
+		}
+
+		// one column per core: when it is free, then when the data for each waiting node reaches it
+		for (int core = 1; core <= _numberOfCores; core++) {
+			int[] column = _columns[core - 1];
+			column[0] = _coreFinishTimes[core];
+			for (int row = 1; row < rows; row++) {
+				column[row] = dataArrival(_waiting[row - 1], core);
+			}
+			// insertion sort of the columns
+			int i = core - 1;
+			while (i > 0 && compareColumns(_sortedColumns[i - 1], column, rows) > 0) {
+				_sortedColumns[i] = _sortedColumns[i - 1];
+				i--;
+			}
+			_sortedColumns[i] = column;
+		}
+		int length = 0;
+		for (int core = 0; core < _numberOfCores; core++) {
+			System.arraycopy(_sortedColumns[core], 0, _profile, length, rows);
+			length += rows;
+		}
+		return _explored.addIfNotDominated(_scheduled, _profile, length);
+	}
+
+	/**
+	 * @return the time the data from the scheduled predecessors of the node reaches the core
+	 */
+	private int dataArrival(int node, int core) {
+		int arrival = 0;
+		int[] predecessors = _dag.getPredecessors(node);
+		int[] costs = _dag.getPredecessorCosts(node);
+		for (int i = 0; i < predecessors.length; i++) {
+			int predecessor = predecessors[i];
+			if ((_scheduled & (1 << predecessor)) == 0) {
+				continue;
+			}
+			int finish = _startTimes[predecessor] + _dag.getWeight(predecessor);
+			arrival = Math.max(arrival, (_cores[predecessor] == core) ? finish : finish + costs[i]);
+		}
+		return arrival;
+	}
+
+	private static int compareColumns(int[] first, int[] second, int rows) {
+		for (int row = 0; row < rows; row++) {
+			if (first[row] != second[row]) {
+				return Integer.compare(first[row], second[row]);
+			}
+		}
+		return 0;
+	}
+
+	private void useIfBetter(ArraySchedule schedule) {
+		if (schedule.getTotalTime() < _bestTime) {
+			int[] startTimes = new int[_size];
+			int[] cores = new int[_size];
+			for (int node = 0; node < _size; node++) {
+				startTimes[node] = schedule.getStartTime(node);
+				cores[node] = schedule.getCore(node);
+			}
+			setNewBestSchedule(schedule.getTotalTime(), startTimes, cores);
+		}
+	}
+
+	private void setNewBestSchedule(int totalTime, int[] startTimes, int[] cores) {
+		_bestTime = totalTime;
+		_bestStartTimes = startTimes.clone();
+		_bestCores = cores.clone();
+		_metrics.recordIncumbent(totalTime);
+	}
+
+	/**
+	 * @return number of states remembered when the search finished
+	 */
+	public int getExploredStates() {
+		return _explored.size();
+	}
+
+	@Override
+	public HashMap<String, NodeSchedule> getCurrentBestSchedule() {
+		HashMap<String, NodeSchedule> schedule = new HashMap<String, NodeSchedule>();
+		for (int node = 0; node < _size; node++) {
+			schedule.put(_dag.getName(node), new NodeScheduleImp(_bestStartTimes[node], _bestCores[node]));
+		}
+		return schedule;
+	}
+
+	@Override
+	public int getBestTotalTime() {
+		return (_size == 0) ? 0 : _bestTime;
+	}
+
+	/**
+	 * The profiles explored for each set of scheduled nodes, in arrays of ints keyed by the bit mask of the set.
+	 * Profiles of the same set of nodes all have the same length.
+	 */
+	static class ProfileTable {
+		// ints of profiles remembered before forgetting them all, to keep the heap bounded (64 MB when full)
+		private static final int MAX_STORED = 1 << 24;
+
+		// bit mask of the scheduled nodes plus one, as zero marks an empty slot
+		private int[] _keys = new int[1 << 10];
+		private int[][] _profiles = new int[1 << 10][];
+		private int[] _counts = new int[1 << 10];
+		private int _size = 0;
+		private int _stored = 0;
+		private int _profileCount = 0;
+
+		/**
+		 * Remembers the profile, unless a remembered one dominates it. Remembered profiles it dominates are forgotten.
+		 *
+		 * @return true if the profile was remembered
+		 */
+		boolean addIfNotDominated(int scheduled, int[] profile, int length) {
+			if (_stored + length > MAX_STORED) {
+				clear();
+			}
+			int slot = slot(scheduled);
+			int[] profiles = _profiles[slot];
+			int count = _counts[slot];
+			for (int i = 0; i < count; i++) {
+				if (dominates(profiles, i * length, profile, 0, length)) {
+					return false;
+				}
+			}
+
+			int kept = 0;
+			for (int i = 0; i < count; i++) {
+				if (!dominates(profile, 0, profiles, i * length, length)) {
+					System.arraycopy(profiles, i * length, profiles, kept * length, length);
+					kept++;
+				}
+			}
+			if ((kept + 1) * length > profiles.length) {
+				profiles = Arrays.copyOf(profiles, Math.max(2 * profiles.length, (kept + 1) * length));
+				_profiles[slot] = profiles;
+			}
+			System.arraycopy(profile, 0, profiles, kept * length, length);
+			_counts[slot] = kept + 1;
+			_stored += (kept + 1 - count) * length;
+			_profileCount += kept + 1 - count;
+			return true;
+		}
+
+		private static boolean dominates(int[] profiles, int offset, int[] other, int otherOffset, int length) {
+			for (int i = 0; i < length; i++) {
+				if (profiles[offset + i] > other[otherOffset + i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @return the slot of the set of scheduled nodes, added if it is not in the table
+		 */
+		private int slot(int scheduled) {
+			int key = scheduled + 1;
+			int mask = _keys.length - 1;
+			int slot = slot(key, mask);
+			while (_keys[slot] != 0) {
+				if (_keys[slot] == key) {
+					return slot;
+				}
+				slot = (slot + 1) & mask;
+			}
+			if (2 * (_size + 1) > _keys.length) {
+				resize(2 * _keys.length);
+				return slot(scheduled);
+			}
+			_keys[slot] = key;
+			_profiles[slot] = new int[0];
+			_size++;
+			return slot;
+		}
+
+		private static int slot(int key, int mask) {
+			// Fibonacci hashing, so masks differing only in high bits spread over the table
+			return (key * 0x9E3779B9 >>> 16 ^ key * 0x9E3779B9) & mask;
+		}
+
+		private void resize(int capacity) {
+			int[] keys = _keys;
+			int[][] profiles = _profiles;
+			int[] counts = _counts;
+			_keys = new int[capacity];
+			_profiles = new int[capacity][];
+			_counts = new int[capacity];
+			int mask = capacity - 1;
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i] != 0) {
+					int slot = slot(keys[i], mask);
+					while (_keys[slot] != 0) {
+						slot = (slot + 1) & mask;
+					}
+					_keys[slot] = keys[i];
+					_profiles[slot] = profiles[i];
+					_counts[slot] = counts[i];
+				}
+			}
+		}
+
+		void clear() {
+			_keys = new int[1 << 10];
+			_profiles = new int[1 << 10][];
+			_counts = new int[1 << 10];
+			_size = 0;
+			_stored = 0;
+			_profileCount = 0;
+		}
+
+		/**
+		 * @return number of profiles remembered
+		 */
+		int size() {
+			return _profileCount;
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package implementations.algorithm;
+
+import implementations.structures.IndexedDAG;
+import interfaces.algorithm.AlgorithmNode;
+import interfaces.algorithm.BranchOrdering;
+import interfaces.structures.DAG;
+import interfaces.structures.Schedule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class tries the node with the highest bottom level first, i.e. the one starting the heaviest
+ * path to the end of the graph, as delaying it delays the whole schedule the most.
+ *
+ * Ties go to the most constrained node, the one with the most predecessors, and then to the name so
+ * the order is always the same. The cores are left in index order.
+ */
+public class BottomLevelOrdering implements BranchOrdering {
+	// the position of each node in the order, worked out once as the search orders nodes at every expansion
+	private final Map<String, Integer> _rank = new HashMap<String, Integer>();
+
+	/**
+	 * @param dag - the graph being scheduled
+	 */
+	public BottomLevelOrdering(DAG dag) {
+		IndexedDAG indexed = new IndexedDAG(dag);
+		Integer[] nodes = new Integer[indexed.size()];
+		for (int node = 0; node < nodes.length; node++) {
+			nodes[node] = node;
+		}
+		Comparator<Integer> byBottomLevel = Comparator.comparingInt(indexed::getBottomLevel);
+		Comparator<Integer> byPredecessors = Comparator.comparingInt(n -> indexed.getPredecessors(n).length);
+		Arrays.sort(nodes, byBottomLevel.reversed()
+				.thenComparing(byPredecessors.reversed())
+				.thenComparing(indexed::getName));
+		for (int rank = 0; rank < nodes.length; rank++) {
+			_rank.put(indexed.getName(nodes[rank]), rank);
+		}
+	}
+
+	@Override
+	public List<AlgorithmNode> orderNodes(List<AlgorithmNode> nodes, Schedule schedule) {
+		List<AlgorithmNode> ordered = new ArrayList<AlgorithmNode>(nodes.size());
+		int[] ranks = new int[nodes.size()];
+		for (AlgorithmNode node : nodes) {
+			int rank = _rank.get(node.getNodeName());
+
+			// insertion sort, as only a few nodes are reachable at once
+			int position = ordered.size();
+			while (position > 0 && ranks[position - 1] > rank) {
+				ranks[position] = ranks[position - 1];
+				position--;
+			}
+			ranks[position] = rank;
+			ordered.add(position, node);
+		}
+		return ordered;
+	}
+}
@@ -0,0 +1,148 @@
+package implementations.algorithm;
+
+import implementations.distributed.SubproblemSearch;
+import implementations.structures.ArraySchedule;
+import implementations.structures.IndexedDAG;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.DAG;
+import interfaces.structures.NodeSchedule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * This class solves a graph optimally in parallel, giving the same schedule and the same search statistics on every
+ * run with the same number of threads, so runs can be compared when benchmarking or tracking down a regression.
+ *
+ * In {@link AlgorithmImp} the threads share the best time and the pruning stores as the search goes, so what each
+ * thread prunes depends on how the threads happen to be timed. Here the search tree is split into a fixed list of
+ * subproblems (the partial schedules a few levels down, found breadth first), which are explored in rounds of a few per
+ * thread. Each subproblem is explored depth first by a {@link SubproblemSearch} of its own, with the best time as it was
+ * at the start of the round. After each round the results are merged in the order of the subproblems: a schedule only
+ * replaces the best one if it is strictly better, so of equally good schedules the one from the earliest subproblem
+ * wins.
+ */
+public class DeterministicParallelAlgorithm implements Algorithm {
+	// number of subproblems the search is split into, however many threads there are
+	static final int SUBPROBLEMS = 256;
+	// subproblems explored per thread in each round, more evens out the threads' work but shares the best time less
+	private static final int SUBPROBLEMS_PER_THREAD = 4;
+
+	private final IndexedDAG _dag;
+	private final int _numberOfCores;
+	private final SearchMetrics _metrics;
+
+	private ArraySchedule _best;
+
+	/**
+	 * The outcome of exploring one subproblem.
+	 */
+	private static class Result {
+		private ArraySchedule _best;
+		private long _expansions;
+	}
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param threads - number of threads to search with
+	 * @param metrics - collects the search statistics
+	 */
+	public DeterministicParallelAlgorithm(DAG dag, int numberOfCores, int threads, SearchMetrics metrics) {
+		_dag = new IndexedDAG(dag);
+		_numberOfCores = numberOfCores;
+		_metrics = metrics;
+		threads = Math.max(1, threads);
+
+		// when communication costs dominate, running everything on one core can beat the list schedule
+		ArraySchedule listSchedule = ListScheduler.bottomLevelFirst(_dag, numberOfCores);
+		ArraySchedule sequential = ListScheduler.sequential(_dag, numberOfCores);
+		setNewBestSchedule((sequential.getTotalTime() < listSchedule.getTotalTime()) ? sequential : listSchedule);
+
+		SubproblemSearch partitioner = new SubproblemSearch(_dag, numberOfCores, _best.getTotalTime());
+		List<ArraySchedule> subproblems = partitioner.partition(SUBPROBLEMS, new Consumer<ArraySchedule>() {
+			public void accept(ArraySchedule schedule) {
+				setNewBestSchedule(schedule);
+			}
+		});
+		_metrics.recordExpansions(partitioner.getExpansions());
+		_metrics.recordBoundPrunes(partitioner.getBoundPrunes());
+
+		boolean interrupted = false;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			int roundSize = threads * SUBPROBLEMS_PER_THREAD;
+			for (int from = 0; from < subproblems.size(); from += roundSize) {
+				List<Callable<Result>> round = new ArrayList<Callable<Result>>();
+				for (ArraySchedule subproblem : subproblems.subList(from, Math.min(from + roundSize, subproblems.size()))) {
+					round.add(explore(subproblem, _best.getTotalTime()));
+				}
+				for (Future<Result> future : pool.invokeAll(round)) {
+					Result result = future.get();
+					_metrics.recordExpansions(result._expansions);
+					if (result._best != null && result._best.getTotalTime() < _best.getTotalTime()) {
+						setNewBestSchedule(result._best);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			interrupted = true;
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+		// subproblems left unexplored leave the best schedule unproven
+		if (!interrupted) {
+			_metrics.recordFinished();
+		}
+	}
+
+	/**
+	 * @return a task exploring the subproblem on its own, bounded by the given time
+	 */
+	private Callable<Result> explore(final ArraySchedule subproblem, final int bound) {
+		return new Callable<Result>() {
+			public Result call() {
+				final Result result = new Result();
+				SubproblemSearch search = new SubproblemSearch(_dag, _numberOfCores, bound);
+				search.explore(subproblem, new Consumer<ArraySchedule>() {
+					public void accept(ArraySchedule schedule) {
+						// each schedule reported is better than the one before
+						result._best = schedule;
+					}
+				}, new BooleanSupplier() {
+					public boolean getAsBoolean() {
+						return false;
+					}
+				}, null);
+				result._expansions = search.getExpansions();
+				return result;
+			}
+		};
+	}
+
+	private void setNewBestSchedule(ArraySchedule schedule) {
+		_best = schedule;
+		_metrics.recordIncumbent(schedule.getTotalTime());
+	}
+
+	@Override
+	public HashMap<String, NodeSchedule> getCurrentBestSchedule() {
+		return _best.toNodeSchedules();
+	}
+
+	@Override
+	public int getBestTotalTime() {
+		return _best.getTotalTime();
+	}
+}
@@ -0,0 +1,126 @@
+package implementations.algorithm;
+
+import interfaces.structures.DAG;
+import interfaces.structures.Node;
+import interfaces.structures.Schedule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class detects partial schedules that cannot lead to a better schedule than one already explored.
+ *
+ * Nodes are only ever appended to a core, so once the set of scheduled nodes is fixed, how the rest of a
+ * schedule turns out depends only on its profile: when each core becomes free, and when the data from the
+ * scheduled nodes reaches each core for every node still waiting on them. A partial schedule whose profile
+ * is no earlier anywhere than that of another with the same scheduled nodes is dominated: every way of
+ * completing it also completes the other, with no node starting later.
+ *
+ * For each set of scheduled nodes the store keeps the profiles which are not dominated by any other.
+ * The duplicate detection in the search only catches the same assignments in a different order; this also
+ * catches different assignments.
+ */
+public class DominanceStore {
+	private final DAG _dag;
+	private final int _numberOfCores;
+	private final Map<Set<String>, List<int[]>> _profiles = new ConcurrentHashMap<Set<String>, List<int[]>>();
+
+	/**
+	 * @param dag - the graph being scheduled
+	 * @param numberOfCores - number of processors being scheduled on
+	 */
+	public DominanceStore(DAG dag, int numberOfCores) {
+		_dag = dag;
+		_numberOfCores = numberOfCores;
+	}
+
+	/**
+	 * Remembers the profile of a partial schedule, unless it is dominated by one already remembered.
+	 * Remembered profiles that the new one dominates are forgotten.
+	 *
+	 * @param schedule - the partial schedule
+	 * @return true if the schedule was remembered, false if it is dominated and need not be explored
+	 */
+	public boolean addIfNotDominated(Schedule schedule) {
+		Set<String> scheduled = new HashSet<String>();
+		for (int i = 0; i < schedule.getSizeOfSchedule(); i++) {
+			scheduled.add(schedule.getNodeName(i));
+		}
+		int[] profile = profile(schedule, scheduled);
+
+		List<int[]> profiles = _profiles.computeIfAbsent(scheduled, k -> new ArrayList<int[]>());
+		synchronized (profiles) {
+			for (int[] other : profiles) {
+				if (dominates(other, profile)) {
+					return false;
+				}
+			}
+			Iterator<int[]> it = profiles.iterator();
+			while (it.hasNext()) {
+				if (dominates(profile, it.next())) {
+					it.remove();
+				}
+			}
+			profiles.add(profile);
+		}
+		return true;
+	}
+
+	/**
+	 * The profile is the finish time of each core, followed by the time the data from the scheduled nodes
+	 * reaches each core, for every unscheduled successor of a scheduled node, in name order. Schedules with
+	 * the same scheduled nodes have the same successors, so their profiles line up.
+	 */
+	private int[] profile(Schedule schedule, Set<String> scheduled) {
+		Map<String, Integer> indexOf = new HashMap<String, Integer>();
+		Set<String> waiting = new TreeSet<String>();
+		for (int i = 0; i < schedule.getSizeOfSchedule(); i++) {
+			String name = schedule.getNodeName(i);
+			indexOf.put(name, i);
+			for (Node successor : _dag.getNodeByName(name).getSuccessors()) {
+				if (!scheduled.contains(successor.getName())) {
+					waiting.add(successor.getName());
+				}
+			}
+		}
+
+		int[] profile = new int[_numberOfCores * (waiting.size() + 1)];
+		for (int core = 1; core <= _numberOfCores; core++) {
+			profile[core - 1] = schedule.getFinishTimeForCore(core);
+		}
+		int offset = _numberOfCores;
+		for (String name : waiting) {
+			Node node = _dag.getNodeByName(name);
+			for (Node predecessor : node.getPredecessors()) {
+				Integer index = indexOf.get(predecessor.getName());
+				if (index == null) {
+					continue;
+				}
+				int finish = schedule.getNodeStartTime(index) + predecessor.getWeight();
+				int predecessorCore = schedule.getNodeCore(index);
+				for (int core = 1; core <= _numberOfCores; core++) {
+					int arrival = (core == predecessorCore) ? finish : finish + node.getInArc(predecessor).getWeight();
+					profile[offset + core - 1] = Math.max(profile[offset + core - 1], arrival);
+				}
+			}
+			offset += _numberOfCores;
+		}
+		return profile;
+	}
+
+	private static boolean dominates(int[] profile, int[] other) {
+		for (int i = 0; i < profile.length; i++) {
+			if (profile[i] > other[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,75 @@
+package implementations.algorithm;
+
+import implementations.structures.IndexedDAG;
+import interfaces.algorithm.AlgorithmNode;
+import interfaces.algorithm.BranchOrdering;
+import interfaces.structures.DAG;
+import interfaces.structures.Schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class tries the core the node can start on earliest first, taking into account both when the core
+ * is free and when the data from the node's predecessors arrives. Ties keep the index order.
+ * The nodes are left in the order they are given.
+ *
+ * Only nodes whose predecessors are all scheduled are ordered. The search drops the others as soon as it
+ * tries them, so their cores are left in index order.
+ */
+public class EarliestStartOrdering implements BranchOrdering {
+	private final IndexedDAG _dag;
+
+	/**
+	 * @param dag - the graph being scheduled
+	 */
+	public EarliestStartOrdering(DAG dag) {
+		_dag = new IndexedDAG(dag);
+	}
+
+	@Override
+	public List<Integer> orderCores(AlgorithmNode node, List<Integer> cores, Schedule schedule) {
+		int index = _dag.indexOf(node.getNodeName());
+		int[] predecessors = _dag.getPredecessors(index);
+		int[] costs = _dag.getPredecessorCosts(index);
+
+		// when and where each predecessor finished, found in one pass over the schedule
+		int[] finishTimes = new int[predecessors.length];
+		int[] predecessorCores = new int[predecessors.length];
+		int found = 0;
+		for (int i = 0; i < schedule.getSizeOfSchedule() && found < predecessors.length; i++) {
+			int scheduled = _dag.indexOf(schedule.getNodeName(i));
+			for (int p = 0; p < predecessors.length; p++) {
+				if (predecessors[p] == scheduled) {
+					finishTimes[p] = schedule.getNodeStartTime(i) + _dag.getWeight(scheduled);
+					predecessorCores[p] = schedule.getNodeCore(i);
+					found++;
+					break;
+				}
+			}
+		}
+		if (found < predecessors.length) {
+			return cores;
+		}
+
+		List<Integer> ordered = new ArrayList<Integer>(cores.size());
+		int[] startTimes = new int[cores.size()];
+		for (int core : cores) {
+			int startTime = schedule.getFinishTimeForCore(core);
+			for (int p = 0; p < predecessors.length; p++) {
+				int arrival = finishTimes[p] + ((predecessorCores[p] == core) ? 0 : costs[p]);
+				startTime = Math.max(startTime, arrival);
+			}
+
+			// insertion sort, as there are only a few cores
+			int position = ordered.size();
+			while (position > 0 && startTimes[position - 1] > startTime) {
+				startTimes[position] = startTimes[position - 1];
+				position--;
+			}
+			startTimes[position] = startTime;
+			ordered.add(position, core);
+		}
+		return ordered;
+	}
+}
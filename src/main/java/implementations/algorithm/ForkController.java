@@ -0,0 +1,79 @@
+package implementations.algorithm;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * This class decides when the search hands a subtree to another thread instead of exploring it itself.
+ *
+ * A subtree is only worth a task if it holds enough work to pay for one. Its size is judged by the number of nodes
+ * left to schedule, and by the gap between its lower bound and the best total time: a subtree whose bound is close to
+ * the best schedule is mostly pruned straight away, however many nodes are left. The more tasks are already waiting
+ * or running, the bigger a subtree has to be to get a task of its own, so idle threads are fed small subtrees quickly
+ * while busy ones are only given large ones.
+ *
+ * At most twice as many tasks as threads are outstanding at once, so a thread finishing a task finds another queued.
+ */
+public class ForkController {
+	// subtrees with fewer nodes left than this are always explored on the current thread
+	static final int MIN_REMAINING = 3;
+	// subtrees whose lower bound is within this fraction of the best total time are explored on the current thread
+	static final double MIN_GAP = 0.05;
+
+	private final int _numberOfNodes;
+	private final int _maxOutstanding;
+	private final Semaphore _outstanding;
+
+	/**
+	 * @param numberOfNodes - number of nodes in the graph being scheduled
+	 * @param numberOfThreads - number of threads the tasks run on, none to never fork
+	 */
+	public ForkController(int numberOfNodes, int numberOfThreads) {
+		_numberOfNodes = numberOfNodes;
+		_maxOutstanding = 2 * Math.max(0, numberOfThreads);
+		_outstanding = new Semaphore(_maxOutstanding);
+	}
+
+	/**
+	 * Decides whether a subtree gets a task of its own. If it does, the caller must start the task, and the task must
+	 * call {@link #finished()} when it is done.
+	 *
+	 * @param remaining - number of nodes left to schedule in the subtree
+	 * @param lowerBound - a lower bound of the total time of any schedule in the subtree
+	 * @param bestTime - the total time of the best schedule found so far
+	 * @return true if the subtree should be explored by a new task
+	 */
+	public boolean tryFork(int remaining, int lowerBound, int bestTime) {
+		if (_maxOutstanding == 0 || remaining < MIN_REMAINING || bestTime - lowerBound < MIN_GAP * bestTime) {
+			return false;
+		}
+		int outstanding = getOutstanding();
+		if (outstanding >= _maxOutstanding) {
+			return false;
+		}
+		// from the minimum when nothing is outstanding, up to nearly every node when the queue is almost full
+		int required = MIN_REMAINING + (_numberOfNodes * outstanding) / _maxOutstanding;
+		return remaining >= required && _outstanding.tryAcquire();
+	}
+
+	/**
+	 * Called by a task started after {@link #tryFork(int, int, int)} once it has explored its subtree.
+	 */
+	public void finished() {
+		_outstanding.release();
+	}
+
+	/**
+	 * Waits until every task started has finished.
+	 */
+	public void awaitAll() throws InterruptedException {
+		_outstanding.acquire(_maxOutstanding);
+		_outstanding.release(_maxOutstanding);
+	}
+
+	/**
+	 * @return number of tasks started and not yet finished
+	 */
+	public int getOutstanding() {
+		return _maxOutstanding - _outstanding.availablePermits();
+	}
+}
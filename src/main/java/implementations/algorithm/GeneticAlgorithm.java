@@ -0,0 +1,322 @@
+package implementations.algorithm;
+
+import implementations.structures.ArraySchedule;
+import implementations.structures.IndexedDAG;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.DAG;
+import interfaces.structures.NodeSchedule;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class schedules graphs far too big for an exact search with a genetic algorithm, optionally improving the
+ * children by local search (a memetic algorithm).
+ *
+ * A schedule is encoded as a topological order of the nodes plus the core of each node, and decoded by a
+ * {@link ScheduleDecoder}.
+ *
+ * The first population holds the list schedule, the sequential schedule and list schedules with random priorities.
+ * Parents are chosen by tournament and crossed over at a random point: the child keeps the first parent's order and
+ * cores up to the point, and takes the remaining nodes in the order and on the cores of the second parent, which keeps
+ * the order topological. Mutation moves a node to another core or to another place in the order between its last
+ * predecessor and first successor. With local search on, some children then try moving each node to each other core,
+ * keeping every move which shortens the schedule.
+ *
+ * The children are decoded (and improved) in parallel on a {@link ForkJoinPool}. Only the main thread draws random
+ * numbers, so the result depends on the seed but not on the number of threads.
+ */
+public class GeneticAlgorithm implements Algorithm {
+	public static final int DEFAULT_POPULATION = 64;
+	public static final int DEFAULT_GENERATIONS = 200;
+
+	private static final int TOURNAMENT_SIZE = 2;
+	private static final int ELITE = 2;
+	private static final double MUTATION_RATE = 0.3;
+	private static final double LOCAL_SEARCH_RATE = 0.1;
+	// children decoded by a single fork join task
+	private static final int BATCH_SIZE = 4;
+
+	private final IndexedDAG _dag;
+	private final ScheduleDecoder _decoder;
+	private final int _numberOfCores;
+	private final boolean _localSearch;
+	private final SearchMetrics _metrics;
+	private final Random _random;
+
+	private Individual _best;
+
+	/**
+	 * A schedule encoded as a topological order and the core of each node.
+	 */
+	private static class Individual {
+		private final int[] _order;
+		private final int[] _cores;
+		private boolean _improve;
+		private int _totalTime = -1;
+
+		private Individual(int[] order, int[] cores) {
+			_order = order;
+			_cores = cores;
+		}
+	}
+
+	/**
+	 * Decodes (and improves) a slice of the population.
+	 */
+	private class Evaluation extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Individual[] _population;
+		private final int _from;
+		private final int _to;
+
+		private Evaluation(Individual[] population, int from, int to) {
+			_population = population;
+			_from = from;
+			_to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (_to - _from <= BATCH_SIZE) {
+				for (int i = _from; i < _to; i++) {
+					evaluate(_population[i]);
+				}
+			} else {
+				int middle = (_from + _to) >>> 1;
+				invokeAll(new Evaluation(_population, _from, middle), new Evaluation(_population, middle, _to));
+			}
+		}
+	}
+
+	/**
+	 * Runs the default number of generations with local search.
+	 *
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param threads - number of threads to evaluate the population with
+	 * @param metrics - collects the search statistics
+	 */
+	public GeneticAlgorithm(DAG dag, int numberOfCores, int threads, SearchMetrics metrics) {
+		this(dag, numberOfCores, DEFAULT_POPULATION, DEFAULT_GENERATIONS, true, 0, threads, metrics);
+	}
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param populationSize - number of schedules in each generation
+	 * @param generations - number of generations to breed
+	 * @param localSearch - true to improve some of the children by local search
+	 * @param seed - seed of the random choices, the same seed always gives the same schedule
+	 * @param threads - number of threads to evaluate the population with
+	 * @param metrics - collects the search statistics
+	 */
+	public GeneticAlgorithm(DAG dag, int numberOfCores, int populationSize, int generations, boolean localSearch,
+			long seed, int threads, SearchMetrics metrics) {
+		if (populationSize <= ELITE || generations < 0) {
+			throw new IllegalArgumentException("population must be bigger than " + ELITE + " and generations not negative");
+		}
+		_dag = new IndexedDAG(dag);
+		_decoder = new ScheduleDecoder(_dag, numberOfCores);
+		_numberOfCores = numberOfCores;
+		_localSearch = localSearch;
+		_metrics = metrics;
+		_random = new Random(seed);
+
+		ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+		try {
+			Individual[] population = firstPopulation(populationSize);
+			evaluateAll(pool, population);
+
+			// no schedule can beat the lower bound, so there is no point breeding once it is reached
+			int lowerBound = new ArraySchedule(_dag, numberOfCores).getLowerBound();
+			for (int generation = 0; generation < generations && _best._totalTime > lowerBound; generation++) {
+				Individual[] next = new Individual[populationSize];
+				System.arraycopy(population, 0, next, 0, ELITE);
+				for (int i = ELITE; i < populationSize; i++) {
+					Individual child = crossover(select(population), select(population));
+					if (_random.nextDouble() < MUTATION_RATE) {
+						mutate(child);
+					}
+					child._improve = _localSearch && _random.nextDouble() < LOCAL_SEARCH_RATE;
+					next[i] = child;
+				}
+				evaluateAll(pool, next);
+				population = next;
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return the list schedule, the sequential schedule, and list schedules with random priorities
+	 */
+	private Individual[] firstPopulation(int populationSize) {
+		Individual[] population = new Individual[populationSize];
+		population[0] = fromSchedule(ListScheduler.bottomLevelFirst(_dag, _numberOfCores));
+		population[1] = fromSchedule(ListScheduler.sequential(_dag, _numberOfCores));
+		for (int i = 2; i < populationSize; i++) {
+			population[i] = randomListSchedule();
+		}
+		return population;
+	}
+
+	private Individual fromSchedule(ArraySchedule schedule) {
+		int[] startTimes = new int[_dag.size()];
+		int[] cores = new int[_dag.size()];
+		for (int node = 0; node < _dag.size(); node++) {
+			startTimes[node] = schedule.getStartTime(node);
+			cores[node] = schedule.getCore(node);
+		}
+		return new Individual(_decoder.orderByStartTime(startTimes), cores);
+	}
+
+	/**
+	 * @return a list schedule taking the ready nodes in random order, each on the core it can start earliest on
+	 */
+	private Individual randomListSchedule() {
+		int n = _dag.size();
+		int[] order = new int[n];
+		int[] cores = new int[n];
+		int[] finishTimes = new int[n];
+		int[] coreFinishTimes = new int[_numberOfCores + 1];
+		int[] remainingPredecessors = new int[n];
+		int[] ready = new int[n];
+		int readyCount = 0;
+		for (int node = 0; node < n; node++) {
+			remainingPredecessors[node] = _dag.getPredecessors(node).length;
+			if (remainingPredecessors[node] == 0) {
+				ready[readyCount++] = node;
+			}
+		}
+
+		for (int i = 0; i < n; i++) {
+			int pick = _random.nextInt(readyCount);
+			int node = ready[pick];
+			ready[pick] = ready[--readyCount];
+			order[i] = node;
+
+			int bestStart = Integer.MAX_VALUE;
+			for (int core = 1; core <= _numberOfCores; core++) {
+				int start = _decoder.getStartTime(node, core, cores, finishTimes, coreFinishTimes);
+				if (start < bestStart) {
+					bestStart = start;
+					cores[node] = core;
+				}
+			}
+			finishTimes[node] = bestStart + _dag.getWeight(node);
+			coreFinishTimes[cores[node]] = finishTimes[node];
+
+			for (int successor : _dag.getSuccessors(node)) {
+				if (--remainingPredecessors[successor] == 0) {
+					ready[readyCount++] = successor;
+				}
+			}
+		}
+		return new Individual(order, cores);
+	}
+
+	/**
+	 * @return the best of a few random members of the population
+	 */
+	private Individual select(Individual[] population) {
+		Individual best = population[_random.nextInt(population.length)];
+		for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+			Individual other = population[_random.nextInt(population.length)];
+			if (other._totalTime < best._totalTime) {
+				best = other;
+			}
+		}
+		return best;
+	}
+
+	private Individual crossover(Individual first, Individual second) {
+		int n = _dag.size();
+		int point = _random.nextInt(n + 1);
+		int[] order = new int[n];
+		int[] cores = new int[n];
+		boolean[] taken = new boolean[n];
+		for (int i = 0; i < point; i++) {
+			order[i] = first._order[i];
+			cores[order[i]] = first._cores[order[i]];
+			taken[order[i]] = true;
+		}
+		int next = point;
+		for (int node : second._order) {
+			if (!taken[node]) {
+				order[next++] = node;
+				cores[node] = second._cores[node];
+			}
+		}
+		return new Individual(order, cores);
+	}
+
+	private void mutate(Individual individual) {
+		int n = _dag.size();
+		if (_random.nextBoolean() && _numberOfCores > 1) {
+			individual._cores[_random.nextInt(n)] = 1 + _random.nextInt(_numberOfCores);
+			return;
+		}
+
+		_decoder.shift(individual._order, _random.nextInt(n), _random);
+	}
+
+	private void evaluateAll(ForkJoinPool pool, Individual[] population) {
+		pool.invoke(new Evaluation(population, 0, population.length));
+		// best first; the sort is stable, so equal schedules keep their order
+		Arrays.sort(population, (a, b) -> Integer.compare(a._totalTime, b._totalTime));
+		if (_best == null || population[0]._totalTime < _best._totalTime) {
+			_best = population[0];
+			_metrics.recordIncumbent(_best._totalTime);
+		}
+	}
+
+	/**
+	 * Decodes the individual, then improves it by local search if it was chosen for it.
+	 */
+	private void evaluate(Individual individual) {
+		_metrics.recordExpansion();
+		if (individual._totalTime < 0) {
+			individual._totalTime = _decoder.decode(individual._order, individual._cores);
+		}
+		if (!individual._improve) {
+			return;
+		}
+		boolean improved = true;
+		while (improved) {
+			improved = false;
+			for (int node : individual._order) {
+				int original = individual._cores[node];
+				for (int core = 1; core <= _numberOfCores; core++) {
+					if (core == original) {
+						continue;
+					}
+					individual._cores[node] = core;
+					int totalTime = _decoder.decode(individual._order, individual._cores);
+					if (totalTime < individual._totalTime) {
+						individual._totalTime = totalTime;
+						original = core;
+						improved = true;
+					}
+				}
+				individual._cores[node] = original;
+			}
+		}
+		individual._improve = false;
+	}
+
+	@Override
+	public HashMap<String, NodeSchedule> getCurrentBestSchedule() {
+		return _decoder.toSchedule(_best._order, _best._cores).toNodeSchedules();
+	}
+
+	@Override
+	public int getBestTotalTime() {
+		return _best._totalTime;
+	}
+}
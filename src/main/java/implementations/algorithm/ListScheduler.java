@@ -0,0 +1,132 @@
+package implementations.algorithm;
+
+import implementations.structures.ArraySchedule;
+import implementations.structures.IndexedDAG;
+import implementations.structures.NodeScheduleImp;
+import interfaces.structures.NodeSchedule;
+import interfaces.structures.Schedule;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class builds a complete schedule quickly by list scheduling: repeatedly take the ready node with the
+ * highest bottom level and append it to the core where it can start earliest.
+ *
+ * The result is usually good but not optimal, which makes it a cheap first incumbent for the searches.
+ */
+public class ListScheduler {
+
+	private ListScheduler() {
+		// Static helpers only.
+	}
+
+	/**
+	 * @return a complete schedule of the graph
+	 */
+	public static ArraySchedule bottomLevelFirst(IndexedDAG dag, int numberOfCores) {
+		return complete(new ArraySchedule(dag, numberOfCores), dag);
+	}
+
+	/**
+	 * @return every node on the first core in topological order, which never waits for communication
+	 */
+	public static ArraySchedule sequential(IndexedDAG dag, int numberOfCores) {
+		ArraySchedule schedule = new ArraySchedule(dag, numberOfCores);
+		for (int node = 0; node < dag.size(); node++) {
+			schedule = schedule.place(node, 1);
+		}
+		return schedule;
+	}
+
+	/**
+	 * @param schedule - a partial schedule of the graph
+	 * @return the partial schedule completed by list scheduling
+	 */
+	public static ArraySchedule complete(ArraySchedule schedule, IndexedDAG dag) {
+		while (!schedule.isComplete()) {
+			int next = -1;
+			for (int node = 0; node < dag.size(); node++) {
+				if (schedule.isReady(node) && (next < 0 || dag.getBottomLevel(node) > dag.getBottomLevel(next))) {
+					next = node;
+				}
+			}
+			schedule = schedule.place(next, earliestStartCore(schedule, next));
+		}
+		return schedule;
+	}
+
+	/**
+	 * Repairs a schedule of an older version of the graph to fit this one, keeping as much of it as possible.
+	 * Ready nodes are appended in order of their old start time, each to its old core, at the earliest they can
+	 * start there now. A node new to the graph, or on a core that is no longer there, takes the time and core it
+	 * could start on earliest instead. The result is valid whatever changed, and takes no longer than the old
+	 * schedule if nothing did.
+	 *
+	 * @param previous - node name to start time and core in the old schedule
+	 * @return a complete schedule of the graph
+	 */
+	public static ArraySchedule repair(IndexedDAG dag, int numberOfCores, Map<String, ? extends NodeSchedule> previous) {
+		ArraySchedule schedule = new ArraySchedule(dag, numberOfCores);
+		while (!schedule.isComplete()) {
+			int next = -1;
+			int nextCore = 0;
+			int nextTime = Integer.MAX_VALUE;
+			for (int node = 0; node < dag.size(); node++) {
+				if (!schedule.isReady(node)) {
+					continue;
+				}
+				NodeSchedule old = previous.get(dag.getName(node));
+				int core;
+				int time;
+				if (old != null && old.getBestProcessor() >= 1 && old.getBestProcessor() <= numberOfCores) {
+					core = old.getBestProcessor();
+					time = old.getBestStartTime();
+				} else {
+					core = earliestStartCore(schedule, node);
+					time = schedule.getEarliestStartTime(node, core);
+				}
+				// nodes are in topological order, so ties keep it
+				if (time < nextTime) {
+					next = node;
+					nextCore = core;
+					nextTime = time;
+				}
+			}
+			schedule = schedule.place(next, nextCore);
+		}
+		return schedule;
+	}
+
+	/**
+	 * Copies a complete schedule of the graph, e.g. one a user started a search from, to an {@link ArraySchedule}
+	 * by repairing it (see {@link #repair}), which takes no longer than the schedule itself.
+	 *
+	 * @param schedule - a complete schedule of the graph
+	 * @return a complete schedule of the graph
+	 */
+	public static ArraySchedule fromSchedule(IndexedDAG dag, int numberOfCores, Schedule schedule) {
+		Map<String, NodeSchedule> nodeSchedules = new HashMap<String, NodeSchedule>();
+		for (int i = 0; i < schedule.getSizeOfSchedule(); i++) {
+			nodeSchedules.put(schedule.getNodeName(i),
+					new NodeScheduleImp(schedule.getNodeStartTime(i), schedule.getNodeCore(i)));
+		}
+		return repair(dag, numberOfCores, nodeSchedules);
+	}
+
+	/**
+	 * @return the core the node can start on earliest, among the cores in use and the first empty one
+	 */
+	public static int earliestStartCore(ArraySchedule schedule, int node) {
+		int bestCore = 1;
+		int bestStart = Integer.MAX_VALUE;
+		for (int core = 1; core <= Math.min(schedule.getUsedCores() + 1, schedule.getNumberOfCores()); core++) {
+			int start = schedule.getEarliestStartTime(node, core);
+			if (start < bestStart) {
+				bestStart = start;
+				bestCore = core;
+			}
+		}
+		return bestCore;
+	}
+}
@@ -0,0 +1,172 @@
+package implementations.algorithm;
+
+import implementations.structures.IndexedDAG;
+import interfaces.structures.DAG;
+import interfaces.structures.NodeSchedule;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * This class improves the best schedule of a running search by simulated annealing, on a thread of its own, and
+ * hands every improvement back so the search can bound with it straight away.
+ *
+ * A move is one of: moving a node to another core, swapping the cores of two nodes, or shifting a node to another
+ * place in the order between its last predecessor and its first successor (schedules are encoded and decoded as by
+ * {@link ScheduleDecoder}). A worse schedule is accepted with a probability that falls as the temperature cools.
+ * Once cold, the annealing starts again from the best schedule known, and whenever the search finds a better schedule
+ * than the improver, the improver carries on from the search's.
+ */
+public class LocalSearchImprover implements Runnable {
+	// moves tried between looks at the search's best schedule
+	private static final int MOVES_PER_ROUND = 1000;
+	// starting temperature as a fraction of the total time, and the cooling per move
+	private static final double INITIAL_TEMPERATURE = 0.05;
+	private static final double COOLING = 0.999;
+	private static final double FINAL_TEMPERATURE = 0.5;
+
+	private final IndexedDAG _dag;
+	private final ScheduleDecoder _decoder;
+	private final int _numberOfCores;
+	private final IntSupplier _searchBestTime;
+	private final Supplier<Map<String, NodeSchedule>> _searchBestSchedule;
+	private final Consumer<HashMap<String, NodeSchedule>> _publish;
+	private final Random _random;
+
+	private volatile boolean _stopped = false;
+	private Thread _thread;
+
+	private int[] _bestOrder;
+	private int[] _bestCores;
+	private int _bestTime = Integer.MAX_VALUE;
+
+	/**
+	 * @param dag - the graph being scheduled
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param searchBestTime - the total time of the search's best schedule
+	 * @param searchBestSchedule - a copy of the search's best schedule, made consistently with its total time
+	 * @param publish - given every schedule the improver finds that is better than the search's
+	 * @param seed - seed of the random moves
+	 */
+	public LocalSearchImprover(DAG dag, int numberOfCores, IntSupplier searchBestTime,
+			Supplier<Map<String, NodeSchedule>> searchBestSchedule, Consumer<HashMap<String, NodeSchedule>> publish, long seed) {
+		_dag = new IndexedDAG(dag);
+		_decoder = new ScheduleDecoder(_dag, numberOfCores);
+		_numberOfCores = numberOfCores;
+		_searchBestTime = searchBestTime;
+		_searchBestSchedule = searchBestSchedule;
+		_publish = publish;
+		_random = new Random(seed);
+	}
+
+	/**
+	 * Starts improving on a daemon thread.
+	 */
+	public void start() {
+		_thread = new Thread(this, "local-search-improver");
+		_thread.setDaemon(true);
+		_thread.start();
+	}
+
+	/**
+	 * Stops improving and waits for the thread to finish its current round.
+	 */
+	public void stop() {
+		_stopped = true;
+		if (_thread != null) {
+			try {
+				_thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	@Override
+	public void run() {
+		int n = _dag.size();
+		if (n < 2) {
+			return;
+		}
+		int[] order = null;
+		int[] cores = null;
+		int time = 0;
+		double temperature = 0;
+
+		while (!_stopped) {
+			if (_searchBestTime.getAsInt() < _bestTime) {
+				takeSearchBest();
+			}
+			if (temperature < FINAL_TEMPERATURE) {
+				order = _bestOrder.clone();
+				cores = _bestCores.clone();
+				time = _bestTime;
+				temperature = INITIAL_TEMPERATURE * _bestTime;
+			}
+
+			for (int move = 0; move < MOVES_PER_ROUND && !_stopped; move++) {
+				int[] nextOrder = order.clone();
+				int[] nextCores = cores.clone();
+				randomMove(nextOrder, nextCores);
+				int nextTime = _decoder.decode(nextOrder, nextCores);
+
+				int worse = nextTime - time;
+				if (worse <= 0 || _random.nextDouble() < Math.exp(-worse / temperature)) {
+					order = nextOrder;
+					cores = nextCores;
+					time = nextTime;
+					if (time < _bestTime) {
+						_bestOrder = order.clone();
+						_bestCores = cores.clone();
+						_bestTime = time;
+						if (time < _searchBestTime.getAsInt()) {
+							_publish.accept(_decoder.toSchedule(order, cores).toNodeSchedules());
+						}
+					}
+				}
+				temperature *= COOLING;
+			}
+		}
+	}
+
+	/**
+	 * Carries on from the search's best schedule.
+	 */
+	private void takeSearchBest() {
+		Map<String, NodeSchedule> schedule = _searchBestSchedule.get();
+		int[] startTimes = new int[_dag.size()];
+		int[] cores = new int[_dag.size()];
+		for (int node = 0; node < _dag.size(); node++) {
+			NodeSchedule nodeSchedule = schedule.get(_dag.getName(node));
+			startTimes[node] = nodeSchedule.getBestStartTime();
+			cores[node] = nodeSchedule.getBestProcessor();
+		}
+		_bestOrder = _decoder.orderByStartTime(startTimes);
+		_bestCores = cores;
+		_bestTime = _decoder.decode(_bestOrder, _bestCores);
+	}
+
+	private void randomMove(int[] order, int[] cores) {
+		int n = order.length;
+		switch (_random.nextInt(3)) {
+		case 0:
+			// move a node to another core
+			cores[_random.nextInt(n)] = 1 + _random.nextInt(_numberOfCores);
+			break;
+		case 1:
+			// swap the cores of two nodes
+			int a = _random.nextInt(n);
+			int b = _random.nextInt(n);
+			int core = cores[a];
+			cores[a] = cores[b];
+			cores[b] = core;
+			break;
+		default:
+			_decoder.shift(order, _random.nextInt(n), _random);
+		}
+	}
+}
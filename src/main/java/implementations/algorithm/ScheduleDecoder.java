@@ -0,0 +1,123 @@
+package implementations.algorithm;
+
+import implementations.structures.ArraySchedule;
+import implementations.structures.IndexedDAG;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This class decodes a schedule encoded as a topological order of the nodes plus the core of each node, by appending
+ * the nodes in that order to their cores, each starting as early as its core and the data from its predecessors allow.
+ * Every such encoding is a valid schedule.
+ *
+ * Decoding only touches int arrays and takes a single pass over the arcs, so metaheuristics can afford to decode
+ * millions of schedules. It keeps no state, so one decoder can be shared between threads.
+ */
+public class ScheduleDecoder {
+	private final IndexedDAG _dag;
+	private final int _numberOfCores;
+
+	public ScheduleDecoder(IndexedDAG dag, int numberOfCores) {
+		_dag = dag;
+		_numberOfCores = numberOfCores;
+	}
+
+	/**
+	 * @return the total time of the schedule made by appending the nodes in order to their cores
+	 */
+	public int decode(int[] order, int[] cores) {
+		int[] finishTimes = new int[_dag.size()];
+		int[] coreFinishTimes = new int[_numberOfCores + 1];
+		int totalTime = 0;
+		for (int node : order) {
+			int finish = getStartTime(node, cores[node], cores, finishTimes, coreFinishTimes) + _dag.getWeight(node);
+			finishTimes[node] = finish;
+			coreFinishTimes[cores[node]] = finish;
+			totalTime = Math.max(totalTime, finish);
+		}
+		return totalTime;
+	}
+
+	/**
+	 * @param cores - the cores of the nodes placed so far
+	 * @param finishTimes - the finish times of the nodes placed so far
+	 * @param coreFinishTimes - the finish time of each core so far, from index 1
+	 * @return the time the node would start if appended to the core, which must follow all its predecessors
+	 */
+	public int getStartTime(int node, int core, int[] cores, int[] finishTimes, int[] coreFinishTimes) {
+		int start = coreFinishTimes[core];
+		int[] predecessors = _dag.getPredecessors(node);
+		int[] costs = _dag.getPredecessorCosts(node);
+		for (int i = 0; i < predecessors.length; i++) {
+			int arrival = finishTimes[predecessors[i]] + ((cores[predecessors[i]] == core) ? 0 : costs[i]);
+			start = Math.max(start, arrival);
+		}
+		return start;
+	}
+
+	/**
+	 * @return the decoded schedule
+	 */
+	public ArraySchedule toSchedule(int[] order, int[] cores) {
+		ArraySchedule schedule = new ArraySchedule(_dag, _numberOfCores);
+		for (int node : order) {
+			schedule = schedule.place(node, cores[node]);
+		}
+		return schedule;
+	}
+
+	/**
+	 * Nodes start in topological order on every core, and nodes on different cores starting at the same time
+	 * cannot depend on each other, so the order of a complete schedule's start times (ties broken by node number)
+	 * decodes back to the same schedule.
+	 *
+	 * @param startTimes - the start time of every node
+	 * @return the nodes in order of start time
+	 */
+	public int[] orderByStartTime(final int[] startTimes) {
+		Integer[] nodes = new Integer[_dag.size()];
+		for (int node = 0; node < nodes.length; node++) {
+			nodes[node] = node;
+		}
+		Arrays.sort(nodes, (a, b) -> (startTimes[a] != startTimes[b])
+				? Integer.compare(startTimes[a], startTimes[b]) : Integer.compare(a, b));
+		int[] order = new int[nodes.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = nodes[i];
+		}
+		return order;
+	}
+
+	/**
+	 * Moves the node at the position to a random place between its last predecessor and its first successor, which
+	 * keeps the order topological.
+	 */
+	public void shift(int[] order, int from, Random random) {
+		int node = order[from];
+		int low = from;
+		while (low > 0 && !isPredecessor(order[low - 1], node)) {
+			low--;
+		}
+		int high = from;
+		while (high < order.length - 1 && !isPredecessor(node, order[high + 1])) {
+			high++;
+		}
+		int to = low + random.nextInt(high - low + 1);
+		if (to < from) {
+			System.arraycopy(order, to, order, to + 1, from - to);
+		} else {
+			System.arraycopy(order, from + 1, order, from, to - from);
+		}
+		order[to] = node;
+	}
+
+	private boolean isPredecessor(int predecessor, int node) {
+		for (int other : _dag.getPredecessors(node)) {
+			if (other == predecessor) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,132 @@
+package implementations.algorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import interfaces.algorithm.SearchChannel;
+import interfaces.structures.NodeSchedule;
+
+/**
+ * This class carries search progress from the algorithm to a view without either side blocking the other.
+ *
+ * The search threads publish into the channel without taking any lock, and never call into the view.
+ * The view polls the channel at its own frame rate (on its own thread) and only redraws when something changed,
+ * so however many improvements are found between two frames, at most one redraw of the schedule happens.
+ *
+ * The channel also carries a cancellation request the other way, from the view (or whoever started the search) to
+ * the search threads.
+ *
+ * The number of recursive calls is not published at all: it is read from the {@link SearchMetrics} the search
+ * already keeps.
+ */
+public class SearchEventChannel implements SearchChannel {
+
+	/**
+	 * An immutable copy of a best schedule, safe to read from any thread.
+	 */
+	public static class Incumbent implements SearchChannel.Incumbent {
+		private final int _bestTime;
+		private final Map<String, NodeSchedule> _schedule;
+
+		private Incumbent(int bestTime, Map<String, NodeSchedule> schedule) {
+			_bestTime = bestTime;
+			_schedule = Collections.unmodifiableMap(new HashMap<String, NodeSchedule>(schedule));
+		}
+
+		@Override
+		public int getBestTime() {
+			return _bestTime;
+		}
+
+		@Override
+		public Map<String, NodeSchedule> getSchedule() {
+			return _schedule;
+		}
+	}
+
+	private final SearchMetrics _metrics;
+	private final AtomicReference<Incumbent> _latest = new AtomicReference<Incumbent>();
+	private final ConcurrentLinkedQueue<Integer> _improvements = new ConcurrentLinkedQueue<Integer>();
+	private volatile boolean _finished = false;
+	private volatile boolean _cancelled = false;
+
+	/**
+	 * @param metrics - the statistics of the search being watched
+	 */
+	public SearchEventChannel(SearchMetrics metrics) {
+		_metrics = metrics;
+	}
+
+	/**
+	 * Called by the search when a better schedule is found. The schedule is copied, so the caller may keep changing it.
+	 *
+	 * @param bestTime - total time of the new best schedule
+	 * @param schedule - node name to start time and core of the new best schedule
+	 */
+	public void publishIncumbent(int bestTime, Map<String, NodeSchedule> schedule) {
+		_latest.set(new Incumbent(bestTime, schedule));
+		_improvements.add(bestTime);
+	}
+
+	/**
+	 * Called by the search once it has finished; the latest incumbent is then the optimal schedule, unless the
+	 * search was cancelled.
+	 */
+	public void publishFinished() {
+		_finished = true;
+	}
+
+	/**
+	 * @return the most recent best schedule, or null if none has been published yet
+	 */
+	@Override
+	public Incumbent getLatestIncumbent() {
+		return _latest.get();
+	}
+
+	/**
+	 * Removes and returns the times of every improvement published since the last call, oldest first.
+	 */
+	@Override
+	public List<Integer> drainImprovements() {
+		List<Integer> improvements = new ArrayList<Integer>();
+		Integer time;
+		while ((time = _improvements.poll()) != null) {
+			improvements.add(time);
+		}
+		return improvements;
+	}
+
+	/**
+	 * Asks the search to stop as soon as it can. It is not interrupted: it checks the flag on every expansion, and
+	 * finishes with the best schedule found so far.
+	 */
+	@Override
+	public void cancel() {
+		_cancelled = true;
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return _cancelled;
+	}
+
+	@Override
+	public boolean isFinished() {
+		return _finished;
+	}
+
+	@Override
+	public long getExpansions() {
+		return _metrics.getExpansions();
+	}
+
+	public SearchMetrics getMetrics() {
+		return _metrics;
+	}
+}
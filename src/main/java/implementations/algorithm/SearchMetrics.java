@@ -0,0 +1,305 @@
+package implementations.algorithm;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class collects statistics about a single search.
+ *
+ * The counters are {@link LongAdder}s, which keep a separate cell per contending thread,
+ * so recording from the search threads is cheap and never loses updates.
+ *
+ * The metrics can be exported as JSON or in the Prometheus text exposition format,
+ * either once at the end of a solve or periodically while it is running (which lets a
+ * Prometheus textfile collector watch a long solve without the GUI).
+ */
+public class SearchMetrics {
+	private final LongAdder _expansions = new LongAdder();
+	private final LongAdder _prunedBound = new LongAdder();
+	private final LongAdder _prunedDuplicate = new LongAdder();
+	private final LongAdder _prunedSymmetry = new LongAdder();
+	private final LongAdder _prunedDominance = new LongAdder();
+	private final LongAdder _incumbentImprovements = new LongAdder();
+
+	private final long _startTime = System.nanoTime();
+	private volatile long _firstSolutionTime = -1;
+	private volatile long _lastImprovementTime = -1;
+	private volatile long _finishTime = -1;
+	private volatile int _bestMakespan = -1;
+
+	private Timer _exportTimer;
+
+	/**
+	 * Records a call of the recursive search.
+	 */
+	public void recordExpansion() {
+		_expansions.increment();
+	}
+
+	/**
+	 * Records calls of a search made elsewhere, e.g. by another process.
+	 *
+	 * @param count - number of calls
+	 */
+	public void recordExpansions(long count) {
+		_expansions.add(count);
+	}
+
+	/**
+	 * Records a partial schedule discarded because its cost bound is no better than the incumbent.
+	 */
+	public void recordBoundPrune() {
+		_prunedBound.increment();
+	}
+
+	/**
+	 * Records partial schedules discarded by their cost bound in a search made elsewhere.
+	 *
+	 * @param count - number of partial schedules
+	 */
+	public void recordBoundPrunes(long count) {
+		_prunedBound.add(count);
+	}
+
+	/**
+	 * Records a partial schedule discarded because the same set of assignments was already explored.
+	 */
+	public void recordDuplicatePrune() {
+		_prunedDuplicate.increment();
+	}
+
+	/**
+	 * Records partial schedules skipped because they are symmetric to one already explored.
+	 *
+	 * @param states - number of symmetric states skipped
+	 */
+	public void recordSymmetryPrune(long states) {
+		_prunedSymmetry.add(states);
+	}
+
+	/**
+	 * Records a partial schedule discarded because another with the same tasks is at least as good.
+	 */
+	public void recordDominancePrune() {
+		_prunedDominance.increment();
+	}
+
+	/**
+	 * Records a new best schedule. Must be called while holding the lock that guards the incumbent,
+	 * so improvements are recorded in order.
+	 *
+	 * @param makespan - total time of the new best schedule
+	 */
+	public void recordIncumbent(int makespan) {
+		long now = System.nanoTime();
+		if (_firstSolutionTime < 0) {
+			_firstSolutionTime = now;
+		}
+		_lastImprovementTime = now;
+		_bestMakespan = makespan;
+		_incumbentImprovements.increment();
+	}
+
+	/**
+	 * Marks the search as finished, which proves the incumbent optimal.
+	 */
+	public void recordFinished() {
+		_finishTime = System.nanoTime();
+	}
+
+	/**
+	 * Adds the counters of a search of part of the graph to this one. Incumbents and timings are not
+	 * copied, as the part's best schedule is not a schedule of the whole graph.
+	 *
+	 * @param part - metrics of the search of the part
+	 */
+	public void addCounts(SearchMetrics part) {
+		_expansions.add(part.getExpansions());
+		_prunedBound.add(part.getPrunedByBound());
+		_prunedDuplicate.add(part.getPrunedByDuplicate());
+		_prunedSymmetry.add(part.getPrunedBySymmetry());
+		_prunedDominance.add(part.getPrunedByDominance());
+	}
+
+	public long getExpansions() {
+		return _expansions.sum();
+	}
+
+	public long getPrunedByBound() {
+		return _prunedBound.sum();
+	}
+
+	public long getPrunedByDuplicate() {
+		return _prunedDuplicate.sum();
+	}
+
+	public long getPrunedBySymmetry() {
+		return _prunedSymmetry.sum();
+	}
+
+	public long getPrunedByDominance() {
+		return _prunedDominance.sum();
+	}
+
+	public long getPrunedTotal() {
+		return getPrunedByBound() + getPrunedByDuplicate() + getPrunedBySymmetry() + getPrunedByDominance();
+	}
+
+	public long getIncumbentImprovements() {
+		return _incumbentImprovements.sum();
+	}
+
+	public int getBestMakespan() {
+		return _bestMakespan;
+	}
+
+	public boolean isFinished() {
+		return _finishTime >= 0;
+	}
+
+	/**
+	 * @return milliseconds from the start of the solve until the first complete schedule, or -1 if none yet
+	 */
+	public double getTimeToFirstSolutionMs() {
+		return toMs(_firstSolutionTime);
+	}
+
+	/**
+	 * The optimal schedule is the last incumbent found, but it is only known to be optimal
+	 * once the search has finished.
+	 *
+	 * @return milliseconds from the start of the solve until the optimal schedule was found, or -1 if not yet proven
+	 */
+	public double getTimeToOptimalMs() {
+		return isFinished() ? toMs(_lastImprovementTime) : -1;
+	}
+
+	/**
+	 * @return milliseconds the solve has been running for, or took in total if finished
+	 */
+	public double getElapsedMs() {
+		return (isFinished() ? _finishTime - _startTime : System.nanoTime() - _startTime) / 1e6;
+	}
+
+	private double toMs(long time) {
+		return (time < 0) ? -1 : (time - _startTime) / 1e6;
+	}
+
+	/**
+	 * @return the metrics as a single JSON object
+	 */
+	public String toJson() {
+		return "{\n"
+				+ "  \"expansions\": " + getExpansions() + ",\n"
+				+ "  \"prunedByBound\": " + getPrunedByBound() + ",\n"
+				+ "  \"prunedByDuplicate\": " + getPrunedByDuplicate() + ",\n"
+				+ "  \"prunedBySymmetry\": " + getPrunedBySymmetry() + ",\n"
+				+ "  \"prunedByDominance\": " + getPrunedByDominance() + ",\n"
+				+ "  \"incumbentImprovements\": " + getIncumbentImprovements() + ",\n"
+				+ "  \"bestMakespan\": " + getBestMakespan() + ",\n"
+				+ "  \"timeToFirstSolutionMs\": " + getTimeToFirstSolutionMs() + ",\n"
+				+ "  \"timeToOptimalMs\": " + getTimeToOptimalMs() + ",\n"
+				+ "  \"elapsedMs\": " + getElapsedMs() + ",\n"
+				+ "  \"finished\": " + isFinished() + "\n"
+				+ "}\n";
+	}
+
+	/**
+	 * @return the metrics in the Prometheus text exposition format
+	 */
+	public String toPrometheus() {
+		StringBuilder sb = new StringBuilder();
+		appendMetric(sb, "scheduler_states_expanded_total", "counter",
+				"Calls of the recursive search.", getExpansions());
+
+		sb.append("# HELP scheduler_states_pruned_total Partial schedules discarded, by pruning rule.\n");
+		sb.append("# TYPE scheduler_states_pruned_total counter\n");
+		sb.append("scheduler_states_pruned_total{rule=\"bound\"} ").append(getPrunedByBound()).append("\n");
+		sb.append("scheduler_states_pruned_total{rule=\"duplicate\"} ").append(getPrunedByDuplicate()).append("\n");
+		sb.append("scheduler_states_pruned_total{rule=\"symmetry\"} ").append(getPrunedBySymmetry()).append("\n");
+		sb.append("scheduler_states_pruned_total{rule=\"dominance\"} ").append(getPrunedByDominance()).append("\n");
+
+		appendMetric(sb, "scheduler_incumbent_improvements_total", "counter",
+				"Times a better schedule was found.", getIncumbentImprovements());
+		appendMetric(sb, "scheduler_best_makespan", "gauge",
+				"Total time of the best schedule found so far.", getBestMakespan());
+		appendMetric(sb, "scheduler_time_to_first_solution_seconds", "gauge",
+				"Time until the first complete schedule, -1 if none yet.", secondsOrUnset(getTimeToFirstSolutionMs()));
+		appendMetric(sb, "scheduler_time_to_optimal_seconds", "gauge",
+				"Time until the optimal schedule was found, -1 until the search finishes.", secondsOrUnset(getTimeToOptimalMs()));
+		appendMetric(sb, "scheduler_elapsed_seconds", "gauge",
+				"Time the search has been running for.", getElapsedMs() / 1000);
+		appendMetric(sb, "scheduler_search_finished", "gauge",
+				"1 once the search has finished and the best schedule is optimal.", isFinished() ? 1 : 0);
+		return sb.toString();
+	}
+
+	private static double secondsOrUnset(double ms) {
+		return (ms < 0) ? -1 : ms / 1000;
+	}
+
+	private static void appendMetric(StringBuilder sb, String name, String type, String help, Number value) {
+		sb.append("# HELP ").append(name).append(" ").append(help).append("\n");
+		sb.append("# TYPE ").append(name).append(" ").append(type).append("\n");
+		sb.append(name).append(" ").append(value).append("\n");
+	}
+
+	/**
+	 * Writes the metrics to a file: JSON if the file name ends in ".json", Prometheus text format otherwise.
+	 * The file is replaced atomically so a collector never reads a half-written file.
+	 *
+	 * @param path - file to write
+	 */
+	public void exportToFile(String path) {
+		File target = new File(path);
+		File dir = target.getAbsoluteFile().getParentFile();
+		try {
+			File temp = File.createTempFile(target.getName(), ".tmp", dir);
+			PrintWriter writer = new PrintWriter(temp, "UTF-8");
+			writer.print(path.endsWith(".json") ? toJson() : toPrometheus());
+			writer.close();
+			Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Starts rewriting the metrics file at a fixed interval on a daemon thread,
+	 * until {@link #stopPeriodicExport(String)} is called.
+	 *
+	 * @param path - file to write, see {@link #exportToFile(String)}
+	 * @param intervalMs - time between writes
+	 */
+	public synchronized void startPeriodicExport(String path, long intervalMs) {
+		stopPeriodicExport(null);
+		_exportTimer = new Timer("metrics-export", true);
+		_exportTimer.schedule(new TimerTask() {
+			@Override
+			public void run() {
+				exportToFile(path);
+			}
+		}, 0, intervalMs);
+	}
+
+	/**
+	 * Stops the periodic export, and writes the file one final time.
+	 *
+	 * @param path - file to write the final metrics to, or null to skip the final write
+	 */
+	public synchronized void stopPeriodicExport(String path) {
+		if (_exportTimer != null) {
+			_exportTimer.cancel();
+			_exportTimer = null;
+		}
+		if (path != null) {
+			exportToFile(path);
+		}
+	}
+}
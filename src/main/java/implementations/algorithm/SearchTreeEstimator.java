@@ -0,0 +1,229 @@
+package implementations.algorithm;
+
+import implementations.structures.ArraySchedule;
+import implementations.structures.IndexedDAG;
+import interfaces.structures.DAG;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class estimates how big the branch and bound tree of an exact search of a graph is, and so how long the
+ * search takes, before starting it.
+ *
+ * It uses Knuth's estimator: a probe walks from the empty schedule down to a complete one, each time taking one
+ * of the children at random. If the nodes on its way have b1, b2, ... children, the tree is estimated to have
+ * 1 + b1 + b1 * b2 + ... nodes, and the average over many probes converges on the true size. A child is a ready
+ * node appended to a core, and children whose {@link ArraySchedule#getLowerBound() lower bound} is no better than
+ * a {@link ListScheduler list schedule} are pruned, as in the search.
+ *
+ * The searches also prune duplicates and dominated schedules, and find better schedules to prune with as they go,
+ * so the estimate is an upper bound in practice. It is meant to tell a search of seconds from one of days.
+ */
+public class SearchTreeEstimator {
+	public static final int DEFAULT_PROBES = 200;
+	// the probes stop after this long even if they are not all done
+	private static final long MAX_PROBE_TIME_MS = 1000;
+
+	private final IndexedDAG _dag;
+	private final int _numberOfCores;
+	private final int _incumbent;
+	// communication cost to the only successor, or 0 if there is not exactly one
+	private final int[] _outCosts;
+	private final Random _random;
+
+	private double _totalEstimate = 0;
+	private long _children = 0;
+	private long _probeNanos = 0;
+	private int _probes = 0;
+
+	/**
+	 * @param dag - the graph to be searched
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param probes - number of random probes to average over
+	 * @param seed - seed of the random probes, so the estimate can be repeated
+	 */
+	public SearchTreeEstimator(DAG dag, int numberOfCores, int probes, long seed) {
+		if (probes < 1) {
+			throw new IllegalArgumentException("number of probes must be at least 1");
+		}
+		_dag = new IndexedDAG(dag);
+		_numberOfCores = numberOfCores;
+		_incumbent = ListScheduler.bottomLevelFirst(_dag, numberOfCores).getTotalTime();
+		_random = new Random(seed);
+		_outCosts = new int[_dag.size()];
+		for (int node = 0; node < _dag.size(); node++) {
+			int[] predecessors = _dag.getPredecessors(node);
+			for (int i = 0; i < predecessors.length; i++) {
+				if (_dag.getSuccessors(predecessors[i]).length == 1) {
+					_outCosts[predecessors[i]] = _dag.getPredecessorCosts(node)[i];
+				}
+			}
+		}
+
+		long deadline = System.nanoTime() + MAX_PROBE_TIME_MS * 1000000L;
+		while (_probes < probes && (_probes == 0 || System.nanoTime() < deadline)) {
+			probe();
+		}
+	}
+
+	public SearchTreeEstimator(DAG dag, int numberOfCores) {
+		this(dag, numberOfCores, DEFAULT_PROBES, 0);
+	}
+
+	private void probe() {
+		long start = System.nanoTime();
+		ArraySchedule schedule = new ArraySchedule(_dag, _numberOfCores);
+		double levelSize = 1;
+		double estimate = 1;
+		List<ArraySchedule> children = new ArrayList<ArraySchedule>();
+		List<Integer> childNodes = new ArrayList<Integer>();
+		int last = -1;
+		while (!schedule.isComplete()) {
+			children.clear();
+			childNodes.clear();
+			int fixedNode = fixedOrderNode(schedule);
+			for (int node = 0; node < _dag.size(); node++) {
+				if (!schedule.isReady(node) || (fixedNode >= 0 && node != fixedNode)) {
+					continue;
+				}
+				// empty cores are all alike, so only the first is tried
+				for (int core = 1; core <= Math.min(schedule.getUsedCores() + 1, _numberOfCores); core++) {
+					if (fixedNode < 0 && last >= 0 && isReachedInOtherOrder(schedule, last, node, core)) {
+						continue;
+					}
+					ArraySchedule child = schedule.place(node, core);
+					if (child.getLowerBound() < _incumbent) {
+						children.add(child);
+						childNodes.add(node);
+					}
+				}
+			}
+			_children += children.size();
+			if (children.isEmpty()) {
+				break;
+			}
+			levelSize *= children.size();
+			estimate += levelSize;
+			int chosen = _random.nextInt(children.size());
+			schedule = children.get(chosen);
+			last = childNodes.get(chosen);
+		}
+		_totalEstimate += estimate;
+		_probeNanos += System.nanoTime() - start;
+		_probes++;
+	}
+
+	/**
+	 * The fixed task order of {@link BitmaskAlgorithm}, under which the searches only try one of the ready nodes.
+	 *
+	 * @return the only ready node worth trying, or -1 if all are
+	 */
+	private int fixedOrderNode(ArraySchedule schedule) {
+		List<Integer> ready = new ArrayList<Integer>();
+		int successor = -1;
+		int predecessorCore = 0;
+		for (int node = 0; node < _dag.size(); node++) {
+			if (!schedule.isReady(node)) {
+				continue;
+			}
+			int[] predecessors = _dag.getPredecessors(node);
+			int[] successors = _dag.getSuccessors(node);
+			if (predecessors.length > 1 || successors.length > 1) {
+				return -1;
+			}
+			if (successors.length == 1) {
+				if (successor >= 0 && successor != successors[0]) {
+					return -1;
+				}
+				successor = successors[0];
+			}
+			if (predecessors.length == 1) {
+				if (predecessorCore != 0 && predecessorCore != schedule.getCore(predecessors[0])) {
+					return -1;
+				}
+				predecessorCore = schedule.getCore(predecessors[0]);
+			}
+			ready.add(node);
+		}
+		if (ready.size() < 2) {
+			return -1;
+		}
+
+		// by data arrival, then by the larger cost to the successor
+		int first = -1;
+		for (int node : ready) {
+			if (first < 0 || arrival(schedule, node) < arrival(schedule, first)
+					|| (arrival(schedule, node) == arrival(schedule, first) && _outCosts[node] > _outCosts[first])) {
+				first = node;
+			}
+		}
+		// the order must also have the costs to the successor falling
+		for (int node : ready) {
+			for (int other : ready) {
+				boolean before = arrival(schedule, node) < arrival(schedule, other)
+						|| (arrival(schedule, node) == arrival(schedule, other) && _outCosts[node] >= _outCosts[other]);
+				if (before && _outCosts[node] < _outCosts[other]) {
+					return -1;
+				}
+			}
+		}
+		return first;
+	}
+
+	private int arrival(ArraySchedule schedule, int node) {
+		int[] predecessors = _dag.getPredecessors(node);
+		return (predecessors.length == 1)
+				? schedule.getFinishTime(predecessors[0]) + _dag.getPredecessorCosts(node)[0] : 0;
+	}
+
+	/**
+	 * Appending two nodes to different cores gives the same schedule in either order, if neither depends on the
+	 * other. Of the two orders only the one with the lower node first is counted, as the searches would find the
+	 * other a duplicate.
+	 */
+	private boolean isReachedInOtherOrder(ArraySchedule schedule, int last, int node, int core) {
+		if (node > last || schedule.getCore(last) == core) {
+			return false;
+		}
+		for (int predecessor : _dag.getPredecessors(node)) {
+			if (predecessor == last) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the estimated number of nodes in the search tree
+	 */
+	public double getEstimatedNodes() {
+		return _totalEstimate / _probes;
+	}
+
+	/**
+	 * @return the time the probes took to make and bound a child, which a search takes about as long for
+	 */
+	public double getNanosPerNode() {
+		return (double) _probeNanos / Math.max(1, _children);
+	}
+
+	/**
+	 * @return the estimated run time of an exact search on one thread, in milliseconds
+	 */
+	public double getPredictedMs() {
+		return getEstimatedNodes() * getNanosPerNode() / 1000000.0;
+	}
+
+	/**
+	 * @return the total time of the list schedule used to prune with
+	 */
+	public int getIncumbent() {
+		return _incumbent;
+	}
+
+	public int getProbes() {
+		return _probes;
+	}
+}
@@ -0,0 +1,99 @@
+package implementations.algorithm;
+
+import implementations.algorithm.SearchEventChannel.Incumbent;
+import interfaces.algorithm.Algorithm;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A solve submitted to a {@link Solver}, which may still be running. The best schedule so far can be read at any
+ * time, and the solve can be cancelled, after which it finishes with that schedule soon after.
+ */
+public class SolveHandle {
+	private final SearchEventChannel _channel;
+	private final Future<Algorithm> _result;
+
+	SolveHandle(SearchEventChannel channel, Future<Algorithm> result) {
+		_channel = channel;
+		_result = result;
+	}
+
+	/**
+	 * Asks the search to stop. It does not wait: {@link #awaitResult} then returns the best schedule found so far.
+	 */
+	public void cancel() {
+		_channel.cancel();
+	}
+
+	public boolean isCancelled() {
+		return _channel.isCancelled();
+	}
+
+	/**
+	 * @return true once the solve has finished, whether it was cancelled or not
+	 */
+	public boolean isDone() {
+		return _result.isDone();
+	}
+
+	/**
+	 * A solve cancelled after its search ran to the end is still optimal, and one that threw is not.
+	 *
+	 * @return true if the solve returned normally from a search that ran to the end, so its schedule is optimal
+	 */
+	public boolean isOptimal() {
+		if (!_result.isDone()) {
+			return false;
+		}
+		try {
+			_result.get();
+		} catch (ExecutionException e) {
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		return _channel.getMetrics().isFinished();
+	}
+
+	/**
+	 * Waits for the solve to finish.
+	 *
+	 * @param timeout - how long to wait
+	 * @param unit - unit of the timeout
+	 * @return the finished search, with the best schedule found
+	 * @throws TimeoutException if the solve is still running after the timeout
+	 */
+	public Algorithm awaitResult(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+		try {
+			return _result.get(timeout, unit);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Could not solve the graph", e.getCause());
+		}
+	}
+
+	/**
+	 * @return the best schedule found so far, or null if the search has not started yet
+	 */
+	public Incumbent getBestSoFar() {
+		return _channel.getLatestIncumbent();
+	}
+
+	/**
+	 * @return total time of the best schedule found so far, or -1 if the search has not started yet
+	 */
+	public int getBestTimeSoFar() {
+		Incumbent incumbent = _channel.getLatestIncumbent();
+		return (incumbent == null) ? -1 : incumbent.getBestTime();
+	}
+
+	/**
+	 * @return the statistics of the search, which may still be running
+	 */
+	public SearchMetrics getMetrics() {
+		return _channel.getMetrics();
+	}
+}
@@ -0,0 +1,95 @@
+package implementations.algorithm;
+
+import implementations.io.SolveContext;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.DAG;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * This class runs solves in the background, so a caller such as a service can submit a graph and carry on, watching
+ * the best schedule so far and cancelling solves it no longer needs through the returned {@link SolveHandle}.
+ *
+ * Each solve is an {@link AlgorithmImp} searching its own graph, so the graphs must not be changed while they are
+ * being solved. Solves beyond the number that may run at once wait for a free thread.
+ *
+ * Unlike the command line, the solves do not go through {@code SpecialGraphAlgorithm}, chain reduction or the
+ * splitting of a graph into its parts: those only report through {@link SearchMetrics}, not the
+ * {@link SearchEventChannel} a handle watches and cancels through. A graph of a special shape is searched like any
+ * other, which can take much longer than solving it directly.
+ */
+public class Solver {
+	private final ExecutorService _pool;
+	private final List<SolveHandle> _handles = new ArrayList<SolveHandle>();
+
+	/**
+	 * @param concurrentSolves - number of solves that may run at once
+	 */
+	public Solver(int concurrentSolves) {
+		if (concurrentSolves < 1) {
+			throw new IllegalArgumentException("number of concurrent solves must be at least 1");
+		}
+		_pool = Executors.newFixedThreadPool(concurrentSolves, new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				// an abandoned solver does not keep the JVM alive
+				Thread thread = new Thread(runnable, "solver");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Starts solving a graph optimally without waiting for the result.
+	 *
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param noOfParallerCores - number of threads the search may use
+	 * @return a handle to watch, wait for or cancel the solve
+	 */
+	public synchronized SolveHandle submit(final DAG dag, final int numberOfCores, final int noOfParallerCores) {
+		final SearchMetrics metrics = new SearchMetrics();
+		final SearchEventChannel channel = new SearchEventChannel(metrics);
+		SolveHandle handle = new SolveHandle(channel, _pool.submit(new Callable<Algorithm>() {
+			public Algorithm call() {
+				return new AlgorithmImp(dag, numberOfCores, noOfParallerCores, metrics, channel, null);
+			}
+		}));
+		// finished solves are forgotten, so a long-running service does not hold on to every schedule
+		Iterator<SolveHandle> handles = _handles.iterator();
+		while (handles.hasNext()) {
+			if (handles.next().isDone()) {
+				handles.remove();
+			}
+		}
+		_handles.add(handle);
+		return handle;
+	}
+
+	/**
+	 * Starts a solve of the graph read into the context, without waiting for the result.
+	 *
+	 * @param context - the graph, number of processors and number of threads of the solve
+	 * @return a handle to watch, wait for or cancel the solve
+	 */
+	public SolveHandle submit(SolveContext context) {
+		return submit(context.getDAG(), context.getNumberOfCores(), context.getNoOfParallerCores());
+	}
+
+	/**
+	 * Cancels every solve, including the ones still waiting, and stops the threads once they are done.
+	 */
+	public synchronized void shutdown() {
+		for (SolveHandle handle : _handles) {
+			handle.cancel();
+		}
+		_handles.clear();
+		_pool.shutdown();
+	}
+}
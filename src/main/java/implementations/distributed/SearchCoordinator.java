@@ -0,0 +1,342 @@
+package implementations.distributed;
+
+import implementations.algorithm.ListScheduler;
+import implementations.algorithm.SearchMetrics;
+import implementations.structures.ArraySchedule;
+import implementations.structures.IndexedDAG;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.DAG;
+import interfaces.structures.NodeSchedule;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * This class solves a graph optimally by handing parts of the search to {@link SearchWorker}s in other processes
+ * (or on other machines), so the search is not limited to the heap of a single JVM.
+ *
+ * The search tree is first partitioned into subproblems: the partial schedules a few levels down, found breadth first,
+ * each standing for every schedule that starts with it. Workers connect to the coordinator's socket at any time, are
+ * sent the graph, and are handed a subproblem whenever they are idle. Every better schedule a worker finds is sent on
+ * to all the workers as a new bound. When the subproblems run out while some workers are idle, the coordinator asks
+ * busy workers to give back part of their work as new subproblems. If a worker is lost, its subproblem is handed out
+ * again. The search ends once no subproblems are left and every worker is idle, which proves the best schedule optimal.
+ *
+ * All the messages are handled on the constructor's thread, so the coordinator's state needs no locking; a thread per
+ * worker only reads its messages into a queue.
+ *
+ * @see SearchProtocol
+ */
+public class SearchCoordinator implements Algorithm {
+	// subproblems made before handing any out, enough to keep a few dozen workers busy to begin with
+	static final int INITIAL_SUBPROBLEMS = 64;
+
+	private final IndexedDAG _dag;
+	private final int _numberOfCores;
+	private final SearchMetrics _metrics;
+	private final ServerSocket _server;
+	private final BlockingQueue<Event> _events = new LinkedBlockingQueue<Event>();
+
+	private final Deque<ArraySchedule> _subproblems = new ArrayDeque<ArraySchedule>();
+	private final List<Connection> _workers = new ArrayList<Connection>();
+	// every connection accepted, including workers that have not spoken yet, guarded by itself
+	private final List<Connection> _accepted = new ArrayList<Connection>();
+	private boolean _over = false;
+	private final Deque<Connection> _idle = new ArrayDeque<Connection>();
+	// the subproblem each busy worker is exploring, in the order they were handed out
+	private final Map<Connection, ArraySchedule> _busy = new LinkedHashMap<Connection, ArraySchedule>();
+
+	private volatile ArraySchedule _best;
+
+	/**
+	 * A connected worker.
+	 */
+	private class Connection implements Runnable {
+		private final Socket _socket;
+		private final BufferedReader _in;
+		private final PrintWriter _out;
+		private boolean _splitRequested = false;
+		private boolean _dropped = false;
+
+		private Connection(Socket socket) throws IOException {
+			_socket = socket;
+			_in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			_out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+		}
+
+		@Override
+		public void run() {
+			try {
+				String message;
+				while ((message = _in.readLine()) != null) {
+					_events.add(new Event(this, message));
+				}
+			} catch (IOException e) {
+				// the worker is gone
+			}
+			_events.add(new Event(this, null));
+		}
+
+		private void send(String message) {
+			_out.println(message);
+		}
+
+		private void close() {
+			try {
+				_socket.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * A message from a worker, or null if the worker is gone.
+	 */
+	private static class Event {
+		private final Connection _worker;
+		private final String _message;
+
+		private Event(Connection worker, String message) {
+			_worker = worker;
+			_message = message;
+		}
+	}
+
+	/**
+	 * Searches until the best schedule is proven optimal. Blocks until at least one worker has connected, unless the
+	 * schedules found while partitioning the search already prove it.
+	 *
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param server - the socket workers connect to, closed once the search is over
+	 * @param metrics - collects the search statistics, including the workers' expansions
+	 */
+	public SearchCoordinator(DAG dag, int numberOfCores, ServerSocket server, SearchMetrics metrics) {
+		_dag = new IndexedDAG(dag);
+		_numberOfCores = numberOfCores;
+		_metrics = metrics;
+		_server = server;
+
+		// when communication costs dominate, running everything on one core can beat the list schedule
+		ArraySchedule listSchedule = ListScheduler.bottomLevelFirst(_dag, numberOfCores);
+		ArraySchedule sequential = ListScheduler.sequential(_dag, numberOfCores);
+		setNewBestSchedule((sequential.getTotalTime() < listSchedule.getTotalTime()) ? sequential : listSchedule);
+
+		// workers are accepted until the search is over, even if partitioning proves the best schedule optimal,
+		// so every worker that connects is told DONE rather than having its connection reset
+		Thread acceptor = new Thread(new Runnable() {
+			public void run() {
+				acceptWorkers();
+			}
+		}, "search-coordinator-acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+
+		boolean interrupted = false;
+		partition();
+		if (!_subproblems.isEmpty()) {
+			try {
+				coordinate();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				interrupted = true;
+			}
+		}
+
+		// a worker that connected too late to be handed any work, or before the graph was sent, is told too
+		synchronized (_accepted) {
+			_over = true;
+			for (Connection worker : _accepted) {
+				worker.send(SearchProtocol.DONE);
+				worker.close();
+			}
+		}
+		try {
+			_server.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		// subproblems left unexplored leave the best schedule unproven
+		if (!interrupted) {
+			_metrics.recordFinished();
+		}
+	}
+
+	/**
+	 * Expands the search breadth first until there are enough partial schedules to hand out.
+	 */
+	private void partition() {
+		SubproblemSearch partitioner = new SubproblemSearch(_dag, _numberOfCores, _best.getTotalTime());
+		_subproblems.addAll(partitioner.partition(INITIAL_SUBPROBLEMS, new Consumer<ArraySchedule>() {
+			public void accept(ArraySchedule schedule) {
+				setNewBestSchedule(schedule);
+			}
+		}));
+		_metrics.recordExpansions(partitioner.getExpansions());
+		_metrics.recordBoundPrunes(partitioner.getBoundPrunes());
+	}
+
+	private void acceptWorkers() {
+		try {
+			while (true) {
+				Connection worker = new Connection(_server.accept());
+				// the graph is sent under the lock, so DONE never cuts it short
+				synchronized (_accepted) {
+					if (_over) {
+						worker.send(SearchProtocol.DONE);
+						worker.close();
+						return;
+					}
+					_accepted.add(worker);
+					// the search may have moved on by the time the worker first speaks, so the bound is sent again then
+					SearchProtocol.writeGraph(worker._out, _dag, _numberOfCores);
+					worker.send(SearchProtocol.BOUND + " " + _best.getTotalTime());
+				}
+				Thread reader = new Thread(worker, "search-coordinator-reader");
+				reader.setDaemon(true);
+				reader.start();
+			}
+		} catch (IOException e) {
+			// the socket is closed once the search is over
+		}
+	}
+
+	private void coordinate() throws InterruptedException {
+		while (!_subproblems.isEmpty() || !_busy.isEmpty()) {
+			Event event = _events.take();
+			Connection worker = event._worker;
+			if (worker._dropped) {
+				// lines the worker sent before it was dropped
+			} else if (event._message == null) {
+				lost(worker);
+			} else {
+				if (!_workers.contains(worker)) {
+					_workers.add(worker);
+					worker.send(SearchProtocol.BOUND + " " + _best.getTotalTime());
+				}
+				try {
+					handle(worker, event._message);
+				} catch (RuntimeException e) {
+					// a malformed or cut short line, so the worker's search cannot be trusted either
+					lost(worker);
+				}
+			}
+			handOutWork();
+		}
+	}
+
+	/**
+	 * Acts on a line from a worker. Everything in the line is read before anything changes, so a line that cannot be
+	 * read leaves the search as it was.
+	 */
+	private void handle(Connection worker, String message) {
+		List<String> arguments = SearchProtocol.arguments(message);
+		if (message.startsWith(SearchProtocol.IDLE)) {
+			_metrics.recordExpansions(Long.parseLong(arguments.get(0)));
+			_busy.remove(worker);
+			_idle.add(worker);
+		} else if (message.startsWith(SearchProtocol.SOLUTION)) {
+			ArraySchedule schedule = SearchProtocol.readSchedule(arguments.get(0), _dag, _numberOfCores);
+			if (schedule.isComplete() && schedule.getTotalTime() < _best.getTotalTime()) {
+				setNewBestSchedule(schedule);
+				for (Connection other : _workers) {
+					other.send(SearchProtocol.BOUND + " " + _best.getTotalTime());
+				}
+			}
+		} else if (message.startsWith(SearchProtocol.DONATE)) {
+			List<ArraySchedule> prefixes = new ArrayList<ArraySchedule>();
+			for (String prefix : arguments) {
+				prefixes.add(SearchProtocol.readSchedule(prefix, _dag, _numberOfCores));
+			}
+			worker._splitRequested = false;
+			_subproblems.addAll(prefixes);
+		}
+	}
+
+	/**
+	 * Hands the subproblems to idle workers, and if there are not enough, asks busy workers to split theirs.
+	 */
+	private void handOutWork() {
+		while (!_idle.isEmpty() && !_subproblems.isEmpty()) {
+			ArraySchedule subproblem = _subproblems.poll();
+			if (subproblem.getLowerBound() >= _best.getTotalTime()) {
+				_metrics.recordBoundPrune();
+				continue;
+			}
+			Connection worker = _idle.poll();
+			worker.send(SearchProtocol.WORK + " " + SearchProtocol.writeSchedule(subproblem, _dag));
+			_busy.put(worker, subproblem);
+		}
+
+		// the longest running subproblems are split first
+		int requested = 0;
+		for (Connection worker : _busy.keySet()) {
+			if (worker._splitRequested) {
+				requested++;
+			}
+		}
+		for (Connection worker : _busy.keySet()) {
+			if (requested >= _idle.size()) {
+				break;
+			}
+			if (!worker._splitRequested) {
+				worker._splitRequested = true;
+				worker.send(SearchProtocol.SPLIT);
+				requested++;
+			}
+		}
+	}
+
+	/**
+	 * Forgets a worker that is gone or sent a line that cannot be read, handing its subproblem out again.
+	 */
+	private void lost(Connection worker) {
+		worker._dropped = true;
+		_workers.remove(worker);
+		_idle.remove(worker);
+		ArraySchedule subproblem = _busy.remove(worker);
+		if (subproblem != null) {
+			_subproblems.add(subproblem);
+		}
+		worker.close();
+	}
+
+	private void setNewBestSchedule(ArraySchedule schedule) {
+		_best = schedule;
+		_metrics.recordIncumbent(schedule.getTotalTime());
+	}
+
+	/**
+	 * @return number of workers connected
+	 */
+	public int getNumberOfWorkers() {
+		return _workers.size();
+	}
+
+	@Override
+	public HashMap<String, NodeSchedule> getCurrentBestSchedule() {
+		return _best.toNodeSchedules();
+	}
+
+	@Override
+	public int getBestTotalTime() {
+		return _best.getTotalTime();
+	}
+}
@@ -0,0 +1,190 @@
+package implementations.distributed;
+
+import implementations.structures.ArcImpl;
+import implementations.structures.ArraySchedule;
+import implementations.structures.IndexedDAG;
+import implementations.structures.NodeImp;
+import interfaces.structures.Arc;
+import interfaces.structures.DAG;
+import interfaces.structures.Node;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class holds the messages between a {@link SearchCoordinator} and its {@link SearchWorker}s, and how graphs and
+ * partial schedules are written in them.
+ *
+ * Every message is a line of words separated by spaces. The coordinator sends:
+ * <ul>
+ * <li>{@code GRAPH cores nodes arcs}, once, followed by a line {@code weight name} per node and {@code from to cost}
+ * per arc, nodes numbered as in {@link IndexedDAG},</li>
+ * <li>{@code BOUND time} whenever the best total time improves,</li>
+ * <li>{@code WORK prefix} to have an idle worker explore every schedule starting with the prefix,</li>
+ * <li>{@code SPLIT} to have a busy worker give back part of its work, and</li>
+ * <li>{@code DONE} once the search is over.</li>
+ * </ul>
+ * The worker sends:
+ * <ul>
+ * <li>{@code IDLE expansions} when it is ready for work, after finishing any it had, with the number of schedules
+ * it expanded since the last one,</li>
+ * <li>{@code SOLUTION schedule} for every complete schedule it finds better than the bound, and</li>
+ * <li>{@code DONATE prefix...} in answer to every {@code SPLIT}, with the prefixes it gives back, if any.</li>
+ * </ul>
+ *
+ * A (partial) schedule is written as its placements in order of start time, {@code node:core} separated by commas,
+ * or {@code -} if it is empty. Placing the nodes in that order gives back the same schedule.
+ */
+public final class SearchProtocol {
+	public static final String GRAPH = "GRAPH";
+	public static final String BOUND = "BOUND";
+	public static final String WORK = "WORK";
+	public static final String SPLIT = "SPLIT";
+	public static final String DONE = "DONE";
+	public static final String IDLE = "IDLE";
+	public static final String SOLUTION = "SOLUTION";
+	public static final String DONATE = "DONATE";
+
+	private static final String EMPTY = "-";
+
+	private SearchProtocol() {
+	}
+
+	/**
+	 * Writes the graph and the number of cores to schedule it on.
+	 */
+	public static void writeGraph(PrintWriter out, IndexedDAG dag, int numberOfCores) {
+		int arcs = 0;
+		for (int node = 0; node < dag.size(); node++) {
+			arcs += dag.getPredecessors(node).length;
+		}
+		out.println(GRAPH + " " + numberOfCores + " " + dag.size() + " " + arcs);
+		for (int node = 0; node < dag.size(); node++) {
+			out.println(dag.getWeight(node) + " " + dag.getName(node));
+		}
+		for (int node = 0; node < dag.size(); node++) {
+			int[] predecessors = dag.getPredecessors(node);
+			int[] costs = dag.getPredecessorCosts(node);
+			for (int i = 0; i < predecessors.length; i++) {
+				out.println(predecessors[i] + " " + node + " " + costs[i]);
+			}
+		}
+		out.flush();
+	}
+
+	/**
+	 * Reads a graph written by {@link #writeGraph(PrintWriter, IndexedDAG, int)}.
+	 *
+	 * @return the number of cores to schedule on, or 0 if the search was over before the graph was sent: the
+	 * coordinator sent {@code DONE} instead, or closed or reset the connection
+	 */
+	public static int readGraph(BufferedReader in, DAG dag) throws IOException {
+		String first;
+		try {
+			first = in.readLine();
+		} catch (IOException e) {
+			first = null;
+		}
+		if (first == null || first.equals(DONE)) {
+			return 0;
+		}
+		String[] header = first.split(" ");
+		if (!header[0].equals(GRAPH)) {
+			throw new IOException("expected " + GRAPH + " but got " + header[0]);
+		}
+		int numberOfCores = Integer.parseInt(header[1]);
+		Node[] nodes = new Node[Integer.parseInt(header[2])];
+		int arcs = Integer.parseInt(header[3]);
+
+		for (int i = 0; i < nodes.length; i++) {
+			String line = readLine(in);
+			int space = line.indexOf(' ');
+			nodes[i] = new NodeImp(line.substring(space + 1), Integer.parseInt(line.substring(0, space)));
+			dag.add(nodes[i]);
+		}
+		for (int i = 0; i < arcs; i++) {
+			String[] words = readLine(in).split(" ");
+			Node source = nodes[Integer.parseInt(words[0])];
+			Node destination = nodes[Integer.parseInt(words[1])];
+			Arc arc = new ArcImpl(Integer.parseInt(words[2]), source, destination);
+			source.addOutArc(arc);
+			destination.addInArc(arc);
+		}
+
+		List<Node> startNodes = new ArrayList<Node>();
+		for (Node node : nodes) {
+			if (node.getPredecessors().isEmpty()) {
+				startNodes.add(node);
+			}
+		}
+		dag.addStartNodes(startNodes);
+		return numberOfCores;
+	}
+
+	/**
+	 * @return the schedule's placements in order of start time (ties broken by node number)
+	 */
+	public static String writeSchedule(final ArraySchedule schedule, IndexedDAG dag) {
+		List<Integer> nodes = new ArrayList<Integer>();
+		for (int node = 0; node < dag.size(); node++) {
+			if (schedule.isScheduled(node)) {
+				nodes.add(node);
+			}
+		}
+		if (nodes.isEmpty()) {
+			return EMPTY;
+		}
+		nodes.sort(Comparator.comparingInt((Integer node) -> schedule.getStartTime(node)).thenComparingInt(node -> node));
+
+		StringBuilder text = new StringBuilder();
+		for (int node : nodes) {
+			if (text.length() > 0) {
+				text.append(',');
+			}
+			text.append(node).append(':').append(schedule.getCore(node));
+		}
+		return text.toString();
+	}
+
+	/**
+	 * @return the schedule written by {@link #writeSchedule(ArraySchedule, IndexedDAG)}
+	 */
+	public static ArraySchedule readSchedule(String text, IndexedDAG dag, int numberOfCores) {
+		ArraySchedule schedule = new ArraySchedule(dag, numberOfCores);
+		if (text.equals(EMPTY)) {
+			return schedule;
+		}
+		for (String placement : text.split(",")) {
+			int colon = placement.indexOf(':');
+			int node = Integer.parseInt(placement.substring(0, colon));
+			int core = Integer.parseInt(placement.substring(colon + 1));
+			if (node < 0 || node >= dag.size() || core < 1 || core > numberOfCores || !schedule.isReady(node)) {
+				throw new IllegalArgumentException("cannot place node " + node + " on core " + core);
+			}
+			schedule = schedule.place(node, core);
+		}
+		return schedule;
+	}
+
+	/**
+	 * @return the words after the message type
+	 */
+	static List<String> arguments(String message) {
+		List<String> words = new ArrayList<String>(Arrays.asList(message.split(" ")));
+		words.remove(0);
+		return words;
+	}
+
+	private static String readLine(BufferedReader in) throws IOException {
+		String line = in.readLine();
+		if (line == null) {
+			throw new IOException("connection closed while reading the graph");
+		}
+		return line;
+	}
+}
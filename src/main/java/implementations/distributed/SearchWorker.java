@@ -0,0 +1,166 @@
+package implementations.distributed;
+
+import implementations.structures.ArraySchedule;
+import implementations.structures.DAGImp;
+import implementations.structures.IndexedDAG;
+import interfaces.structures.DAG;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * This class is a worker process of a distributed search. It connects to a {@link SearchCoordinator}, receives the
+ * graph, and explores the subproblems it is given with a {@link SubproblemSearch} until the coordinator says the
+ * search is over, or the connection is lost.
+ *
+ * A second thread reads the coordinator's messages: new bounds are applied to the running search at once, everything
+ * else is queued for the worker's own thread, which checks for a request to split its work between expansions.
+ *
+ * @see SearchProtocol
+ */
+public class SearchWorker implements Runnable {
+	private final String _host;
+	private final int _port;
+	private final BlockingQueue<String> _messages = new LinkedBlockingQueue<String>();
+
+	private IndexedDAG _dag;
+	private int _numberOfCores;
+	private SubproblemSearch _search;
+	private PrintWriter _out;
+
+	/**
+	 * @param host - host of the coordinator
+	 * @param port - port the coordinator listens on
+	 */
+	public SearchWorker(String host, int port) {
+		_host = host;
+		_port = port;
+	}
+
+	/**
+	 * Connects to the coordinator and works until the search is over.
+	 */
+	@Override
+	public void run() {
+		try (Socket socket = new Socket(_host, _port)) {
+			final BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			_out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+
+			DAG dag = DAGImp.createDetached();
+			_numberOfCores = SearchProtocol.readGraph(in, dag);
+			if (_numberOfCores == 0) {
+				// the search was over before this worker was needed
+				return;
+			}
+			_dag = new IndexedDAG(dag);
+			_search = new SubproblemSearch(_dag, _numberOfCores, Integer.MAX_VALUE);
+
+			Thread reader = new Thread(new Runnable() {
+				public void run() {
+					readMessages(in);
+				}
+			}, "search-worker-reader");
+			reader.setDaemon(true);
+			reader.start();
+
+			work();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private void readMessages(BufferedReader in) {
+		try {
+			String message;
+			while ((message = in.readLine()) != null) {
+				if (message.startsWith(SearchProtocol.BOUND)) {
+					_search.lowerBound(Integer.parseInt(SearchProtocol.arguments(message).get(0)));
+				} else {
+					_messages.add(message);
+				}
+			}
+		} catch (IOException e) {
+			// the connection is gone, which ends the search like DONE
+		}
+		_search.stop();
+		_messages.add(SearchProtocol.DONE);
+	}
+
+	private void work() {
+		long reported = 0;
+		_out.println(SearchProtocol.IDLE + " 0");
+		while (true) {
+			String message;
+			try {
+				message = _messages.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+
+			if (message.startsWith(SearchProtocol.WORK)) {
+				ArraySchedule prefix = SearchProtocol.readSchedule(SearchProtocol.arguments(message).get(0), _dag, _numberOfCores);
+				_search.explore(prefix, new Consumer<ArraySchedule>() {
+					public void accept(ArraySchedule schedule) {
+						_out.println(SearchProtocol.SOLUTION + " " + SearchProtocol.writeSchedule(schedule, _dag));
+					}
+				}, new BooleanSupplier() {
+					public boolean getAsBoolean() {
+						return SearchProtocol.SPLIT.equals(_messages.peek()) && _messages.remove(SearchProtocol.SPLIT);
+					}
+				}, new Consumer<List<ArraySchedule>>() {
+					public void accept(List<ArraySchedule> schedules) {
+						donate(schedules);
+					}
+				});
+				_out.println(SearchProtocol.IDLE + " " + (_search.getExpansions() - reported));
+				reported = _search.getExpansions();
+			} else if (message.equals(SearchProtocol.SPLIT)) {
+				// asked just as the work ran out
+				donate(Collections.<ArraySchedule>emptyList());
+			} else if (message.equals(SearchProtocol.DONE)) {
+				return;
+			}
+		}
+	}
+
+	private void donate(List<ArraySchedule> schedules) {
+		StringBuilder message = new StringBuilder(SearchProtocol.DONATE);
+		for (ArraySchedule schedule : schedules) {
+			message.append(' ').append(SearchProtocol.writeSchedule(schedule, _dag));
+		}
+		_out.println(message);
+	}
+
+	/**
+	 * @return the host of a {@code HOST:PORT} address
+	 */
+	public static String host(String address) {
+		if (!address.contains(":")) {
+			throw new IllegalArgumentException("address not of the form HOST:PORT");
+		}
+		return address.substring(0, address.lastIndexOf(':'));
+	}
+
+	/**
+	 * @return the port of a {@code HOST:PORT} address
+	 */
+	public static int port(String address) {
+		try {
+			return Integer.parseInt(address.substring(address.lastIndexOf(':') + 1));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("port not a valid integer");
+		}
+	}
+}
@@ -0,0 +1,198 @@
+package implementations.distributed;
+
+import implementations.structures.ArraySchedule;
+import implementations.structures.IndexedDAG;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * This class is a depth-first branch and bound of the schedules starting with a given partial schedule. A
+ * {@link SearchWorker} runs one on each subproblem it is given.
+ *
+ * The schedules waiting to be explored are kept on an explicit stack rather than the call stack, so that when the
+ * coordinator asks for work back, the worker can hand over the waiting schedules nearest the prefix, which hold the
+ * most work. The bound can be lowered from another thread while the search runs, as better schedules are found by
+ * other workers.
+ */
+public class SubproblemSearch {
+	// schedules remembered for duplicate detection before forgetting them all, to keep the heap bounded
+	private static final int MAX_CLOSED = 1000000;
+
+	private final IndexedDAG _dag;
+	private final int _numberOfCores;
+	private final Set<ArraySchedule> _closed = new HashSet<ArraySchedule>();
+	private volatile int _bound;
+	private volatile boolean _stopped = false;
+	private long _expansions = 0;
+	private long _boundPrunes = 0;
+
+	/**
+	 * A schedule waiting to be explored, with its lower bound.
+	 */
+	private static class Entry {
+		private final ArraySchedule _schedule;
+		private final int _lowerBound;
+
+		private Entry(ArraySchedule schedule, int lowerBound) {
+			_schedule = schedule;
+			_lowerBound = lowerBound;
+		}
+	}
+
+	/**
+	 * @param dag - the graph being scheduled
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param bound - total time of the best schedule known
+	 */
+	public SubproblemSearch(IndexedDAG dag, int numberOfCores, int bound) {
+		_dag = dag;
+		_numberOfCores = numberOfCores;
+		_bound = bound;
+	}
+
+	/**
+	 * Explores every schedule starting with the prefix, unless the search is stopped.
+	 *
+	 * @param prefix - the partial schedule to start from
+	 * @param solutions - given every complete schedule better than the bound, which then becomes the bound
+	 * @param splitRequested - asked between expansions whether some of the work should be given away
+	 * @param donate - given the waiting schedules nearest the prefix, half of them, whenever work is to be given away
+	 */
+	public void explore(ArraySchedule prefix, Consumer<ArraySchedule> solutions, BooleanSupplier splitRequested,
+			Consumer<List<ArraySchedule>> donate) {
+		Deque<Entry> stack = new ArrayDeque<Entry>();
+		stack.addLast(new Entry(prefix, prefix.isComplete() ? prefix.getTotalTime() : prefix.getLowerBound()));
+
+		while (!stack.isEmpty() && !_stopped) {
+			if (splitRequested.getAsBoolean()) {
+				List<ArraySchedule> given = new ArrayList<ArraySchedule>();
+				for (int i = stack.size() / 2; i > 0; i--) {
+					given.add(stack.pollFirst()._schedule);
+				}
+				donate.accept(given);
+			}
+
+			Entry entry = stack.pollLast();
+			// the bound may have fallen since the schedule was put on the stack
+			if (entry._lowerBound >= _bound) {
+				continue;
+			}
+			ArraySchedule schedule = entry._schedule;
+			if (schedule.isComplete()) {
+				lowerBound(schedule.getTotalTime());
+				solutions.accept(schedule);
+				continue;
+			}
+			if (_closed.size() >= MAX_CLOSED) {
+				_closed.clear();
+			}
+			if (!_closed.add(schedule)) {
+				continue;
+			}
+			_expansions++;
+
+			List<Entry> children = new ArrayList<Entry>();
+			for (ArraySchedule child : children(schedule, _dag, _numberOfCores)) {
+				int lowerBound = child.isComplete() ? child.getTotalTime() : child.getLowerBound();
+				if (lowerBound < _bound) {
+					children.add(new Entry(child, lowerBound));
+				}
+			}
+			// the most promising child is explored first, so it goes on the top of the stack
+			children.sort(Comparator.comparingInt((Entry child) -> child._lowerBound).reversed());
+			for (Entry child : children) {
+				stack.addLast(child);
+			}
+		}
+	}
+
+	/**
+	 * Expands the search breadth first from the empty schedule until there are enough partial schedules to hand out,
+	 * so that every schedule better than the bound starts with one of them. The expansion only depends on the graph
+	 * and the bound, so the same partial schedules come out in the same order every time.
+	 *
+	 * @param count - number of partial schedules wanted, fewer are returned if the search ends sooner
+	 * @param solutions - given every complete schedule better than the bound, which then becomes the bound
+	 * @return the partial schedules, in the order they were found
+	 */
+	public List<ArraySchedule> partition(int count, Consumer<ArraySchedule> solutions) {
+		Deque<ArraySchedule> partition = new ArrayDeque<ArraySchedule>();
+		partition.add(new ArraySchedule(_dag, _numberOfCores));
+		while (!partition.isEmpty() && partition.size() < count) {
+			ArraySchedule schedule = partition.poll();
+			_expansions++;
+			for (ArraySchedule child : children(schedule, _dag, _numberOfCores)) {
+				if (child.isComplete()) {
+					if (child.getTotalTime() < _bound) {
+						lowerBound(child.getTotalTime());
+						solutions.accept(child);
+					}
+				} else if (child.getLowerBound() < _bound) {
+					partition.add(child);
+				} else {
+					_boundPrunes++;
+				}
+			}
+		}
+		return new ArrayList<ArraySchedule>(partition);
+	}
+
+	/**
+	 * @return the schedule with each ready node appended to each core in use and the first empty core
+	 */
+	static List<ArraySchedule> children(ArraySchedule schedule, IndexedDAG dag, int numberOfCores) {
+		List<ArraySchedule> children = new ArrayList<ArraySchedule>();
+		for (int node = 0; node < dag.size(); node++) {
+			if (!schedule.isReady(node)) {
+				continue;
+			}
+			// the empty cores are all the same, so only the first is tried
+			for (int core = 1; core <= Math.min(schedule.getUsedCores() + 1, numberOfCores); core++) {
+				children.add(schedule.place(node, core));
+			}
+		}
+		return children;
+	}
+
+	/**
+	 * Lowers the bound, if the time is better.
+	 */
+	public synchronized void lowerBound(int bound) {
+		if (bound < _bound) {
+			_bound = bound;
+		}
+	}
+
+	/**
+	 * Abandons the search, e.g. once the coordinator is gone.
+	 */
+	public void stop() {
+		_stopped = true;
+	}
+
+	public int getBound() {
+		return _bound;
+	}
+
+	/**
+	 * @return number of schedules expanded so far
+	 */
+	public long getExpansions() {
+		return _expansions;
+	}
+
+	/**
+	 * @return number of partial schedules {@link #partition} discarded because of the bound
+	 */
+	public long getBoundPrunes() {
+		return _boundPrunes;
+	}
+}
@@ -24,15 +24,38 @@ public class Conversion {
 	 */
 	private List<String[]> _graphData;
 
+	/**
+	 * The graph the nodes and arcs are added to
+	 */
+	private DAG _dag;
+
     /**
-     * Constructor for Conversion module.
+     * Constructor for Conversion module, filling the shared graph.
      * @param input - Input class
      */
     public Conversion(Input input) {
+        this(input, DAGImp.getInstance());
+    }
+
+    /**
+     * Constructor for Conversion module, filling the given graph, so graphs can be read
+     * while other graphs are being solved.
+     * @param input - Input class
+     * @param dag - empty graph to add the nodes and arcs to
+     */
+    public Conversion(Input input, DAG dag) {
         _graphData = input.getGraphData();
+        _dag = dag;
         generateDAG();
     }
 
+    /**
+     * @return the graph the input was converted into
+     */
+    public DAG getDAG() {
+        return _dag;
+    }
+
     /**
      * Generate a DAG from raw data
 	 * This is done by splitting the values in the string array on the spaces.
@@ -64,13 +87,11 @@ public class Conversion {
             }
         }
 
-        DAG dag = DAGImp.getInstance();
-
 		//Add the root nodes to the DAG
-		dag.addStartNodes(getRootNodes(nodes));
+		_dag.addStartNodes(getRootNodes(nodes));
 
 		//Add to the DAG object all the nodes
-		nodes.values().forEach(dag::add);
+		nodes.values().forEach(_dag::add);
     }
 
 	/**
@@ -0,0 +1,382 @@
+package implementations.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * This class generates synthetic task graphs in the same .dot format that
+ * {@link InputImp} reads, so that we can build a scaling corpus far larger than
+ * the handful of graphs in {@code testFiles}.
+ *
+ * Generation is fully determined by the seed: the same type, size, CCR,
+ * weight distribution and seed always produce a byte-identical file.
+ *
+ * The generator can be run from the command line:
+ * <pre>
+ * GraphGenerator TYPE NODES CCR [OPTION]
+ *   -w WEIGHT_TYPE   weight distribution (Random, Normal, Bimodal, Constant)
+ *   -s SEED          random seed (default 0)
+ *   -o OUTPUT        output file name
+ *
+ * GraphGenerator -corpus DIRECTORY [-s SEED]
+ * </pre>
+ */
+public class GraphGenerator {
+	public static final int[] CORPUS_SIZES = {10, 20, 50, 100, 200, 500, 1000, 2000};
+	public static final double[] CORPUS_CCRS = {0.1, 1.0, 10.0};
+
+	private static final String NEWLINE = OutputImp.NEWLINE;
+
+	private final GraphType _type;
+	private final int _nodeCount;
+	private final double _ccr;
+	private final WeightDistribution _distribution;
+	private final long _seed;
+
+	private int _minWeight = 2;
+	private int _maxWeight = 10;
+	private int _branchingFactor = 3;
+	private double _density = 2.0;
+
+	/**
+	 * @param type - family of graph to produce
+	 * @param nodeCount - exact number of tasks in the generated graph
+	 * @param ccr - target communication-to-computation ratio (sum of arc weights / sum of task weights)
+	 * @param distribution - distribution both task and arc weights are drawn from
+	 * @param seed - seed for the random number generator
+	 */
+	public GraphGenerator(GraphType type, int nodeCount, double ccr, WeightDistribution distribution, long seed) {
+		if (nodeCount < 1) {
+			throw new IllegalArgumentException("A graph needs at least one node.");
+		}
+		if (ccr < 0) {
+			throw new IllegalArgumentException("CCR cannot be negative.");
+		}
+		_type = type;
+		_nodeCount = nodeCount;
+		_ccr = ccr;
+		_distribution = distribution;
+		_seed = seed;
+	}
+
+	/**
+	 * Sets the range task weights are drawn from. Defaults to [2, 10], which matches testFiles.
+	 * Arc weights are rounded to whole numbers (at least 1), so a very low CCR needs heavier tasks to be accurate.
+	 */
+	public void setWeightRange(int minWeight, int maxWeight) {
+		if (minWeight < 1 || maxWeight < minWeight) {
+			throw new IllegalArgumentException("Invalid weight range.");
+		}
+		_minWeight = minWeight;
+		_maxWeight = maxWeight;
+	}
+
+	/**
+	 * Sets the maximum branching factor used by the tree families. Defaults to 3.
+	 */
+	public void setBranchingFactor(int branchingFactor) {
+		if (branchingFactor < 1) {
+			throw new IllegalArgumentException("Branching factor must be positive.");
+		}
+		_branchingFactor = branchingFactor;
+	}
+
+	/**
+	 * Sets the expected number of arcs per node for the random family. Defaults to 2.0.
+	 */
+	public void setDensity(double density) {
+		_density = density;
+	}
+
+	/**
+	 * The graph name written on the first line, following the naming of the testFiles corpus.
+	 */
+	public String getGraphName() {
+		return _type + "_Nodes_" + _nodeCount + "_CCR_" + _ccr + "_WeightType_" + _distribution;
+	}
+
+	/**
+	 * Default file name for the generated graph.
+	 */
+	public String getDefaultFileName() {
+		return getGraphName() + "_Seed_" + _seed + ".dot";
+	}
+
+	/**
+	 * Generates the graph and returns it in .dot format.
+	 *
+	 * @return the contents of the .dot file
+	 */
+	public String generate() {
+		Random random = new Random(_seed);
+
+		List<int[]> arcs = generateArcs(random);
+		int[] order = topologicalOrder(arcs);
+
+		int[] nodeWeights = new int[_nodeCount];
+		int totalNodeWeight = 0;
+		for (int i = 0; i < _nodeCount; i++) {
+			nodeWeights[i] = _distribution.sample(random, _minWeight, _maxWeight);
+			totalNodeWeight += nodeWeights[i];
+		}
+
+		//Draw the arc weights from the same distribution, then scale them to hit the requested CCR
+		int[] rawArcWeights = new int[arcs.size()];
+		long totalRawArcWeight = 0;
+		for (int i = 0; i < arcs.size(); i++) {
+			rawArcWeights[i] = _distribution.sample(random, _minWeight, _maxWeight);
+			totalRawArcWeight += rawArcWeights[i];
+		}
+		double scale = (totalRawArcWeight == 0) ? 0 : _ccr * totalNodeWeight / totalRawArcWeight;
+		int minArcWeight = (_ccr > 0) ? 1 : 0;
+
+		//Group the incoming arcs of each node so every arc can be written straight after its destination.
+		List<List<Integer>> incomingArcs = new ArrayList<>();
+		for (int i = 0; i < _nodeCount; i++) {
+			incomingArcs.add(new ArrayList<>());
+		}
+		for (int i = 0; i < arcs.size(); i++) {
+			incomingArcs.get(arcs.get(i)[1]).add(i);
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append("digraph \"").append(getGraphName()).append("\" {").append(NEWLINE);
+		for (int node : order) {
+			sb.append("\t").append(node).append("\t [Weight=").append(nodeWeights[node]).append("];").append(NEWLINE);
+			for (int arcIndex : incomingArcs.get(node)) {
+				int[] arc = arcs.get(arcIndex);
+				int weight = Math.max(minArcWeight, (int) Math.round(rawArcWeights[arcIndex] * scale));
+				sb.append("\t").append(arc[0]).append(" -> ").append(arc[1])
+						.append("\t [Weight=").append(weight).append("];").append(NEWLINE);
+			}
+		}
+		sb.append("}").append(NEWLINE);
+
+		return sb.toString();
+	}
+
+	/**
+	 * Generates the graph and writes it to the given path.
+	 *
+	 * @param outputPath - path of the .dot file to write
+	 */
+	public void writeToFile(String outputPath) {
+		try {
+			PrintWriter writer = new PrintWriter(outputPath, "UTF-8");
+			writer.print(generate());
+			writer.close();
+		} catch (FileNotFoundException | UnsupportedEncodingException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Builds the arcs of the graph as {source, destination} pairs of node indices.
+	 */
+	private List<int[]> generateArcs(Random random) {
+		List<int[]> arcs = new ArrayList<>();
+		int n = _nodeCount;
+
+		switch (_type) {
+			case OUT_TREE:
+				for (int i = 1; i < n; i++) {
+					arcs.add(new int[]{(i - 1) / _branchingFactor, i});
+				}
+				break;
+			case IN_TREE:
+				//Mirror image of the out tree: every arc reversed and every label flipped.
+				for (int i = 1; i < n; i++) {
+					arcs.add(new int[]{n - 1 - i, n - 1 - (i - 1) / _branchingFactor});
+				}
+				break;
+			case FORK:
+				for (int i = 1; i < n; i++) {
+					arcs.add(new int[]{0, i});
+				}
+				break;
+			case JOIN:
+				for (int i = 0; i < n - 1; i++) {
+					arcs.add(new int[]{i, n - 1});
+				}
+				break;
+			case FORK_JOIN:
+				if (n == 2) {
+					arcs.add(new int[]{0, 1});
+				}
+				for (int i = 1; i < n - 1; i++) {
+					arcs.add(new int[]{0, i});
+					arcs.add(new int[]{i, n - 1});
+				}
+				break;
+			case SERIES_PARALLEL:
+				generateSeriesParallelArcs(random, arcs);
+				break;
+			case PIPELINE:
+				//Items (rows) flow through stages (columns); each stage handles one item at a time.
+				int stages = (int) Math.max(1, Math.round(Math.sqrt(n)));
+				for (int i = 0; i < n; i++) {
+					int item = i / stages;
+					int stage = i % stages;
+					if (stage > 0) {
+						arcs.add(new int[]{i - 1, i});
+					}
+					if (item > 0) {
+						arcs.add(new int[]{i - stages, i});
+					}
+				}
+				break;
+			case STENCIL:
+				//1D three-point stencil: each cell depends on its neighbourhood in the previous time step.
+				int width = (int) Math.max(1, Math.round(Math.sqrt(n)));
+				for (int i = width; i < n; i++) {
+					int cell = i % width;
+					for (int offset = -1; offset <= 1; offset++) {
+						int neighbour = cell + offset;
+						if (neighbour >= 0 && neighbour < width) {
+							arcs.add(new int[]{i - width + offset, i});
+						}
+					}
+				}
+				break;
+			case RANDOM:
+				double probability = (n > 1) ? Math.min(1.0, 2 * _density / (n - 1)) : 0;
+				for (int j = 1; j < n; j++) {
+					for (int i = 0; i < j; i++) {
+						if (random.nextDouble() < probability) {
+							arcs.add(new int[]{i, j});
+						}
+					}
+				}
+				break;
+			default:
+				throw new IllegalArgumentException();
+		}
+
+		return arcs;
+	}
+
+	/**
+	 * Builds a two-terminal series-parallel graph by repeatedly picking an arc (u, v) and either
+	 * splitting it in series (u -> x -> v) or adding a parallel path next to it (u -> x -> v as well as u -> v).
+	 */
+	private void generateSeriesParallelArcs(Random random, List<int[]> arcs) {
+		if (_nodeCount == 1) {
+			return;
+		}
+		arcs.add(new int[]{0, 1});
+		for (int x = 2; x < _nodeCount; x++) {
+			int index = random.nextInt(arcs.size());
+			int[] arc = arcs.get(index);
+			if (random.nextBoolean()) {
+				arcs.set(index, new int[]{arc[0], x});
+			} else {
+				arcs.add(new int[]{arc[0], x});
+			}
+			arcs.add(new int[]{x, arc[1]});
+		}
+	}
+
+	/**
+	 * Orders the nodes so that every arc points forwards, taking the lowest index first whenever
+	 * there is a choice. This keeps the output deterministic and guarantees every node is
+	 * declared before any arc that references it.
+	 */
+	private int[] topologicalOrder(List<int[]> arcs) {
+		int[] inDegree = new int[_nodeCount];
+		List<List<Integer>> successors = new ArrayList<>();
+		for (int i = 0; i < _nodeCount; i++) {
+			successors.add(new ArrayList<>());
+		}
+		for (int[] arc : arcs) {
+			successors.get(arc[0]).add(arc[1]);
+			inDegree[arc[1]]++;
+		}
+
+		PriorityQueue<Integer> ready = new PriorityQueue<>();
+		for (int i = 0; i < _nodeCount; i++) {
+			if (inDegree[i] == 0) {
+				ready.add(i);
+			}
+		}
+
+		int[] order = new int[_nodeCount];
+		int count = 0;
+		while (!ready.isEmpty()) {
+			int node = ready.poll();
+			order[count++] = node;
+			for (int successor : successors.get(node)) {
+				if (--inDegree[successor] == 0) {
+					ready.add(successor);
+				}
+			}
+		}
+		return order;
+	}
+
+	/**
+	 * Writes every graph family for every size in {@link #CORPUS_SIZES} and CCR in {@link #CORPUS_CCRS}
+	 * into the given directory.
+	 *
+	 * @param directory - directory to write the corpus to, created if necessary
+	 * @param seed - base seed, each graph uses a seed derived from it
+	 */
+	public static void generateCorpus(String directory, long seed) {
+		File dir = new File(directory);
+		dir.mkdirs();
+
+		long graphSeed = seed;
+		for (GraphType type : GraphType.values()) {
+			for (int size : CORPUS_SIZES) {
+				for (double ccr : CORPUS_CCRS) {
+					GraphGenerator generator = new GraphGenerator(type, size, ccr, WeightDistribution.UNIFORM, graphSeed++);
+					generator.writeToFile(new File(dir, generator.getDefaultFileName()).getPath());
+				}
+			}
+		}
+	}
+
+	public static void main(String args[]) {
+		long seed = 0;
+		String weightType = WeightDistribution.UNIFORM.toString();
+		String outputFileName = null;
+
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-s")) {
+				seed = Long.parseLong(args[i + 1]);
+			} else if (args[i].equals("-w")) {
+				weightType = args[i + 1];
+			} else if (args[i].equals("-o")) {
+				outputFileName = args[i + 1];
+			}
+		}
+
+		if (args.length >= 2 && args[0].equals("-corpus")) {
+			generateCorpus(args[1], seed);
+			return;
+		}
+
+		if (args.length < 3) {
+			throw new IllegalArgumentException("Usage: GraphGenerator TYPE NODES CCR [-w WEIGHT_TYPE] [-s SEED] [-o OUTPUT]");
+		}
+
+		WeightDistribution distribution = null;
+		for (WeightDistribution d : WeightDistribution.values()) {
+			if (d.toString().equalsIgnoreCase(weightType) || d.name().equalsIgnoreCase(weightType)) {
+				distribution = d;
+			}
+		}
+		if (distribution == null) {
+			throw new IllegalArgumentException("Unknown weight type: " + weightType);
+		}
+
+		GraphGenerator generator = new GraphGenerator(GraphType.fromLabel(args[0]), Integer.parseInt(args[1]),
+				Double.parseDouble(args[2]), distribution, seed);
+		generator.writeToFile((outputFileName != null) ? outputFileName : generator.getDefaultFileName());
+	}
+}
@@ -0,0 +1,43 @@
+package implementations.io;
+
+/**
+ * The task graph families the {@link GraphGenerator} can produce.
+ * These mirror the shapes found in the {@code testFiles} corpus.
+ */
+public enum GraphType {
+	OUT_TREE("OutTree"),
+	IN_TREE("InTree"),
+	FORK("Fork"),
+	JOIN("Join"),
+	FORK_JOIN("ForkJoin"),
+	SERIES_PARALLEL("SeriesParallel"),
+	PIPELINE("Pipeline"),
+	STENCIL("Stencil"),
+	RANDOM("Random");
+
+	private final String _label;
+
+	GraphType(String label) {
+		_label = label;
+	}
+
+	/**
+	 * Finds the type with the given label (as used in the generated file names), ignoring case.
+	 *
+	 * @param label - e.g. "OutTree" or "SeriesParallel"
+	 * @return the matching GraphType
+	 */
+	public static GraphType fromLabel(String label) {
+		for (GraphType type : values()) {
+			if (type._label.equalsIgnoreCase(label) || type.name().equalsIgnoreCase(label)) {
+				return type;
+			}
+		}
+		throw new IllegalArgumentException("Unknown graph type: " + label);
+	}
+
+	@Override
+	public String toString() {
+		return _label;
+	}
+}
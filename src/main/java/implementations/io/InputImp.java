@@ -1,7 +1,6 @@
 package implementations.io;
 
 import interfaces.io.Input;
-import visualisation.ComboView;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -60,10 +59,6 @@ public class InputImp implements Input {
 		try {
 			Scanner inputScanner = new Scanner (file);
 			
-			// Provide filePath to GUI, 
-			// doing this to avoid passing in the filename as an argument to the Algorithm class.
-			ComboView.setFileName(file.getName());
-			
 			inputScanner.nextLine(); //ignore line1.
 			
 			//Loop to read all lines. Only exit if reaches a single line with closing bracket }.
@@ -0,0 +1,62 @@
+package implementations.io;
+
+import implementations.structures.NodeScheduleImp;
+import interfaces.structures.NodeSchedule;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.HashMap;
+import java.util.Scanner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class reads back a schedule written by {@link OutputImp}: a .dot file whose nodes have Start= and
+ * Processor= attributes besides their Weight=.
+ *
+ * Arcs and nodes without both attributes are skipped, so a schedule of an older version of a graph can be read
+ * and then repaired to fit the new one, see {@link SolveContext#createWarmStart(String)}.
+ */
+public class ScheduleReader {
+	private static final Pattern START = Pattern.compile("Start\\s*=\\s*(\\d+)");
+	private static final Pattern PROCESSOR = Pattern.compile("Processor\\s*=\\s*(\\d+)");
+
+	private final HashMap<String, NodeSchedule> _schedule = new HashMap<String, NodeSchedule>();
+
+	/**
+	 * @param filePath - the .dot file holding the schedule
+	 */
+	public ScheduleReader(String filePath) {
+		try {
+			Scanner scanner = new Scanner(new File(filePath));
+			scanner.nextLine(); // the digraph line
+
+			while (scanner.hasNextLine()) {
+				String line = scanner.nextLine();
+				if (line.trim().equals("}")) {
+					break;
+				}
+				String[] lineArray = line.split("\\[");
+				if (lineArray.length < 2 || lineArray[0].contains("->")) {
+					continue;
+				}
+				Matcher start = START.matcher(lineArray[1]);
+				Matcher processor = PROCESSOR.matcher(lineArray[1]);
+				if (start.find() && processor.find()) {
+					_schedule.put(lineArray[0].trim(), new NodeScheduleImp(Integer.parseInt(start.group(1)),
+							Integer.parseInt(processor.group(1))));
+				}
+			}
+			scanner.close();
+		} catch (FileNotFoundException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * @return node name to start time and processor, for every node of the file with both
+	 */
+	public HashMap<String, NodeSchedule> getSchedule() {
+		return _schedule;
+	}
+}
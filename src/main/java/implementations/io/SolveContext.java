@@ -0,0 +1,108 @@
+package implementations.io;
+
+import implementations.algorithm.ListScheduler;
+import implementations.structures.DAGImp;
+import implementations.structures.IndexedDAG;
+import implementations.structures.ScheduleImp;
+import interfaces.io.Input;
+import interfaces.io.Output;
+import interfaces.structures.DAG;
+import interfaces.structures.NodeSchedule;
+import interfaces.structures.Schedule;
+
+import java.util.HashMap;
+
+/**
+ * This class holds everything one solve needs, from the input file to the output file: the graph read from the
+ * input, the number of processors and threads, and where the schedule is written.
+ *
+ * The graph is a graph of its own rather than the shared {@link DAGImp#getInstance()}, so solves with separate
+ * contexts can run at the same time in one JVM, e.g. on the threads of a {@link implementations.algorithm.Solver}.
+ */
+public class SolveContext {
+	private final DAG _dag;
+	private final int _numberOfCores;
+	private final int _noOfParallerCores;
+	private final String _inputPath;
+	private final String _outputPath;
+
+	/**
+	 * @param inputPath - the .dot file the input was read from, which the output follows line by line
+	 * @param input - the parsed input file and number of processors
+	 * @param noOfParallerCores - number of threads the search may use
+	 * @param outputPath - the .dot file to write the schedule to, or null for the default name
+	 */
+	public SolveContext(String inputPath, Input input, int noOfParallerCores, String outputPath) {
+		if (noOfParallerCores < 1) {
+			throw new IllegalArgumentException("number of parallel cores must be at least 1");
+		}
+		_dag = new Conversion(input, DAGImp.createDetached()).getDAG();
+		_numberOfCores = input.getProcessorCount();
+		_noOfParallerCores = noOfParallerCores;
+		_inputPath = inputPath;
+		_outputPath = outputPath;
+	}
+
+	/**
+	 * Reads the graph from a .dot file, writing the schedule to the default output file.
+	 *
+	 * @param inputPath - the .dot file to read
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param noOfParallerCores - number of threads the search may use
+	 */
+	public SolveContext(String inputPath, int numberOfCores, int noOfParallerCores) {
+		this(inputPath, new InputImp(inputPath, String.valueOf(numberOfCores)), noOfParallerCores, null);
+	}
+
+	/**
+	 * @return an empty schedule of this solve's graph
+	 */
+	public Schedule createEmptySchedule() {
+		return new ScheduleImp(_dag, _numberOfCores);
+	}
+
+	/**
+	 * Reads a schedule written for an older version of this solve's graph, and repairs it to fit the graph as it
+	 * is now (see {@link ListScheduler#repair}), so a search can start from it rather than from scratch.
+	 *
+	 * @param schedulePath - a .dot file written by {@link OutputImp}
+	 * @return a complete schedule of this solve's graph
+	 */
+	public Schedule createWarmStart(String schedulePath) {
+		HashMap<String, NodeSchedule> previous = new ScheduleReader(schedulePath).getSchedule();
+		HashMap<String, NodeSchedule> repaired = ListScheduler.repair(new IndexedDAG(_dag), _numberOfCores, previous)
+				.toNodeSchedules();
+		return ScheduleImp.fromNodeSchedules(_dag, _numberOfCores, repaired);
+	}
+
+	/**
+	 * @param bestSchedule - node name to start time and core, the result of the solve
+	 * @return the output writing the schedule to this solve's output file
+	 */
+	public Output createOutput(HashMap<String, NodeSchedule> bestSchedule) {
+		return new OutputImp(bestSchedule, _inputPath, _outputPath);
+	}
+
+	public DAG getDAG() {
+		return _dag;
+	}
+
+	public int getNumberOfCores() {
+		return _numberOfCores;
+	}
+
+	public int getNoOfParallerCores() {
+		return _noOfParallerCores;
+	}
+
+	public String getInputPath() {
+		return _inputPath;
+	}
+
+	/**
+	 * @return the .dot file the schedule is written to, or null for the default name
+	 */
+	public String getOutputPath() {
+		return _outputPath;
+	}
+}
@@ -0,0 +1,76 @@
+package implementations.io;
+
+import java.util.Random;
+
+/**
+ * The distributions the {@link GraphGenerator} can draw task and arc weights from.
+ *
+ * All distributions are bounded by the [min, max] range handed to {@link #sample(Random, int, int)},
+ * so the generated graphs stay comparable in scale whatever distribution is picked.
+ */
+public enum WeightDistribution {
+	/**
+	 * Every value in [min, max] is equally likely.
+	 */
+	UNIFORM,
+
+	/**
+	 * Normally distributed around the middle of [min, max], clamped to the range.
+	 */
+	NORMAL,
+
+	/**
+	 * Half of the values are drawn from the bottom quarter of the range, the other half
+	 * from the top quarter. This models graphs mixing many tiny tasks with a few heavy ones.
+	 */
+	BIMODAL,
+
+	/**
+	 * Every weight is the same (the middle of the range).
+	 */
+	CONSTANT;
+
+	/**
+	 * Draws a single weight from this distribution.
+	 *
+	 * @param random - source of randomness, owned by the caller so results are reproducible
+	 * @param min - smallest weight that may be returned
+	 * @param max - largest weight that may be returned
+	 * @return a weight in [min, max]
+	 */
+	public int sample(Random random, int min, int max) {
+		int range = max - min;
+		switch (this) {
+			case UNIFORM:
+				return min + random.nextInt(range + 1);
+			case NORMAL:
+				double value = (min + max) / 2.0 + random.nextGaussian() * range / 6.0;
+				return clamp((int) Math.round(value), min, max);
+			case BIMODAL:
+				int quarter = Math.max(range / 4, 0);
+				if (random.nextBoolean()) {
+					return min + random.nextInt(quarter + 1);
+				}
+				return max - random.nextInt(quarter + 1);
+			case CONSTANT:
+				return (min + max) / 2;
+			default:
+				throw new IllegalArgumentException();
+		}
+	}
+
+	private static int clamp(int value, int min, int max) {
+		return Math.max(min, Math.min(max, value));
+	}
+
+	@Override
+	public String toString() {
+		switch (this) {
+			case UNIFORM: return "Random";
+			case NORMAL: return "Normal";
+			case BIMODAL: return "Bimodal";
+			case CONSTANT: return "Constant";
+			default: throw new IllegalArgumentException();
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package implementations.preprocessing;
+
+import implementations.structures.ArcImpl;
+import implementations.structures.DAGImp;
+import implementations.structures.NodeImp;
+import implementations.structures.NodeScheduleImp;
+import interfaces.structures.Arc;
+import interfaces.structures.DAG;
+import interfaces.structures.Node;
+import interfaces.structures.NodeSchedule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class contracts the linear chains of a graph into single tasks.
+ *
+ * A chain is a maximal path a -> b -> ... -> z where every node but z has exactly one successor and every
+ * node but a has exactly one predecessor. Such a chain becomes one task, named after its first node, whose
+ * weight is the total weight of the chain. Only the first node of a chain can have arcs coming in from other
+ * chains and only the last can have arcs going out, so the arcs between chains carry over unchanged.
+ *
+ * Any schedule of the reduced graph expands into a valid schedule of the original graph with the same total
+ * time, by running each chain's nodes back to back on the chain's core. The reverse does not hold in general,
+ * so the best reduced schedule is only an upper bound: see {@link ReducingAlgorithm}.
+ */
+public class ChainReduction {
+	private final DAG _original;
+	private final DAG _reduced;
+	// name of each task in the reduced graph to the original nodes it contains, in order.
+	private final Map<String, List<Node>> _chains = new HashMap<String, List<Node>>();
+
+	/**
+	 * @param dag - the graph to reduce, which is left unchanged
+	 */
+	public ChainReduction(DAG dag) {
+		_original = dag;
+		_reduced = DAGImp.createDetached();
+
+		for (Node node : dag.getAllNodes()) {
+			if (isChainStart(node)) {
+				List<Node> chain = new ArrayList<Node>();
+				Node current = node;
+				chain.add(current);
+				while (continuesChain(current)) {
+					current = current.getSuccessors().get(0);
+					chain.add(current);
+				}
+				_chains.put(node.getName(), chain);
+			}
+		}
+
+		buildReducedGraph();
+	}
+
+	/**
+	 * A node continues its chain into its successor if it is the successor's only predecessor and
+	 * the successor is its only successor.
+	 */
+	private static boolean continuesChain(Node node) {
+		List<Node> successors = node.getSuccessors();
+		return successors.size() == 1 && successors.get(0).getPredecessors().size() == 1;
+	}
+
+	private static boolean isChainStart(Node node) {
+		List<Node> predecessors = node.getPredecessors();
+		return predecessors.size() != 1 || !continuesChain(predecessors.get(0));
+	}
+
+	private void buildReducedGraph() {
+		Map<String, Node> tasks = new HashMap<String, Node>();
+		for (Map.Entry<String, List<Node>> entry : _chains.entrySet()) {
+			int weight = 0;
+			for (Node node : entry.getValue()) {
+				weight += node.getWeight();
+			}
+			tasks.put(entry.getKey(), new NodeImp(entry.getKey(), weight));
+		}
+
+		List<Node> startNodes = new ArrayList<Node>();
+		for (Map.Entry<String, List<Node>> entry : _chains.entrySet()) {
+			List<Node> chain = entry.getValue();
+			Node first = chain.get(0);
+			Node last = chain.get(chain.size() - 1);
+			Node source = tasks.get(entry.getKey());
+
+			for (Node successor : last.getSuccessors()) {
+				// the successor starts a chain of its own, otherwise it would be part of this one
+				Node destination = tasks.get(successor.getName());
+				Arc arc = new ArcImpl(last.getOutArc(successor).getWeight(), source, destination);
+				source.addOutArc(arc);
+				destination.addInArc(arc);
+			}
+			if (first.getPredecessors().isEmpty()) {
+				startNodes.add(source);
+			}
+			_reduced.add(source);
+		}
+		_reduced.addStartNodes(startNodes);
+	}
+
+	/**
+	 * @return the graph with every chain contracted into a single task
+	 */
+	public DAG getReducedDAG() {
+		return _reduced;
+	}
+
+	/**
+	 * @return true if at least one chain was contracted, i.e. the reduced graph is smaller
+	 */
+	public boolean isReduced() {
+		return _chains.size() < _original.getAllNodes().size();
+	}
+
+	/**
+	 * Expands a schedule of the reduced graph into a schedule of the original graph with the same total time.
+	 *
+	 * @param reducedSchedule - task name to start time and core in the reduced graph
+	 * @return node name to start time and core in the original graph
+	 */
+	public HashMap<String, NodeSchedule> expand(Map<String, NodeSchedule> reducedSchedule) {
+		HashMap<String, NodeSchedule> schedule = new HashMap<String, NodeSchedule>();
+		for (Map.Entry<String, NodeSchedule> entry : reducedSchedule.entrySet()) {
+			int startTime = entry.getValue().getBestStartTime();
+			int core = entry.getValue().getBestProcessor();
+			for (Node node : _chains.get(entry.getKey())) {
+				schedule.put(node.getName(), new NodeScheduleImp(startTime, core));
+				startTime += node.getWeight();
+			}
+		}
+		return schedule;
+	}
+}
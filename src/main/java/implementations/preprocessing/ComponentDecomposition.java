@@ -0,0 +1,108 @@
+package implementations.preprocessing;
+
+import implementations.structures.DAGImp;
+import interfaces.structures.DAG;
+import interfaces.structures.Node;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class splits a graph into its weakly connected components, i.e. the groups of nodes which are
+ * connected when the direction of the arcs is ignored.
+ *
+ * No arc joins two components, so each component is a graph of its own. The component graphs share
+ * their nodes with the original graph, which is left unchanged.
+ */
+public class ComponentDecomposition {
+	private final List<DAG> _components = new ArrayList<DAG>();
+
+	/**
+	 * @param dag - the graph to split
+	 */
+	public ComponentDecomposition(DAG dag) {
+		Set<Node> visited = new HashSet<Node>();
+		List<List<Node>> components = new ArrayList<List<Node>>();
+
+		for (Node node : dag.getAllNodes()) {
+			if (visited.add(node)) {
+				List<Node> component = new ArrayList<Node>();
+				LinkedList<Node> toVisit = new LinkedList<Node>();
+				toVisit.add(node);
+				while (!toVisit.isEmpty()) {
+					Node current = toVisit.poll();
+					component.add(current);
+					for (Node neighbour : current.getPredecessors()) {
+						if (visited.add(neighbour)) {
+							toVisit.add(neighbour);
+						}
+					}
+					for (Node neighbour : current.getSuccessors()) {
+						if (visited.add(neighbour)) {
+							toVisit.add(neighbour);
+						}
+					}
+				}
+				components.add(component);
+			}
+		}
+
+		// heaviest first, so the order does not depend on the order of the graph's hash map
+		components.sort(Comparator.comparingInt(ComponentDecomposition::work).reversed()
+				.thenComparing(c -> Collections.min(names(c))));
+		for (List<Node> component : components) {
+			_components.add(toDAG(component));
+		}
+	}
+
+	private static int work(List<Node> nodes) {
+		int work = 0;
+		for (Node node : nodes) {
+			work += node.getWeight();
+		}
+		return work;
+	}
+
+	private static List<String> names(List<Node> nodes) {
+		List<String> names = new ArrayList<String>();
+		for (Node node : nodes) {
+			names.add(node.getName());
+		}
+		return names;
+	}
+
+	/**
+	 * @return a new graph holding the given nodes, which must have no arcs to nodes outside them
+	 */
+	static DAG toDAG(List<Node> nodes) {
+		DAG dag = DAGImp.createDetached();
+		List<Node> startNodes = new ArrayList<Node>();
+		for (Node node : nodes) {
+			dag.add(node);
+			if (node.getPredecessors().isEmpty()) {
+				startNodes.add(node);
+			}
+		}
+		dag.addStartNodes(startNodes);
+		return dag;
+	}
+
+	/**
+	 * @return the components, heaviest first
+	 */
+	public List<DAG> getComponents() {
+		return _components;
+	}
+
+	/**
+	 * @return true if the graph has more than one component
+	 */
+	public boolean isDecomposed() {
+		return _components.size() > 1;
+	}
+}
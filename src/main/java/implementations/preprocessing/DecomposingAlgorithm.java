@@ -0,0 +1,248 @@
+package implementations.preprocessing;
+
+import implementations.algorithm.SearchMetrics;
+import implementations.structures.NodeScheduleImp;
+import implementations.structures.ScheduleImp;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.DAG;
+import interfaces.structures.Node;
+import interfaces.structures.NodeSchedule;
+import interfaces.structures.Schedule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * This class solves a graph made of several unconnected parts by solving each part on its own.
+ *
+ * Searching the parts together interleaves them, so the number of states is the product of the parts'.
+ * Instead, each part (see {@link ComponentDecomposition}) is solved on 1, 2, ... cores, the parts in
+ * parallel, and then the cores are shared out between the parts so the last part finishes as early as
+ * possible. This allocation step is exact, so the search space becomes the sum of the parts'.
+ *
+ * If there are more parts than cores, the parts are first packed into one group per core.
+ *
+ * Giving each part cores of its own is not always optimal, as parts could take turns on a core. So the
+ * result is only trusted when it meets a lower bound: the {@link LowerBounds} of the whole graph, or the
+ * best time of a part given all the cores. Otherwise it becomes the initial best schedule of an exact
+ * search of the whole graph. Either way the result is optimal.
+ *
+ * That fallback gives up what decomposing saves: the search of the whole graph interleaves the parts again, and
+ * is only cut short by starting from the combined schedule. It is kept, rather than searching just the ways of
+ * sharing the cores, because parts taking turns on a core can beat every sharing, and only a search of the whole
+ * graph finds those schedules. It happens when a part finishing last would be faster on more cores than it got.
+ */
+public class DecomposingAlgorithm implements Algorithm {
+	private HashMap<String, NodeSchedule> _bestSchedule;
+	private int _bestTime;
+	private boolean _solvedByDecomposition = false;
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param noOfParallerCores - number of threads to search with, which also solve the parts in parallel
+	 * @param metrics - collects the statistics of all the searches
+	 */
+	public DecomposingAlgorithm(DAG dag, int numberOfCores, int noOfParallerCores, SearchMetrics metrics) {
+		this(dag, numberOfCores, noOfParallerCores, metrics, null);
+	}
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param noOfParallerCores - number of threads to search with, which also solve the parts in parallel
+	 * @param metrics - collects the statistics of all the searches
+	 * @param initialSchedule - a complete schedule of the graph to start a search of the whole graph from, or null
+	 */
+	public DecomposingAlgorithm(DAG dag, int numberOfCores, int noOfParallerCores, SearchMetrics metrics,
+			Schedule initialSchedule) {
+		List<DAG> groups = group(new ComponentDecomposition(dag).getComponents(), numberOfCores);
+		if (groups.size() <= 1 || numberOfCores == 1) {
+			useResult(new ReducingAlgorithm(dag, numberOfCores, noOfParallerCores, metrics, initialSchedule));
+			return;
+		}
+
+		// every group gets at least one core
+		int maxCores = numberOfCores - groups.size() + 1;
+		List<Algorithm[]> results = ParallelSolves.runAll(solveOnEachCoreCount(groups, maxCores, metrics),
+				noOfParallerCores, "a part of the graph");
+
+		int[] allocation = allocateCores(results, numberOfCores);
+		HashMap<String, NodeSchedule> combined = new HashMap<String, NodeSchedule>();
+		int totalTime = 0;
+		int offset = 0;
+		for (int g = 0; g < groups.size(); g++) {
+			Algorithm part = results.get(g)[allocation[g]];
+			for (Map.Entry<String, NodeSchedule> entry : part.getCurrentBestSchedule().entrySet()) {
+				NodeSchedule nodeSchedule = entry.getValue();
+				combined.put(entry.getKey(),
+						new NodeScheduleImp(nodeSchedule.getBestStartTime(), nodeSchedule.getBestProcessor() + offset));
+			}
+			totalTime = Math.max(totalTime, part.getBestTotalTime());
+			offset += allocation[g];
+		}
+
+		if (isProvenOptimal(dag, groups, results, allocation, totalTime, numberOfCores, noOfParallerCores, metrics)) {
+			_bestSchedule = combined;
+			_bestTime = totalTime;
+			_solvedByDecomposition = true;
+			metrics.recordIncumbent(_bestTime);
+			metrics.recordFinished();
+		} else {
+			useResult(ReducingAlgorithm.search(dag, numberOfCores, noOfParallerCores, metrics,
+					ReducingAlgorithm.better(ScheduleImp.fromNodeSchedules(dag, numberOfCores, combined), initialSchedule)));
+		}
+	}
+
+	/**
+	 * Packs the components into at most one group per core, heaviest component first onto the lightest group.
+	 */
+	private static List<DAG> group(List<DAG> components, int numberOfCores) {
+		if (components.size() <= numberOfCores) {
+			return components;
+		}
+		List<List<Node>> groups = new ArrayList<List<Node>>();
+		int[] work = new int[numberOfCores];
+		for (int i = 0; i < numberOfCores; i++) {
+			groups.add(new ArrayList<Node>());
+		}
+		// the components are sorted heaviest first
+		for (DAG component : components) {
+			int lightest = 0;
+			for (int i = 1; i < numberOfCores; i++) {
+				if (work[i] < work[lightest]) {
+					lightest = i;
+				}
+			}
+			for (Node node : component.getAllNodes()) {
+				groups.get(lightest).add(node);
+				work[lightest] += node.getWeight();
+			}
+		}
+		List<DAG> grouped = new ArrayList<DAG>();
+		for (List<Node> group : groups) {
+			grouped.add(ComponentDecomposition.toDAG(group));
+		}
+		return grouped;
+	}
+
+	/**
+	 * @return for each group, a task giving its best schedule on k cores at index k, for k from 1 to maxCores
+	 */
+	private static List<Callable<Algorithm[]>> solveOnEachCoreCount(List<DAG> groups, int maxCores, SearchMetrics metrics) {
+		List<Callable<Algorithm[]>> tasks = new ArrayList<Callable<Algorithm[]>>();
+		for (DAG group : groups) {
+			tasks.add(() -> {
+				Algorithm[] byCores = new Algorithm[maxCores + 1];
+				int criticalPath = LowerBounds.criticalPath(group);
+				int nodes = group.getAllNodes().size();
+				for (int k = 1; k <= maxCores; k++) {
+					// more cores cannot help once the critical path is met or every node has a core
+					if (k > 1 && (byCores[k - 1].getBestTotalTime() == criticalPath || k > nodes)) {
+						byCores[k] = byCores[k - 1];
+					} else {
+						byCores[k] = solve(group, k, 1, metrics);
+					}
+				}
+				return byCores;
+			});
+		}
+		return tasks;
+	}
+
+	private static Algorithm solve(DAG group, int numberOfCores, int noOfParallerCores, SearchMetrics metrics) {
+		SearchMetrics partMetrics = new SearchMetrics();
+		Algorithm alg = new ReducingAlgorithm(group, numberOfCores, noOfParallerCores, partMetrics);
+		metrics.addCounts(partMetrics);
+		return alg;
+	}
+
+	/**
+	 * Shares the cores between the groups so the latest group finishes as early as possible.
+	 * (Dynamic programming over the groups and the number of cores used so far.)
+	 *
+	 * @return the number of cores given to each group
+	 */
+	private static int[] allocateCores(List<Algorithm[]> results, int numberOfCores) {
+		int groups = results.size();
+		int maxCores = results.get(0).length - 1;
+		// latest finish of the first g groups on q cores, and the cores given to group g - 1 to get it
+		int[][] finish = new int[groups + 1][numberOfCores + 1];
+		int[][] choice = new int[groups + 1][numberOfCores + 1];
+		for (int g = 1; g <= groups; g++) {
+			for (int q = 0; q <= numberOfCores; q++) {
+				finish[g][q] = Integer.MAX_VALUE;
+				for (int k = 1; k <= Math.min(q, maxCores); k++) {
+					if (finish[g - 1][q - k] == Integer.MAX_VALUE) {
+						continue;
+					}
+					int latest = Math.max(finish[g - 1][q - k], results.get(g - 1)[k].getBestTotalTime());
+					if (latest < finish[g][q]) {
+						finish[g][q] = latest;
+						choice[g][q] = k;
+					}
+				}
+			}
+		}
+
+		int[] allocation = new int[groups];
+		int q = numberOfCores;
+		for (int g = groups; g > 0; g--) {
+			allocation[g - 1] = choice[g][q];
+			q -= choice[g][q];
+		}
+		return allocation;
+	}
+
+	/**
+	 * A group given all the cores cannot finish earlier than its best time on them, so if a group that finishes
+	 * last is already as fast as it would be on every core, nothing can do better.
+	 */
+	private static boolean isProvenOptimal(DAG dag, List<DAG> groups, List<Algorithm[]> results, int[] allocation,
+			int totalTime, int numberOfCores, int noOfParallerCores, SearchMetrics metrics) {
+		if (totalTime <= LowerBounds.lowerBound(dag, numberOfCores)) {
+			return true;
+		}
+		for (int g = 0; g < groups.size(); g++) {
+			Algorithm[] byCores = results.get(g);
+			if (byCores[allocation[g]].getBestTotalTime() < totalTime) {
+				continue;
+			}
+			DAG group = groups.get(g);
+			int maxCores = byCores.length - 1;
+			boolean cannotImprove = byCores[maxCores].getBestTotalTime() == LowerBounds.criticalPath(group)
+					|| maxCores >= group.getAllNodes().size();
+			int allCoresTime = cannotImprove ? byCores[maxCores].getBestTotalTime()
+					: solve(group, numberOfCores, noOfParallerCores, metrics).getBestTotalTime();
+			if (allCoresTime >= totalTime) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void useResult(Algorithm alg) {
+		_bestSchedule = alg.getCurrentBestSchedule();
+		_bestTime = alg.getBestTotalTime();
+	}
+
+	/**
+	 * @return true if the combined schedule of the parts was proven optimal, so the whole graph was not searched
+	 */
+	public boolean isSolvedByDecomposition() {
+		return _solvedByDecomposition;
+	}
+
+	@Override
+	public HashMap<String, NodeSchedule> getCurrentBestSchedule() {
+		return _bestSchedule;
+	}
+
+	@Override
+	public int getBestTotalTime() {
+		return _bestTime;
+	}
+}
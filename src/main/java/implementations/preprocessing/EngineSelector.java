@@ -0,0 +1,142 @@
+package implementations.preprocessing;
+
+import implementations.algorithm.AraStarAlgorithm;
+import implementations.algorithm.BeamSearchAlgorithm;
+import implementations.algorithm.BitmaskAlgorithm;
+import implementations.algorithm.SearchMetrics;
+import implementations.algorithm.SearchTreeEstimator;
+import implementations.structures.IndexedDAG;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.DAG;
+import interfaces.structures.Schedule;
+
+import java.util.function.Consumer;
+
+/**
+ * This class picks the engine to schedule a graph with, from how long a {@link SearchTreeEstimator} predicts an
+ * exact search would take:
+ * <ul>
+ * <li>within the time budget, an exact search by {@link SpecialGraphAlgorithm}, which solves special shapes
+ * directly and small graphs with the bitmask search (see {@link ReducingAlgorithm});</li>
+ * <li>within {@link #ANYTIME_FACTOR} times the budget, an anytime {@link AraStarAlgorithm} limited to the budget,
+ * which may still prove its schedule optimal and otherwise reports how far from optimal it can be;</li>
+ * <li>beyond that, a {@link BeamSearchAlgorithm}, whose run time is predictable.</li>
+ * </ul>
+ * A graph of a special shape, or with at most {@link BitmaskAlgorithm#MAX_NODES} nodes, is always searched exactly
+ * without estimating anything, as the estimate would take longer than the search.
+ */
+public class EngineSelector {
+	public static final long DEFAULT_BUDGET_MS = 60000;
+	// the estimate cannot see the duplicate and dominance pruning of the searches, which on some graphs cuts the
+	// tree by orders of magnitude, so only a search predicted to take far longer than the budget is given up on
+	public static final int ANYTIME_FACTOR = 10000;
+
+	public enum Engine {
+		EXACT("exact search"),
+		ANYTIME("anytime ARA* search"),
+		HEURISTIC("beam search");
+
+		private final String _label;
+
+		Engine(String label) {
+			_label = label;
+		}
+
+		@Override
+		public String toString() {
+			return _label;
+		}
+	}
+
+	private final DAG _dag;
+	private final int _numberOfCores;
+	private final long _budgetMs;
+	private final SearchTreeEstimator _estimator;
+	private final Engine _engine;
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param budgetMs - how long the schedule may take to find
+	 */
+	public EngineSelector(DAG dag, int numberOfCores, long budgetMs) {
+		if (budgetMs < 1) {
+			throw new IllegalArgumentException("time budget must be at least 1 ms");
+		}
+		_dag = dag;
+		_numberOfCores = numberOfCores;
+		_budgetMs = budgetMs;
+
+		int size = dag.getAllNodes().size();
+		if (size <= BitmaskAlgorithm.MAX_NODES
+				|| SpecialGraphAlgorithm.solvesDirectly(GraphClassifier.classify(new IndexedDAG(dag)), size, numberOfCores)) {
+			_estimator = null;
+			_engine = Engine.EXACT;
+			return;
+		}
+		_estimator = new SearchTreeEstimator(dag, numberOfCores);
+		double predictedMs = _estimator.getPredictedMs();
+		if (predictedMs <= budgetMs) {
+			_engine = Engine.EXACT;
+		} else if (predictedMs <= (double) ANYTIME_FACTOR * budgetMs) {
+			_engine = Engine.ANYTIME;
+		} else {
+			_engine = Engine.HEURISTIC;
+		}
+	}
+
+	/**
+	 * @param threads - number of threads to search with
+	 * @param metrics - collects the search statistics
+	 * @param listener - told about every improvement the anytime search finds, or null
+	 * @return the chosen engine, which has finished scheduling the graph
+	 */
+	public Algorithm createAlgorithm(int threads, SearchMetrics metrics, Consumer<AraStarAlgorithm.Solution> listener) {
+		return createAlgorithm(threads, metrics, listener, null);
+	}
+
+	/**
+	 * @param threads - number of threads to search with
+	 * @param metrics - collects the search statistics
+	 * @param listener - told about every improvement the anytime search finds, or null
+	 * @param initialSchedule - a complete schedule of the graph for the engine to start from, or null
+	 * @return the chosen engine, which has finished scheduling the graph
+	 */
+	public Algorithm createAlgorithm(int threads, SearchMetrics metrics, Consumer<AraStarAlgorithm.Solution> listener,
+			Schedule initialSchedule) {
+		switch (_engine) {
+			case EXACT:
+				return new SpecialGraphAlgorithm(_dag, _numberOfCores, threads, metrics, initialSchedule);
+			case ANYTIME:
+				return new AraStarAlgorithm(_dag, _numberOfCores, _budgetMs, metrics, listener, initialSchedule);
+			default:
+				return new BeamSearchAlgorithm(_dag, _numberOfCores, BeamSearchAlgorithm.DEFAULT_WIDTH, threads, metrics,
+						initialSchedule);
+		}
+	}
+
+	/**
+	 * @return true if the run time of an exact search was estimated, so the graph is neither small nor special
+	 */
+	public boolean isEstimated() {
+		return _estimator != null;
+	}
+
+	public Engine getEngine() {
+		return _engine;
+	}
+
+	/**
+	 * @return the predicted run time of an exact search in milliseconds, or 0 if it was not estimated
+	 */
+	public double getPredictedMs() {
+		return (_estimator == null) ? 0 : _estimator.getPredictedMs();
+	}
+
+	/**
+	 * @return the estimated number of nodes in the search tree, or 1 if it was not estimated
+	 */
+	public double getEstimatedNodes() {
+		return (_estimator == null) ? 1 : _estimator.getEstimatedNodes();
+	}
+}
@@ -0,0 +1,23 @@
+package implementations.preprocessing;
+
+/**
+ * The shapes of graph the {@link GraphClassifier} recognises, most specific first.
+ * A graph of more than one shape is given the first that fits, e.g. a fork is also an out-tree.
+ */
+public enum GraphClass {
+	// a single path, or a single node
+	CHAIN,
+	// no arcs at all
+	INDEPENDENT,
+	// one node with an arc to each of the others, which have no other arcs
+	FORK,
+	// one node with an arc from each of the others, which have no other arcs
+	JOIN,
+	// every node but the one root has exactly one predecessor
+	OUT_TREE,
+	// every node but the one root has exactly one successor
+	IN_TREE,
+	// built from single nodes by series and parallel composition
+	SERIES_PARALLEL,
+	GENERAL
+}
@@ -0,0 +1,129 @@
+package implementations.preprocessing;
+
+import implementations.structures.IndexedDAG;
+import interfaces.structures.DAG;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class recognises the shape of a graph, see {@link GraphClass}, in time linear in the size of the graph
+ * (series-parallel graphs take a little longer).
+ */
+public class GraphClassifier {
+
+	private GraphClassifier() {
+		// Static helpers only.
+	}
+
+	public static GraphClass classify(DAG dag) {
+		return classify(new IndexedDAG(dag));
+	}
+
+	public static GraphClass classify(IndexedDAG dag) {
+		int n = dag.size();
+		int arcs = 0;
+		int sources = 0;
+		int sinks = 0;
+		int maxPredecessors = 0;
+		int maxSuccessors = 0;
+		for (int node = 0; node < n; node++) {
+			int predecessors = dag.getPredecessors(node).length;
+			int successors = dag.getSuccessors(node).length;
+			arcs += predecessors;
+			sources += (predecessors == 0) ? 1 : 0;
+			sinks += (successors == 0) ? 1 : 0;
+			maxPredecessors = Math.max(maxPredecessors, predecessors);
+			maxSuccessors = Math.max(maxSuccessors, successors);
+		}
+
+		if (arcs == 0) {
+			return (n == 1) ? GraphClass.CHAIN : GraphClass.INDEPENDENT;
+		}
+		if (maxPredecessors <= 1 && maxSuccessors <= 1 && sources == 1) {
+			return GraphClass.CHAIN;
+		}
+		// the nodes are in topological order, so a fork's root comes first and a join's last
+		if (sources == 1 && dag.getSuccessors(0).length == n - 1 && maxPredecessors == 1) {
+			return GraphClass.FORK;
+		}
+		if (sinks == 1 && dag.getPredecessors(n - 1).length == n - 1 && maxSuccessors == 1) {
+			return GraphClass.JOIN;
+		}
+		if (sources == 1 && maxPredecessors <= 1) {
+			return GraphClass.OUT_TREE;
+		}
+		if (sinks == 1 && maxSuccessors <= 1) {
+			return GraphClass.IN_TREE;
+		}
+		if (isSeriesParallel(dag)) {
+			return GraphClass.SERIES_PARALLEL;
+		}
+		return GraphClass.GENERAL;
+	}
+
+	/**
+	 * Checks whether the arcs, with a new source before every entry node and a new sink after every exit node,
+	 * form a two terminal series-parallel graph: one that repeatedly merging parallel arcs and replacing a node
+	 * with one arc in and one arc out by a single arc reduces to a single arc.
+	 */
+	private static boolean isSeriesParallel(IndexedDAG dag) {
+		int n = dag.size();
+		int source = n;
+		int sink = n + 1;
+		// sets, so parallel arcs are merged as they are made
+		List<Set<Integer>> in = new ArrayList<Set<Integer>>();
+		List<Set<Integer>> out = new ArrayList<Set<Integer>>();
+		for (int node = 0; node < n + 2; node++) {
+			in.add(new LinkedHashSet<Integer>());
+			out.add(new LinkedHashSet<Integer>());
+		}
+		for (int node = 0; node < n; node++) {
+			for (int predecessor : dag.getPredecessors(node)) {
+				out.get(predecessor).add(node);
+				in.get(node).add(predecessor);
+			}
+			if (dag.getPredecessors(node).length == 0) {
+				out.get(source).add(node);
+				in.get(node).add(source);
+			}
+			if (dag.getSuccessors(node).length == 0) {
+				out.get(node).add(sink);
+				in.get(sink).add(node);
+			}
+		}
+
+		Deque<Integer> candidates = new ArrayDeque<Integer>();
+		for (int node = 0; node < n; node++) {
+			candidates.add(node);
+		}
+		int remaining = n;
+		while (!candidates.isEmpty()) {
+			int node = candidates.poll();
+			if (in.get(node).size() != 1 || out.get(node).size() != 1) {
+				continue;
+			}
+			int predecessor = in.get(node).iterator().next();
+			int successor = out.get(node).iterator().next();
+			out.get(predecessor).remove(node);
+			in.get(successor).remove(node);
+			in.get(node).clear();
+			out.get(node).clear();
+			out.get(predecessor).add(successor);
+			in.get(successor).add(predecessor);
+			remaining--;
+			// merging the new arc with a parallel one may have made either end reducible
+			if (predecessor < n) {
+				candidates.add(predecessor);
+			}
+			if (successor < n) {
+				candidates.add(successor);
+			}
+		}
+		return remaining == 0;
+	}
+}
@@ -0,0 +1,344 @@
+package implementations.preprocessing;
+
+import implementations.algorithm.ListScheduler;
+import implementations.algorithm.SearchMetrics;
+import implementations.structures.ArcImpl;
+import implementations.structures.ArraySchedule;
+import implementations.structures.DAGImp;
+import implementations.structures.IndexedDAG;
+import implementations.structures.NodeImp;
+import implementations.structures.ScheduleImp;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.Arc;
+import interfaces.structures.DAG;
+import interfaces.structures.Node;
+import interfaces.structures.NodeSchedule;
+import interfaces.structures.Schedule;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class keeps a graph and its optimal schedule up to date through small edits: changing the weight of a task
+ * or the cost of an arc, and adding or removing tasks and arcs. Each {@link #solve} starts from what the last one
+ * found rather than from scratch:
+ * <ul>
+ * <li>the last optimal schedule, repaired to fit the edited graph (see {@link ListScheduler#repair}), is the
+ * initial best schedule of the search;</li>
+ * <li>the last optimal time is still a lower bound after edits that only add work or constraints, and is lowered
+ * by the amount taken off by the others, so often the repaired schedule is proven optimal without a search;</li>
+ * <li>the bottom levels behind the {@link LowerBounds} are kept, and only those of the tasks an edit can reach
+ * are worked out again.</li>
+ * </ul>
+ * The graph is never read from its file again: edits change the tasks and arcs kept here, and the {@link DAG} is
+ * only rebuilt from them when solving.
+ */
+public class IncrementalSolver implements Algorithm {
+	private final int _numberOfCores;
+	private final int _noOfParallerCores;
+
+	// task name to weight, and source to destination to arc cost, in the order they were added
+	private final Map<String, Integer> _weights = new LinkedHashMap<String, Integer>();
+	private final Map<String, Map<String, Integer>> _outArcs = new LinkedHashMap<String, Map<String, Integer>>();
+	private final Map<String, Map<String, Integer>> _inArcs = new LinkedHashMap<String, Map<String, Integer>>();
+
+	// bottom levels still valid after the edits so far, see LowerBounds#bottomLevels
+	private final Map<String, Integer> _bottomLevels = new HashMap<String, Integer>();
+	private long _work = 0;
+	// no schedule of the graph as it is now can take less time
+	private int _provenLowerBound = 0;
+
+	private DAG _dag;
+	private HashMap<String, NodeSchedule> _bestSchedule;
+	private int _bestTime;
+	private boolean _solvedWithoutSearch = false;
+
+	/**
+	 * @param dag - the graph to start from, which is copied and left unchanged
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param noOfParallerCores - number of threads to search with
+	 */
+	public IncrementalSolver(DAG dag, int numberOfCores, int noOfParallerCores) {
+		if (numberOfCores < 1 || noOfParallerCores < 1) {
+			throw new IllegalArgumentException("number of cores and threads must be at least 1");
+		}
+		_numberOfCores = numberOfCores;
+		_noOfParallerCores = noOfParallerCores;
+		for (Node node : dag.getAllNodes()) {
+			addTask(node.getName(), node.getWeight());
+		}
+		for (Node node : dag.getAllNodes()) {
+			for (Node successor : node.getSuccessors()) {
+				addArc(node.getName(), successor.getName(), node.getOutArc(successor).getWeight());
+			}
+		}
+		_dag = dag;
+	}
+
+	public void addTask(String name, int weight) {
+		if (_weights.containsKey(name)) {
+			throw new IllegalArgumentException("task " + name + " already exists");
+		}
+		checkNotNegative(weight);
+		_weights.put(name, weight);
+		_outArcs.put(name, new LinkedHashMap<String, Integer>());
+		_inArcs.put(name, new LinkedHashMap<String, Integer>());
+		_work += weight;
+		// a new task only adds work, so the last optimal time is still a lower bound
+		_dag = null;
+	}
+
+	/**
+	 * Removes the task and its arcs.
+	 */
+	public void removeTask(String name) {
+		checkTask(name);
+		for (String predecessor : new ArrayList<String>(_inArcs.get(name).keySet())) {
+			removeArc(predecessor, name);
+		}
+		for (String successor : new ArrayList<String>(_outArcs.get(name).keySet())) {
+			removeArc(name, successor);
+		}
+		_work -= _weights.remove(name);
+		_outArcs.remove(name);
+		_inArcs.remove(name);
+		_bottomLevels.remove(name);
+		// the removed task may have been on the critical path, or the only task on a core
+		_provenLowerBound = 0;
+		_dag = null;
+	}
+
+	public void setWeight(String name, int weight) {
+		checkTask(name);
+		checkNotNegative(weight);
+		int change = weight - _weights.put(name, weight);
+		_work += change;
+		// a schedule of the new graph takes at most as much longer on the old one
+		_provenLowerBound = Math.max(0, _provenLowerBound + Math.min(0, change));
+		forgetBottomLevels(name);
+		_dag = null;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the arc would close a cycle
+	 */
+	public void addArc(String source, String destination, int cost) {
+		checkTask(source);
+		checkTask(destination);
+		checkNotNegative(cost);
+		if (_outArcs.get(source).containsKey(destination)) {
+			throw new IllegalArgumentException("arc " + source + " -> " + destination + " already exists");
+		}
+		if (reaches(destination, source)) {
+			throw new IllegalArgumentException("arc " + source + " -> " + destination + " would close a cycle");
+		}
+		_outArcs.get(source).put(destination, cost);
+		_inArcs.get(destination).put(source, cost);
+		// a new arc only adds a constraint, so the last optimal time is still a lower bound
+		forgetBottomLevels(source);
+		_dag = null;
+	}
+
+	public void removeArc(String source, String destination) {
+		arcCost(source, destination);
+		_outArcs.get(source).remove(destination);
+		_inArcs.get(destination).remove(source);
+		// without the constraint the optimal time may fall by any amount
+		_provenLowerBound = 0;
+		forgetBottomLevels(source);
+		_dag = null;
+	}
+
+	public void setArcCost(String source, String destination, int cost) {
+		checkNotNegative(cost);
+		int change = cost - arcCost(source, destination);
+		_outArcs.get(source).put(destination, cost);
+		_inArcs.get(destination).put(source, cost);
+		_provenLowerBound = Math.max(0, _provenLowerBound + Math.min(0, change));
+		// the bottom levels ignore communication, so they still hold
+		_dag = null;
+	}
+
+	/**
+	 * Schedules the graph as it is after the edits so far, optimally.
+	 *
+	 * @param metrics - collects the statistics of the search, if there is one
+	 * @return this, holding the optimal schedule
+	 */
+	public IncrementalSolver solve(SearchMetrics metrics) {
+		DAG dag = getDAG();
+		int lowerBound = getLowerBound();
+
+		Schedule initialSchedule = null;
+		_solvedWithoutSearch = false;
+		if (_bestSchedule != null) {
+			ArraySchedule repaired = ListScheduler.repair(new IndexedDAG(dag), _numberOfCores, _bestSchedule);
+			if (repaired.getTotalTime() <= lowerBound) {
+				_bestSchedule = repaired.toNodeSchedules();
+				_bestTime = repaired.getTotalTime();
+				_provenLowerBound = _bestTime;
+				_solvedWithoutSearch = true;
+				metrics.recordIncumbent(_bestTime);
+				metrics.recordFinished();
+				return this;
+			}
+			initialSchedule = ScheduleImp.fromNodeSchedules(dag, _numberOfCores, repaired.toNodeSchedules());
+		}
+
+		Algorithm alg = new SpecialGraphAlgorithm(dag, _numberOfCores, _noOfParallerCores, metrics, initialSchedule);
+		_bestSchedule = alg.getCurrentBestSchedule();
+		_bestTime = alg.getBestTotalTime();
+		_provenLowerBound = _bestTime;
+		return this;
+	}
+
+	public IncrementalSolver solve() {
+		return solve(new SearchMetrics());
+	}
+
+	/**
+	 * @return the graph as it is after the edits so far
+	 */
+	public DAG getDAG() {
+		if (_dag == null) {
+			_dag = buildDAG();
+		}
+		return _dag;
+	}
+
+	private DAG buildDAG() {
+		DAG dag = DAGImp.createDetached();
+		Map<String, Node> nodes = new HashMap<String, Node>();
+		List<Node> startNodes = new ArrayList<Node>();
+		for (Map.Entry<String, Integer> entry : _weights.entrySet()) {
+			Node node = new NodeImp(entry.getKey(), entry.getValue());
+			nodes.put(entry.getKey(), node);
+			if (_inArcs.get(entry.getKey()).isEmpty()) {
+				startNodes.add(node);
+			}
+		}
+		for (Map.Entry<String, Map<String, Integer>> entry : _outArcs.entrySet()) {
+			Node source = nodes.get(entry.getKey());
+			for (Map.Entry<String, Integer> arcEntry : entry.getValue().entrySet()) {
+				Node destination = nodes.get(arcEntry.getKey());
+				Arc arc = new ArcImpl(arcEntry.getValue(), source, destination);
+				source.addOutArc(arc);
+				destination.addInArc(arc);
+			}
+			dag.add(source);
+		}
+		dag.addStartNodes(startNodes);
+		return dag;
+	}
+
+	/**
+	 * @return the lower bound on the total time of the graph as it is now, without a search
+	 */
+	public int getLowerBound() {
+		return Math.max(_provenLowerBound, Math.max(criticalPath(), workBound()));
+	}
+
+	private int criticalPath() {
+		int longest = 0;
+		for (String name : _weights.keySet()) {
+			longest = Math.max(longest, bottomLevel(name));
+		}
+		return longest;
+	}
+
+	private int workBound() {
+		return (int) ((_work + _numberOfCores - 1) / _numberOfCores);
+	}
+
+	private int bottomLevel(String name) {
+		Integer known = _bottomLevels.get(name);
+		if (known != null) {
+			return known;
+		}
+		int heaviestSuccessor = 0;
+		for (String successor : _outArcs.get(name).keySet()) {
+			heaviestSuccessor = Math.max(heaviestSuccessor, bottomLevel(successor));
+		}
+		int bottomLevel = _weights.get(name) + heaviestSuccessor;
+		_bottomLevels.put(name, bottomLevel);
+		return bottomLevel;
+	}
+
+	/**
+	 * Forgets the bottom levels of the task and every task it can be reached from, the only ones an edit of the
+	 * task or of its out arcs can change.
+	 */
+	private void forgetBottomLevels(String name) {
+		Deque<String> toForget = new ArrayDeque<String>();
+		toForget.add(name);
+		while (!toForget.isEmpty()) {
+			String task = toForget.poll();
+			if (_bottomLevels.remove(task) != null || task.equals(name)) {
+				toForget.addAll(_inArcs.get(task).keySet());
+			}
+		}
+	}
+
+	/**
+	 * @return true if there is a path from the first task to the second
+	 */
+	private boolean reaches(String from, String to) {
+		Deque<String> toVisit = new ArrayDeque<String>();
+		Map<String, Boolean> visited = new HashMap<String, Boolean>();
+		toVisit.add(from);
+		while (!toVisit.isEmpty()) {
+			String task = toVisit.poll();
+			if (task.equals(to)) {
+				return true;
+			}
+			if (visited.put(task, Boolean.TRUE) == null) {
+				toVisit.addAll(_outArcs.get(task).keySet());
+			}
+		}
+		return false;
+	}
+
+	private int arcCost(String source, String destination) {
+		checkTask(source);
+		checkTask(destination);
+		Integer cost = _outArcs.get(source).get(destination);
+		if (cost == null) {
+			throw new IllegalArgumentException("no arc " + source + " -> " + destination);
+		}
+		return cost;
+	}
+
+	private void checkTask(String name) {
+		if (!_weights.containsKey(name)) {
+			throw new IllegalArgumentException("no task " + name);
+		}
+	}
+
+	private static void checkNotNegative(int weight) {
+		if (weight < 0) {
+			throw new IllegalArgumentException("weights and costs must not be negative");
+		}
+	}
+
+	/**
+	 * @return true if the last solve proved the repaired schedule optimal, so did not search
+	 */
+	public boolean isSolvedWithoutSearch() {
+		return _solvedWithoutSearch;
+	}
+
+	@Override
+	public HashMap<String, NodeSchedule> getCurrentBestSchedule() {
+		return _bestSchedule;
+	}
+
+	@Override
+	public int getBestTotalTime() {
+		return _bestTime;
+	}
+}
@@ -0,0 +1,79 @@
+package implementations.preprocessing;
+
+import interfaces.structures.DAG;
+import interfaces.structures.Node;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class computes lower bounds on the total time of any schedule of a graph.
+ * A schedule whose total time equals a lower bound is proven optimal without a search.
+ *
+ * Communication costs are ignored, as they can always be avoided by placing tasks on the same core.
+ */
+public class LowerBounds {
+
+	private LowerBounds() {
+		// Static helpers only.
+	}
+
+	/**
+	 * @return the largest of the critical path and work bounds
+	 */
+	public static int lowerBound(DAG dag, int numberOfCores) {
+		return Math.max(criticalPath(dag), workBound(dag, numberOfCores));
+	}
+
+	/**
+	 * @return the total weight of the heaviest path through the graph
+	 */
+	public static int criticalPath(DAG dag) {
+		int longest = 0;
+		for (int bottomLevel : bottomLevels(dag).values()) {
+			longest = Math.max(longest, bottomLevel);
+		}
+		return longest;
+	}
+
+	/**
+	 * @return the total weight of all nodes shared evenly between the cores, rounded up
+	 */
+	public static int workBound(DAG dag, int numberOfCores) {
+		long work = 0;
+		for (Node node : dag.getAllNodes()) {
+			work += node.getWeight();
+		}
+		return (int) ((work + numberOfCores - 1) / numberOfCores);
+	}
+
+	/**
+	 * The bottom level of a node is the total weight of the heaviest path from the node to an exit node,
+	 * including the node itself.
+	 *
+	 * @return node name to bottom level
+	 */
+	public static Map<String, Integer> bottomLevels(DAG dag) {
+		Map<String, Integer> bottomLevels = new HashMap<String, Integer>();
+		for (Node node : dag.getAllNodes()) {
+			bottomLevel(node, bottomLevels);
+		}
+		return bottomLevels;
+	}
+
+	private static int bottomLevel(Node node, Map<String, Integer> bottomLevels) {
+		Integer known = bottomLevels.get(node.getName());
+		if (known != null) {
+			return known;
+		}
+		int heaviestSuccessor = 0;
+		List<Node> successors = node.getSuccessors();
+		for (Node successor : successors) {
+			heaviestSuccessor = Math.max(heaviestSuccessor, bottomLevel(successor, bottomLevels));
+		}
+		int bottomLevel = node.getWeight() + heaviestSuccessor;
+		bottomLevels.put(node.getName(), bottomLevel);
+		return bottomLevel;
+	}
+}
@@ -0,0 +1,52 @@
+package implementations.preprocessing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class runs separate solves on a pool of threads, e.g. the parts of a graph or the numbers of processors of a
+ * sweep.
+ */
+public class ParallelSolves {
+
+	private ParallelSolves() {
+		// Static helpers only.
+	}
+
+	/**
+	 * Runs the tasks on a pool of the given number of threads, or one after the other if there is only one.
+	 *
+	 * @param solved - what each task solves, for the message if one fails
+	 * @return the results, in the order of the tasks
+	 */
+	public static <T> List<T> runAll(List<Callable<T>> tasks, int threads, String solved) {
+		List<T> results = new ArrayList<T>();
+		try {
+			if (threads <= 1 || tasks.size() == 1) {
+				for (Callable<T> task : tasks) {
+					results.add(task.call());
+				}
+				return results;
+			}
+
+			ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, tasks.size()));
+			try {
+				for (Future<T> future : pool.invokeAll(tasks)) {
+					results.add(future.get());
+				}
+			} finally {
+				pool.shutdownNow();
+			}
+			return results;
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Could not solve " + solved, e.getCause());
+		} catch (Exception e) {
+			throw new IllegalStateException("Could not solve " + solved, e);
+		}
+	}
+}
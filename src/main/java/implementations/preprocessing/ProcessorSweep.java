@@ -0,0 +1,253 @@
+package implementations.preprocessing;
+
+import implementations.algorithm.SearchMetrics;
+import implementations.structures.NodeScheduleImp;
+import implementations.structures.ScheduleImp;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.DAG;
+import interfaces.structures.Node;
+import interfaces.structures.NodeSchedule;
+import interfaces.structures.Schedule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.IntStream;
+
+/**
+ * This class finds the optimal total time of a graph on every number of processors from 1 up to a maximum, for
+ * capacity planning, in one run.
+ *
+ * The numbers of processors are solved in parallel, and each solve uses what the others have found so far. More
+ * processors never make the optimal schedule worse, so:
+ * <ul>
+ * <li>the best schedule found on fewer processors is a valid schedule on more, and is the initial best schedule
+ * of the search;</li>
+ * <li>the optimal time on more processors is a lower bound on fewer, so when the initial schedule meets it there
+ * is nothing to search;</li>
+ * <li>an optimal schedule on more processors that leaves some of them empty is optimal on as few as it uses;</li>
+ * <li>once the optimal time meets the {@link LowerBounds#criticalPath critical path}, or there are as many
+ * processors as nodes, more processors cannot help.</li>
+ * </ul>
+ * Solves running at the same time cannot use each other's results, so one processor and the most processors are
+ * solved first, and then all the others, from fewest to most, with what those two found.
+ * The lower bounds of the graph are worked out once for all of them.
+ */
+public class ProcessorSweep implements Algorithm {
+	private final DAG _dag;
+	private final int _maxCores;
+	private final int _criticalPath;
+	private final long _work;
+
+	// indexed by the number of processors, null until solved
+	private final HashMap<String, NodeSchedule>[] _schedules;
+	private final int[] _totalTimes;
+	// the number of processors whose schedule was taken, or 0 if searched
+	private final int[] _takenFrom;
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param maxCores - the largest number of processors to schedule on
+	 * @param threads - number of numbers of processors to solve at the same time
+	 * @param metrics - collects the statistics of all the searches
+	 */
+	@SuppressWarnings("unchecked")
+	public ProcessorSweep(DAG dag, int maxCores, int threads, SearchMetrics metrics) {
+		if (maxCores < 1 || threads < 1) {
+			throw new IllegalArgumentException("number of processors and threads must be at least 1");
+		}
+		_dag = dag;
+		_maxCores = maxCores;
+		_criticalPath = LowerBounds.criticalPath(dag);
+		long work = 0;
+		for (Node node : dag.getAllNodes()) {
+			work += node.getWeight();
+		}
+		_work = work;
+		_schedules = new HashMap[maxCores + 1];
+		_totalTimes = new int[maxCores + 1];
+		_takenFrom = new int[maxCores + 1];
+
+		// one and the most processors first, so every other solve has a schedule on fewer and a bound from more
+		if (maxCores > 2) {
+			solveAll(new int[] {1, maxCores}, threads, metrics);
+			solveAll(IntStream.rangeClosed(2, maxCores - 1).toArray(), threads, metrics);
+		} else {
+			solveAll(IntStream.rangeClosed(1, maxCores).toArray(), threads, metrics);
+		}
+
+		metrics.recordIncumbent(_totalTimes[maxCores]);
+		metrics.recordFinished();
+	}
+
+	/**
+	 * Solves the given numbers of processors, on a pool of threads.
+	 */
+	private void solveAll(int[] numbersOfCores, int threads, SearchMetrics metrics) {
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		for (int numberOfCores : numbersOfCores) {
+			tasks.add(() -> {
+				solve(numberOfCores, metrics);
+				return null;
+			});
+		}
+		ParallelSolves.runAll(tasks, threads, "a number of processors");
+	}
+
+	private void solve(int numberOfCores, SearchMetrics metrics) {
+		Schedule initialSchedule = null;
+		int takenFrom = 0;
+		int lowerBound;
+		synchronized (this) {
+			int fewer = mostCoresSolvedBelow(numberOfCores);
+			if (fewer > 0) {
+				initialSchedule = ScheduleImp.fromNodeSchedules(_dag, numberOfCores, _schedules[fewer]);
+				takenFrom = fewer;
+			}
+			for (int more = numberOfCores + 1; more <= _maxCores; more++) {
+				HashMap<String, NodeSchedule> onFewer = (_schedules[more] == null) ? null
+						: renumberCores(_schedules[more], numberOfCores);
+				if (onFewer != null) {
+					initialSchedule = ScheduleImp.fromNodeSchedules(_dag, numberOfCores, onFewer);
+					takenFrom = more;
+					break;
+				}
+			}
+			lowerBound = lowerBound(numberOfCores);
+		}
+
+		// with a processor for every node already, more cannot help
+		if (initialSchedule != null && (initialSchedule.getTotalTime() <= lowerBound
+				|| (takenFrom < numberOfCores && takenFrom >= _dag.getAllNodes().size()))) {
+			record(numberOfCores, toNodeSchedules(initialSchedule), initialSchedule.getTotalTime(), takenFrom);
+			return;
+		}
+		SearchMetrics partMetrics = new SearchMetrics();
+		Algorithm alg = new SpecialGraphAlgorithm(_dag, numberOfCores, 1, partMetrics, initialSchedule);
+		metrics.addCounts(partMetrics);
+		record(numberOfCores, alg.getCurrentBestSchedule(), alg.getBestTotalTime(), 0);
+	}
+
+	/**
+	 * @return the schedule with the cores it uses numbered from 1, or null if it uses more than numberOfCores
+	 */
+	private static HashMap<String, NodeSchedule> renumberCores(HashMap<String, NodeSchedule> schedule,
+			int numberOfCores) {
+		Map<Integer, Integer> cores = new HashMap<Integer, Integer>();
+		HashMap<String, NodeSchedule> renumbered = new HashMap<String, NodeSchedule>();
+		for (Map.Entry<String, NodeSchedule> entry : schedule.entrySet()) {
+			NodeSchedule nodeSchedule = entry.getValue();
+			Integer core = cores.get(nodeSchedule.getBestProcessor());
+			if (core == null) {
+				core = cores.size() + 1;
+				if (core > numberOfCores) {
+					return null;
+				}
+				cores.put(nodeSchedule.getBestProcessor(), core);
+			}
+			renumbered.put(entry.getKey(), new NodeScheduleImp(nodeSchedule.getBestStartTime(), core));
+		}
+		return renumbered;
+	}
+
+	/**
+	 * @return the most processors fewer than these solved so far, or 0 if there are none
+	 */
+	private int mostCoresSolvedBelow(int numberOfCores) {
+		for (int fewer = numberOfCores - 1; fewer >= 1; fewer--) {
+			if (_schedules[fewer] != null) {
+				return fewer;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * @return the best lower bound on the optimal time on this many processors known so far
+	 */
+	private int lowerBound(int numberOfCores) {
+		int bound = Math.max(_criticalPath, (int) ((_work + numberOfCores - 1) / numberOfCores));
+		for (int more = numberOfCores + 1; more <= _maxCores; more++) {
+			if (_schedules[more] != null) {
+				bound = Math.max(bound, _totalTimes[more]);
+				break;
+			}
+		}
+		return bound;
+	}
+
+	private synchronized void record(int numberOfCores, HashMap<String, NodeSchedule> schedule, int totalTime,
+			int takenFrom) {
+		_schedules[numberOfCores] = schedule;
+		_totalTimes[numberOfCores] = totalTime;
+		_takenFrom[numberOfCores] = takenFrom;
+	}
+
+	private static HashMap<String, NodeSchedule> toNodeSchedules(Schedule schedule) {
+		HashMap<String, NodeSchedule> nodeSchedules = new HashMap<String, NodeSchedule>();
+		for (int i = 0; i < schedule.getSizeOfSchedule(); i++) {
+			nodeSchedules.put(schedule.getNodeName(i),
+					new NodeScheduleImp(schedule.getNodeStartTime(i), schedule.getNodeCore(i)));
+		}
+		return nodeSchedules;
+	}
+
+	/**
+	 * @return the optimal total time on the number of processors
+	 */
+	public int getTotalTime(int numberOfCores) {
+		checkCores(numberOfCores);
+		return _totalTimes[numberOfCores];
+	}
+
+	/**
+	 * @return the optimal schedule on the number of processors
+	 */
+	public HashMap<String, NodeSchedule> getSchedule(int numberOfCores) {
+		checkCores(numberOfCores);
+		return _schedules[numberOfCores];
+	}
+
+	/**
+	 * @return the number of processors whose schedule was proven optimal on this many, so it was not solved, or 0
+	 * if it was searched
+	 */
+	public int getTakenFrom(int numberOfCores) {
+		checkCores(numberOfCores);
+		return _takenFrom[numberOfCores];
+	}
+
+	private void checkCores(int numberOfCores) {
+		if (numberOfCores < 1 || numberOfCores > _maxCores) {
+			throw new IllegalArgumentException("number of processors must be from 1 to " + _maxCores);
+		}
+	}
+
+	/**
+	 * @return one line per number of processors, with the optimal total time and the number of processors its
+	 * schedule was taken from, if any
+	 */
+	public String toTable() {
+		StringBuilder sb = new StringBuilder("processors\ttotal time\ttaken from");
+		for (int cores = 1; cores <= _maxCores; cores++) {
+			sb.append(System.lineSeparator()).append(cores).append('\t').append(_totalTimes[cores]).append('\t')
+					.append((_takenFrom[cores] > 0) ? String.valueOf(_takenFrom[cores]) : "-");
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * @return the optimal schedule on the most processors
+	 */
+	@Override
+	public HashMap<String, NodeSchedule> getCurrentBestSchedule() {
+		return _schedules[_maxCores];
+	}
+
+	@Override
+	public int getBestTotalTime() {
+		return _totalTimes[_maxCores];
+	}
+}
@@ -0,0 +1,113 @@
+package implementations.preprocessing;
+
+import implementations.algorithm.AlgorithmImp;
+import implementations.algorithm.BitmaskAlgorithm;
+import implementations.algorithm.SearchMetrics;
+import implementations.structures.ScheduleImp;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.DAG;
+import interfaces.structures.NodeSchedule;
+import interfaces.structures.Schedule;
+
+import java.util.HashMap;
+
+/**
+ * This class solves a graph by first solving the smaller graph left after {@link ChainReduction}.
+ *
+ * Keeping a chain together on one core is not always optimal, so the reduced result is only trusted
+ * when it meets a {@link LowerBounds lower bound} of the original graph. Otherwise it becomes the initial
+ * best schedule of an exact search of the original graph, which then only has to look for something better.
+ * Either way the result is optimal.
+ */
+public class ReducingAlgorithm implements Algorithm {
+	private HashMap<String, NodeSchedule> _bestSchedule;
+	private int _bestTime;
+	private boolean _solvedByReduction = false;
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param noOfParallerCores - number of threads to search with
+	 * @param metrics - collects the statistics of the search of the original graph
+	 */
+	public ReducingAlgorithm(DAG dag, int numberOfCores, int noOfParallerCores, SearchMetrics metrics) {
+		this(dag, numberOfCores, noOfParallerCores, metrics, null);
+	}
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param noOfParallerCores - number of threads to search with
+	 * @param metrics - collects the statistics of the search of the original graph
+	 * @param initialSchedule - a complete schedule of the graph to start the search from, or null
+	 */
+	public ReducingAlgorithm(DAG dag, int numberOfCores, int noOfParallerCores, SearchMetrics metrics,
+			Schedule initialSchedule) {
+		ChainReduction reduction = new ChainReduction(dag);
+		if (!reduction.isReduced()) {
+			useResult(search(dag, numberOfCores, noOfParallerCores, metrics, initialSchedule));
+			return;
+		}
+
+		Algorithm reducedAlg = search(reduction.getReducedDAG(), numberOfCores, noOfParallerCores,
+				new SearchMetrics(), null);
+		HashMap<String, NodeSchedule> expanded = reduction.expand(reducedAlg.getCurrentBestSchedule());
+
+		if (reducedAlg.getBestTotalTime() <= LowerBounds.lowerBound(dag, numberOfCores)) {
+			_bestSchedule = expanded;
+			_bestTime = reducedAlg.getBestTotalTime();
+			_solvedByReduction = true;
+			metrics.recordIncumbent(_bestTime);
+			metrics.recordFinished();
+		} else {
+			useResult(search(dag, numberOfCores, noOfParallerCores, metrics,
+					better(ScheduleImp.fromNodeSchedules(dag, numberOfCores, expanded), initialSchedule)));
+		}
+	}
+
+	/**
+	 * @return the schedule with the lower total time, either of which may be null
+	 */
+	static Schedule better(Schedule first, Schedule second) {
+		if (first == null || (second != null && second.getTotalTime() < first.getTotalTime())) {
+			return second;
+		}
+		return first;
+	}
+
+	/**
+	 * Searches a graph exactly, with a {@link BitmaskAlgorithm} if the graph is small enough, as it is much faster
+	 * there, and with an {@link AlgorithmImp} otherwise.
+	 *
+	 * @param initialSchedule - a complete schedule of the graph to start the search from, or null
+	 */
+	static Algorithm search(DAG dag, int numberOfCores, int noOfParallerCores, SearchMetrics metrics,
+			Schedule initialSchedule) {
+		if (dag.getAllNodes().size() <= BitmaskAlgorithm.MAX_NODES) {
+			return new BitmaskAlgorithm(dag, numberOfCores, metrics, initialSchedule);
+		}
+		return new AlgorithmImp(dag, numberOfCores, noOfParallerCores, metrics, null, initialSchedule);
+	}
+
+	private void useResult(Algorithm alg) {
+		_bestSchedule = alg.getCurrentBestSchedule();
+		_bestTime = alg.getBestTotalTime();
+	}
+
+	/**
+	 * @return true if the reduced graph's schedule was proven optimal, so the original graph was not searched
+	 */
+	public boolean isSolvedByReduction() {
+		return _solvedByReduction;
+	}
+
+	@Override
+	public HashMap<String, NodeSchedule> getCurrentBestSchedule() {
+		return _bestSchedule;
+	}
+
+	@Override
+	public int getBestTotalTime() {
+		return _bestTime;
+	}
+}
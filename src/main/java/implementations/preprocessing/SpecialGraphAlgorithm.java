@@ -0,0 +1,236 @@
+package implementations.preprocessing;
+
+import implementations.algorithm.ListScheduler;
+import implementations.algorithm.SearchMetrics;
+import implementations.structures.ArraySchedule;
+import implementations.structures.IndexedDAG;
+import implementations.structures.NodeScheduleImp;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.DAG;
+import interfaces.structures.NodeSchedule;
+import interfaces.structures.Schedule;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/**
+ * This class solves graphs of a few special shapes (see {@link GraphClassifier}) directly, without a search:
+ * <ul>
+ * <li>a chain, all on one core;</li>
+ * <li>independent nodes, when there is a core for each;</li>
+ * <li>a fork or a join, when there is a core for each leaf besides the root's.</li>
+ * </ul>
+ * Any other graph is list scheduled first, which is enough when the list schedule meets a {@link LowerBounds
+ * lower bound}, as is common for trees and series-parallel graphs on enough cores. Otherwise it is solved by a
+ * {@link DecomposingAlgorithm}, starting from the initial schedule if one is given. Either way the result is
+ * optimal.
+ */
+public class SpecialGraphAlgorithm implements Algorithm {
+	private final GraphClass _graphClass;
+	private HashMap<String, NodeSchedule> _bestSchedule;
+	private int _bestTime;
+	private boolean _solvedDirectly = true;
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param noOfParallerCores - number of threads to search with, if it comes to a search
+	 * @param metrics - collects the statistics of the search, if any
+	 */
+	public SpecialGraphAlgorithm(DAG dag, int numberOfCores, int noOfParallerCores, SearchMetrics metrics) {
+		this(dag, numberOfCores, noOfParallerCores, metrics, null);
+	}
+
+	/**
+	 * @param dag - the graph to schedule
+	 * @param numberOfCores - number of processors to schedule on
+	 * @param noOfParallerCores - number of threads to search with, if it comes to a search
+	 * @param metrics - collects the statistics of the search, if any
+	 * @param initialSchedule - a complete schedule of the graph to start a search from, or null
+	 */
+	public SpecialGraphAlgorithm(DAG dag, int numberOfCores, int noOfParallerCores, SearchMetrics metrics,
+			Schedule initialSchedule) {
+		IndexedDAG indexed = new IndexedDAG(dag);
+		_graphClass = GraphClassifier.classify(indexed);
+
+		ArraySchedule schedule = solveDirectly(indexed, numberOfCores);
+		if (schedule == null) {
+			int lowerBound = LowerBounds.lowerBound(dag, numberOfCores);
+			if (initialSchedule != null && initialSchedule.getTotalTime() <= lowerBound) {
+				useInitialSchedule(initialSchedule, metrics);
+				return;
+			}
+			schedule = ListScheduler.bottomLevelFirst(indexed, numberOfCores);
+			if (schedule.getTotalTime() > lowerBound) {
+				Algorithm alg = new DecomposingAlgorithm(dag, numberOfCores, noOfParallerCores, metrics, initialSchedule);
+				_bestSchedule = alg.getCurrentBestSchedule();
+				_bestTime = alg.getBestTotalTime();
+				_solvedDirectly = false;
+				return;
+			}
+		}
+		_bestSchedule = schedule.toNodeSchedules();
+		_bestTime = schedule.getTotalTime();
+		metrics.recordIncumbent(_bestTime);
+		metrics.recordFinished();
+	}
+
+	private void useInitialSchedule(Schedule initialSchedule, SearchMetrics metrics) {
+		_bestSchedule = new HashMap<String, NodeSchedule>();
+		for (int i = 0; i < initialSchedule.getSizeOfSchedule(); i++) {
+			_bestSchedule.put(initialSchedule.getNodeName(i),
+					new NodeScheduleImp(initialSchedule.getNodeStartTime(i), initialSchedule.getNodeCore(i)));
+		}
+		_bestTime = initialSchedule.getTotalTime();
+		metrics.recordIncumbent(_bestTime);
+		metrics.recordFinished();
+	}
+
+	/**
+	 * @return true if a graph of the class and number of nodes is solved without a search on this many cores
+	 */
+	public static boolean solvesDirectly(GraphClass graphClass, int size, int numberOfCores) {
+		switch (graphClass) {
+			case CHAIN:
+				return true;
+			case INDEPENDENT:
+				return size <= numberOfCores;
+			case FORK:
+			case JOIN:
+				// a core for each leaf besides the root's
+				return size - 1 < numberOfCores;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * @return the optimal schedule, or null if the graph is not of a shape solved directly on this many cores
+	 */
+	private ArraySchedule solveDirectly(IndexedDAG dag, int numberOfCores) {
+		if (!solvesDirectly(_graphClass, dag.size(), numberOfCores)) {
+			return null;
+		}
+		switch (_graphClass) {
+			case CHAIN:
+				return ListScheduler.sequential(dag, numberOfCores);
+			case FORK:
+				return fork(dag, numberOfCores);
+			case JOIN:
+				return join(dag, numberOfCores);
+			default:
+				ArraySchedule schedule = new ArraySchedule(dag, numberOfCores);
+				for (int node = 0; node < dag.size(); node++) {
+					schedule = schedule.place(node, node + 1);
+				}
+				return schedule;
+		}
+	}
+
+	/**
+	 * A leaf on a core of its own finishes at the root's finish time plus its arc and weight, and the leaves on
+	 * the root's core finish after the root and each other. If the leaves on other cores finish by some time, then
+	 * only the leaves whose arc and weight add up to more need the root's core. So the best choice is the k leaves
+	 * with the largest arc plus weight on the root's core and the rest on cores of their own, for the best k.
+	 */
+	private static ArraySchedule fork(IndexedDAG dag, int numberOfCores) {
+		// the root comes first in topological order
+		int[] costs = new int[dag.size()];
+		for (int leaf = 1; leaf < dag.size(); leaf++) {
+			costs[leaf] = dag.getPredecessorCosts(leaf)[0];
+		}
+		Integer[] leaves = byArcPlusWeight(dag, 1, dag.size(), costs);
+
+		int best = bestSplit(dag, leaves, costs);
+		ArraySchedule schedule = new ArraySchedule(dag, numberOfCores).place(0, 1);
+		for (int i = 0; i < leaves.length; i++) {
+			schedule = schedule.place(leaves[i], (i < best) ? 1 : i - best + 2);
+		}
+		return schedule;
+	}
+
+	/**
+	 * The mirror image of {@link #fork}: the root starts once the leaves on its core have run one after the other,
+	 * and the data of each leaf on a core of its own has arrived.
+	 */
+	private static ArraySchedule join(IndexedDAG dag, int numberOfCores) {
+		// the root comes last in topological order
+		int root = dag.size() - 1;
+		int[] costs = new int[dag.size()];
+		int[] predecessors = dag.getPredecessors(root);
+		for (int i = 0; i < predecessors.length; i++) {
+			costs[predecessors[i]] = dag.getPredecessorCosts(root)[i];
+		}
+		Integer[] leaves = byArcPlusWeight(dag, 0, root, costs);
+
+		int best = bestSplit(dag, leaves, costs);
+		ArraySchedule schedule = new ArraySchedule(dag, numberOfCores);
+		for (int i = 0; i < leaves.length; i++) {
+			schedule = schedule.place(leaves[i], (i < best) ? 1 : i - best + 2);
+		}
+		return schedule.place(root, 1);
+	}
+
+	/**
+	 * @param leaves - sorted by arc plus weight, largest first
+	 * @return the number of leaves, from the start of the list, to put on the root's core
+	 */
+	private static int bestSplit(IndexedDAG dag, Integer[] leaves, int[] costs) {
+		int best = 0;
+		int bestTime = Integer.MAX_VALUE;
+		int onRootCore = 0;
+		for (int k = 0; k <= leaves.length; k++) {
+			// the next leaf is the last to finish of those on cores of their own
+			int time = (k < leaves.length) ? Math.max(onRootCore, costs[leaves[k]] + dag.getWeight(leaves[k]))
+					: onRootCore;
+			if (time < bestTime) {
+				best = k;
+				bestTime = time;
+			}
+			if (k < leaves.length) {
+				onRootCore += dag.getWeight(leaves[k]);
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @param costs - the cost of the arc between each leaf and the root
+	 * @return the leaves from first to last (exclusive), by arc plus weight, largest first
+	 */
+	private static Integer[] byArcPlusWeight(final IndexedDAG dag, int first, int last, final int[] costs) {
+		Integer[] leaves = new Integer[last - first];
+		for (int i = 0; i < leaves.length; i++) {
+			leaves[i] = first + i;
+		}
+		Arrays.sort(leaves, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				return Integer.compare(costs[b] + dag.getWeight(b), costs[a] + dag.getWeight(a));
+			}
+		});
+		return leaves;
+	}
+
+	public GraphClass getGraphClass() {
+		return _graphClass;
+	}
+
+	/**
+	 * @return true if the graph was solved without a search
+	 */
+	public boolean isSolvedDirectly() {
+		return _solvedDirectly;
+	}
+
+	@Override
+	public HashMap<String, NodeSchedule> getCurrentBestSchedule() {
+		return _bestSchedule;
+	}
+
+	@Override
+	public int getBestTotalTime() {
+		return _bestTime;
+	}
+}
@@ -0,0 +1,231 @@
+package implementations.structures;
+
+import interfaces.structures.NodeSchedule;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * This class is a partial schedule of an {@link IndexedDAG} held in arrays, for searches which
+ * keep many partial schedules at once.
+ *
+ * Like {@link ScheduleImp}, nodes are only ever appended to a core, starting as early as the core and
+ * the data from their predecessors allow. Placing a node returns a new schedule and leaves this one
+ * unchanged. Two schedules are equal if every node has the same start time and core in both.
+ */
+public class ArraySchedule {
+	private final IndexedDAG _dag;
+	private final int _numberOfCores;
+	// start time and core of each node, -1 and 0 if not scheduled yet. Cores start from 1.
+	private final int[] _startTimes;
+	private final int[] _cores;
+	// index 0 is unused, to match the core numbers.
+	private final int[] _coreFinishTimes;
+	private int _scheduledCount;
+	private int _totalTime;
+	private int _usedCores;
+	private int _remainingWeight;
+	private int _hash;
+
+	/**
+	 * Creates an empty schedule.
+	 */
+	public ArraySchedule(IndexedDAG dag, int numberOfCores) {
+		_dag = dag;
+		_numberOfCores = numberOfCores;
+		_startTimes = new int[dag.size()];
+		_cores = new int[dag.size()];
+		_coreFinishTimes = new int[numberOfCores + 1];
+		Arrays.fill(_startTimes, -1);
+		_remainingWeight = dag.getTotalWeight();
+	}
+
+	private ArraySchedule(ArraySchedule other) {
+		_dag = other._dag;
+		_numberOfCores = other._numberOfCores;
+		_startTimes = other._startTimes.clone();
+		_cores = other._cores.clone();
+		_coreFinishTimes = other._coreFinishTimes.clone();
+		_scheduledCount = other._scheduledCount;
+		_totalTime = other._totalTime;
+		_usedCores = other._usedCores;
+		_remainingWeight = other._remainingWeight;
+	}
+
+	public boolean isScheduled(int node) {
+		return _cores[node] != 0;
+	}
+
+	/**
+	 * @return true if the node is not scheduled yet but all its predecessors are
+	 */
+	public boolean isReady(int node) {
+		if (isScheduled(node)) {
+			return false;
+		}
+		for (int predecessor : _dag.getPredecessors(node)) {
+			if (!isScheduled(predecessor)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the time the node would start if appended to the core, counting only the predecessors already scheduled
+	 */
+	public int getEarliestStartTime(int node, int core) {
+		int startTime = _coreFinishTimes[core];
+		int[] predecessors = _dag.getPredecessors(node);
+		int[] costs = _dag.getPredecessorCosts(node);
+		for (int i = 0; i < predecessors.length; i++) {
+			if (!isScheduled(predecessors[i])) {
+				continue;
+			}
+			int arrival = getFinishTime(predecessors[i]);
+			if (_cores[predecessors[i]] != core) {
+				arrival += costs[i];
+			}
+			startTime = Math.max(startTime, arrival);
+		}
+		return startTime;
+	}
+
+	/**
+	 * @return a new schedule with the node appended to the core
+	 */
+	public ArraySchedule place(int node, int core) {
+		ArraySchedule next = new ArraySchedule(this);
+		int startTime = getEarliestStartTime(node, core);
+		int finishTime = startTime + _dag.getWeight(node);
+		next._startTimes[node] = startTime;
+		next._cores[node] = core;
+		next._coreFinishTimes[core] = finishTime;
+		next._scheduledCount++;
+		next._totalTime = Math.max(_totalTime, finishTime);
+		next._usedCores = Math.max(_usedCores, core);
+		next._remainingWeight -= _dag.getWeight(node);
+		return next;
+	}
+
+	/**
+	 * A lower bound on the total time of any complete schedule this one can be extended to: the largest of
+	 * <ul>
+	 * <li>the total time so far,</li>
+	 * <li>the work still to do shared evenly between the cores, on top of the time they are already busy, and</li>
+	 * <li>for every node not scheduled yet, the earliest it can start plus its bottom level.</li>
+	 * </ul>
+	 * Nodes are only ever appended, so a node starts no earlier than the best core allows now, counting the data
+	 * from predecessors already scheduled. Communication costs from predecessors not scheduled yet are ignored,
+	 * as the nodes could share a core.
+	 */
+	public int getLowerBound() {
+		int busy = 0;
+		for (int core = 1; core <= _numberOfCores; core++) {
+			busy += _coreFinishTimes[core];
+		}
+		int bound = Math.max(_totalTime, (busy + _remainingWeight + _numberOfCores - 1) / _numberOfCores);
+
+		// nodes are in topological order, so the predecessors of a node are done before it
+		int[] earliestStart = new int[_dag.size()];
+		for (int node = 0; node < _dag.size(); node++) {
+			if (isScheduled(node)) {
+				continue;
+			}
+			int unscheduledFinish = 0;
+			for (int predecessor : _dag.getPredecessors(node)) {
+				if (!isScheduled(predecessor)) {
+					unscheduledFinish = Math.max(unscheduledFinish, earliestStart[predecessor] + _dag.getWeight(predecessor));
+				}
+			}
+			int start = Integer.MAX_VALUE;
+			for (int core = 1; core <= Math.min(_usedCores + 1, _numberOfCores); core++) {
+				start = Math.min(start, Math.max(unscheduledFinish, getEarliestStartTime(node, core)));
+			}
+			earliestStart[node] = start;
+			bound = Math.max(bound, start + _dag.getBottomLevel(node));
+		}
+		return bound;
+	}
+
+	/**
+	 * @return the total time the cores have spent waiting so far
+	 */
+	public int getIdleTime() {
+		int busy = 0;
+		for (int core = 1; core <= _numberOfCores; core++) {
+			busy += _coreFinishTimes[core];
+		}
+		return busy - (_dag.getTotalWeight() - _remainingWeight);
+	}
+
+	public int getStartTime(int node) {
+		return _startTimes[node];
+	}
+
+	public int getCore(int node) {
+		return _cores[node];
+	}
+
+	public int getFinishTime(int node) {
+		return _startTimes[node] + _dag.getWeight(node);
+	}
+
+	public int getFinishTimeForCore(int core) {
+		return _coreFinishTimes[core];
+	}
+
+	public int getTotalTime() {
+		return _totalTime;
+	}
+
+	public int getScheduledCount() {
+		return _scheduledCount;
+	}
+
+	/**
+	 * @return the highest core number used so far. Cores are used in order, so the ones above it are all empty.
+	 */
+	public int getUsedCores() {
+		return _usedCores;
+	}
+
+	public int getNumberOfCores() {
+		return _numberOfCores;
+	}
+
+	public boolean isComplete() {
+		return _scheduledCount == _dag.size();
+	}
+
+	/**
+	 * @return node name to start time and core, for every scheduled node
+	 */
+	public HashMap<String, NodeSchedule> toNodeSchedules() {
+		HashMap<String, NodeSchedule> schedule = new HashMap<String, NodeSchedule>();
+		for (int node = 0; node < _dag.size(); node++) {
+			if (isScheduled(node)) {
+				schedule.put(_dag.getName(node), new NodeScheduleImp(_startTimes[node], _cores[node]));
+			}
+		}
+		return schedule;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof ArraySchedule)) {
+			return false;
+		}
+		ArraySchedule other = (ArraySchedule) obj;
+		return _scheduledCount == other._scheduledCount && _totalTime == other._totalTime
+				&& Arrays.equals(_startTimes, other._startTimes) && Arrays.equals(_cores, other._cores);
+	}
+
+	@Override
+	public int hashCode() {
+		if (_hash == 0) {
+			_hash = 31 * Arrays.hashCode(_startTimes) + Arrays.hashCode(_cores);
+		}
+		return _hash;
+	}
+}
@@ -48,6 +48,15 @@ public class DAGImp implements DAG {
         return instance;
     }
 
+    /**
+     * Creates a new, empty graph which is not the shared instance,
+     * e.g. to hold a transformed copy of the input graph.
+     * @return DAG
+     */
+    public static DAG createDetached() {
+        return new DAGImp();
+    }
+
     /**
      * Creates a new, empty DAGImp object. Private due to singleton.
      */
@@ -0,0 +1,146 @@
+package implementations.structures;
+
+import interfaces.structures.DAG;
+import interfaces.structures.Node;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * This class is a read-only copy of a DAG held in arrays, for searches which look at the graph
+ * millions of times and cannot afford a hash map lookup for every predecessor.
+ *
+ * Nodes are numbered 0 to n - 1 in a topological order (ties broken by name, so the numbering
+ * never changes between runs), so every predecessor has a smaller number than its successors.
+ */
+public class IndexedDAG {
+	private final String[] _names;
+	private final int[] _weights;
+	private final int[][] _predecessors;
+	private final int[][] _predecessorCosts;
+	private final int[][] _successors;
+	private final int[] _bottomLevels;
+	private final int _totalWeight;
+	private final Map<String, Integer> _indexOf = new HashMap<String, Integer>();
+
+	/**
+	 * @param dag - the graph to copy
+	 */
+	public IndexedDAG(DAG dag) {
+		List<Node> order = topologicalOrder(dag);
+		int n = order.size();
+		_names = new String[n];
+		_weights = new int[n];
+		_predecessors = new int[n][];
+		_predecessorCosts = new int[n][];
+		_successors = new int[n][];
+		_bottomLevels = new int[n];
+
+		int totalWeight = 0;
+		for (int i = 0; i < n; i++) {
+			_names[i] = order.get(i).getName();
+			_weights[i] = order.get(i).getWeight();
+			_indexOf.put(_names[i], i);
+			totalWeight += _weights[i];
+		}
+		_totalWeight = totalWeight;
+
+		for (int i = 0; i < n; i++) {
+			Node node = order.get(i);
+			List<Node> predecessors = node.getPredecessors();
+			_predecessors[i] = new int[predecessors.size()];
+			_predecessorCosts[i] = new int[predecessors.size()];
+			for (int j = 0; j < predecessors.size(); j++) {
+				_predecessors[i][j] = _indexOf.get(predecessors.get(j).getName());
+				_predecessorCosts[i][j] = node.getInArc(predecessors.get(j)).getWeight();
+			}
+			List<Node> successors = node.getSuccessors();
+			_successors[i] = new int[successors.size()];
+			for (int j = 0; j < successors.size(); j++) {
+				_successors[i][j] = _indexOf.get(successors.get(j).getName());
+			}
+		}
+
+		for (int i = n - 1; i >= 0; i--) {
+			int heaviestSuccessor = 0;
+			for (int successor : _successors[i]) {
+				heaviestSuccessor = Math.max(heaviestSuccessor, _bottomLevels[successor]);
+			}
+			_bottomLevels[i] = _weights[i] + heaviestSuccessor;
+		}
+	}
+
+	private static List<Node> topologicalOrder(DAG dag) {
+		Map<Node, Integer> remainingPredecessors = new HashMap<Node, Integer>();
+		PriorityQueue<Node> ready = new PriorityQueue<Node>(Comparator.comparing(Node::getName));
+		for (Node node : dag.getAllNodes()) {
+			remainingPredecessors.put(node, node.getPredecessors().size());
+			if (node.getPredecessors().isEmpty()) {
+				ready.add(node);
+			}
+		}
+		List<Node> order = new ArrayList<Node>();
+		while (!ready.isEmpty()) {
+			Node node = ready.poll();
+			order.add(node);
+			for (Node successor : node.getSuccessors()) {
+				int remaining = remainingPredecessors.get(successor) - 1;
+				remainingPredecessors.put(successor, remaining);
+				if (remaining == 0) {
+					ready.add(successor);
+				}
+			}
+		}
+		return order;
+	}
+
+	public int size() {
+		return _names.length;
+	}
+
+	public String getName(int node) {
+		return _names[node];
+	}
+
+	/**
+	 * @return the number of the node with the given name, or -1 if there is none
+	 */
+	public int indexOf(String name) {
+		Integer index = _indexOf.get(name);
+		return (index == null) ? -1 : index;
+	}
+
+	public int getWeight(int node) {
+		return _weights[node];
+	}
+
+	public int[] getPredecessors(int node) {
+		return _predecessors[node];
+	}
+
+	/**
+	 * @return the communication cost of the arc from each predecessor, in the order of {@link #getPredecessors(int)}
+	 */
+	public int[] getPredecessorCosts(int node) {
+		return _predecessorCosts[node];
+	}
+
+	public int[] getSuccessors(int node) {
+		return _successors[node];
+	}
+
+	/**
+	 * @return the total weight of the heaviest path from the node to an exit node, including the node
+	 */
+	public int getBottomLevel(int node) {
+		return _bottomLevels[node];
+	}
+
+	public int getTotalWeight() {
+		return _totalWeight;
+	}
+}
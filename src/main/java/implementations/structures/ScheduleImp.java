@@ -3,13 +3,16 @@ package implementations.structures;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import implementations.algorithm.AlgorithmNodeImp;
 import interfaces.algorithm.AlgorithmNode;
 import interfaces.structures.DAG;
 import interfaces.structures.Node;
+import interfaces.structures.NodeSchedule;
 import interfaces.structures.Schedule;
 
 /**
@@ -36,15 +39,28 @@ public class ScheduleImp implements Schedule {
 	private List<Integer> _startTimeForNodes;
 	private int _totalTime;
 	private int _numberOfCores;
-	private DAG _dag = DAGImp.getInstance();
+	private DAG _dag;
 
 	private Map<Integer, AlgorithmNode> _lastAlgNodeOnCore;
 
 	/**
 	 * The default constructor should only be called when 
 	 * the schedule is empty. (No node is in the schedule).
+	 * The nodes belong to the shared graph; a solve with its own graph uses
+	 * {@link #ScheduleImp(DAG, int)} or {@link implementations.io.SolveContext#createEmptySchedule()}.
 	 */
 	public ScheduleImp(int numberOfCores) {
+		this(DAGImp.getInstance(), numberOfCores);
+	}
+
+	/**
+	 * Creates an empty schedule of the nodes in the given graph, rather than the shared one.
+	 * 
+	 * @param dag - the graph the nodes in this schedule belong to
+	 * @param numberOfCores
+	 */
+	public ScheduleImp(DAG dag, int numberOfCores) {
+		_dag = dag;
 		_algNodes = new ArrayList<AlgorithmNode>();
 		_numberOfCores = numberOfCores;
 		_startTimeForNodes = new ArrayList<Integer>();
@@ -55,6 +71,50 @@ public class ScheduleImp implements Schedule {
 		}
 	}
 
+	/**
+	 * Rebuilds a complete schedule from the start time and core of every node, e.g. one produced outside the search.
+	 * Nodes are appended in order of start time, so each starts as early as its core and predecessors allow,
+	 * which is never later than the given start time if the given schedule is valid.
+	 * 
+	 * @param dag - the graph the nodes belong to
+	 * @param numberOfCores
+	 * @param nodeSchedules - node name to start time and core, for every node in the graph
+	 * @return the rebuilt schedule
+	 */
+	public static Schedule fromNodeSchedules(DAG dag, int numberOfCores, Map<String, ? extends NodeSchedule> nodeSchedules) {
+		//Topological order first, so a predecessor with no weight still comes before a node starting at the same time.
+		List<Node> order = new ArrayList<Node>();
+		Map<Node, Integer> remainingPredecessors = new HashMap<Node, Integer>();
+		LinkedList<Node> ready = new LinkedList<Node>();
+		for (Node node : dag.getAllNodes()) {
+			remainingPredecessors.put(node, node.getPredecessors().size());
+			if (node.getPredecessors().isEmpty()) {
+				ready.add(node);
+			}
+		}
+		while (!ready.isEmpty()) {
+			Node node = ready.poll();
+			order.add(node);
+			for (Node successor : node.getSuccessors()) {
+				int remaining = remainingPredecessors.get(successor) - 1;
+				remainingPredecessors.put(successor, remaining);
+				if (remaining == 0) {
+					ready.add(successor);
+				}
+			}
+		}
+		//Stable sort, keeping the topological order between nodes with the same start time.
+		order.sort(Comparator.comparingInt(n -> nodeSchedules.get(n.getName()).getBestStartTime()));
+
+		Schedule schedule = new ScheduleImp(dag, numberOfCores);
+		for (Node node : order) {
+			AlgorithmNode algNode = new AlgorithmNodeImp(node.getName());
+			algNode.setCore(nodeSchedules.get(node.getName()).getBestProcessor());
+			schedule = schedule.getNextSchedule(algNode);
+		}
+		return schedule;
+	}
+
 	/**
 	 * This constructor complies with the old way of creating a scheudle
 	 * (that is pass in all the algNodes generated as a "valid schedule")
@@ -66,6 +126,7 @@ public class ScheduleImp implements Schedule {
 	 */
 	@Deprecated
 	public ScheduleImp(List<AlgorithmNode> algNodes, int numberOfCores) {
+		_dag = DAGImp.getInstance();
 		_algNodes = algNodes;
 		_startTimeForNodes = new ArrayList<Integer>();
 		_numberOfCores = numberOfCores;
@@ -92,9 +153,10 @@ public class ScheduleImp implements Schedule {
 	 * @param numberOfCores
 	 * @param lastAlgNodeOnCore
 	 */
-	private ScheduleImp(List<AlgorithmNode> algNodes, int numberOfCores, 
+	private ScheduleImp(DAG dag, List<AlgorithmNode> algNodes, int numberOfCores, 
 			Map<Integer, AlgorithmNode> lastAlgNodeOnCore, 
 			List<Integer> startTimeForNodes, int totalTime) {
+		_dag = dag;
 		_algNodes = algNodes;
 		_startTimeForNodes = new ArrayList<Integer>();
 		_numberOfCores = numberOfCores;
@@ -142,7 +204,7 @@ public class ScheduleImp implements Schedule {
 		lastAlgNodeOnCore.putAll(_lastAlgNodeOnCore);
 		lastAlgNodeOnCore.put(current.getCore(), current);
 
-		return new ScheduleImp (algNodes, _numberOfCores, lastAlgNodeOnCore, startTimeForNodes, totalTime);
+		return new ScheduleImp (_dag, algNodes, _numberOfCores, lastAlgNodeOnCore, startTimeForNodes, totalTime);
 	}
 
 
@@ -0,0 +1,59 @@
+package interfaces.algorithm;
+
+import interfaces.structures.Schedule;
+
+import java.util.List;
+
+/**
+ * The class which implements this interface decides the order in which the search tries its branches:
+ * which node to schedule next, and on which core.
+ *
+ * The order does not change which schedules are explored, only how soon good ones are found. The sooner a
+ * good schedule is found, the more of the rest of the search is cut off by the bound.
+ * The default methods keep the order they are given.
+ *
+ * @see implementations.algorithm.BottomLevelOrdering
+ * @see implementations.algorithm.EarliestStartOrdering
+ */
+public interface BranchOrdering {
+	/**
+	 * Tries the nodes in the order they became reachable, and the cores in index order.
+	 */
+	BranchOrdering INDEX = new BranchOrdering() {};
+
+	/**
+	 * @param nodes - the nodes which could be scheduled next, which must not be changed
+	 * @param schedule - the partial schedule they would be appended to
+	 * @return the nodes in the order to try them
+	 */
+	default List<AlgorithmNode> orderNodes(List<AlgorithmNode> nodes, Schedule schedule) {
+		return nodes;
+	}
+
+	/**
+	 * @param node - the node to schedule
+	 * @param cores - the cores worth trying, in index order, which must not be changed
+	 * @param schedule - the partial schedule the node would be appended to
+	 * @return the cores in the order to try them
+	 */
+	default List<Integer> orderCores(AlgorithmNode node, List<Integer> cores, Schedule schedule) {
+		return cores;
+	}
+
+	/**
+	 * @return an ordering which orders the nodes by the first ordering and the cores by the second
+	 */
+	static BranchOrdering combine(BranchOrdering nodeOrdering, BranchOrdering coreOrdering) {
+		return new BranchOrdering() {
+			@Override
+			public List<AlgorithmNode> orderNodes(List<AlgorithmNode> nodes, Schedule schedule) {
+				return nodeOrdering.orderNodes(nodes, schedule);
+			}
+
+			@Override
+			public List<Integer> orderCores(AlgorithmNode node, List<Integer> cores, Schedule schedule) {
+				return coreOrdering.orderCores(node, cores, schedule);
+			}
+		};
+	}
+}
@@ -0,0 +1,58 @@
+package interfaces.algorithm;
+
+import interfaces.structures.NodeSchedule;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The class which implements this interface carries the progress of a running search to a {@link SearchView}, and
+ * a request to stop back to the search. The view only polls it, at its own frame rate, so the search never waits on
+ * the view.
+ *
+ * @see implementations.algorithm.SearchEventChannel
+ */
+public interface SearchChannel {
+
+	/**
+	 * A best schedule found by the search, which does not change once published.
+	 */
+	interface Incumbent {
+		/**
+		 * @return total time of the schedule
+		 */
+		int getBestTime();
+
+		/**
+		 * @return node name to start time and core of the schedule
+		 */
+		Map<String, NodeSchedule> getSchedule();
+	}
+
+	/**
+	 * @return the most recent best schedule, or null if none has been published yet
+	 */
+	Incumbent getLatestIncumbent();
+
+	/**
+	 * Removes and returns the times of every improvement published since the last call, oldest first.
+	 */
+	List<Integer> drainImprovements();
+
+	/**
+	 * @return number of recursive calls the search has made so far
+	 */
+	long getExpansions();
+
+	/**
+	 * Asks the search to stop as soon as it can, with the best schedule found so far.
+	 */
+	void cancel();
+
+	boolean isCancelled();
+
+	/**
+	 * @return true once the search has finished, whether it was cancelled or not
+	 */
+	boolean isFinished();
+}
@@ -0,0 +1,47 @@
+package interfaces.algorithm;
+
+import interfaces.structures.DAG;
+
+/**
+ * The class which implements this interface shows a running search to the user.
+ *
+ * The solver core never refers to a view class directly: the view is loaded by name only when
+ * visualisation is asked for, so a headless run never loads Swing, GraphStream or JFreeChart,
+ * and the core can be built without them.
+ *
+ * @see visualisation.SwingSearchView
+ */
+public interface SearchView {
+	/**
+	 * Name of the view used by {@link #load()}, part of the optional GUI module.
+	 */
+	String DEFAULT_VIEW = "visualisation.SwingSearchView";
+
+	/**
+	 * Opens the view, which then follows the search through the channel until it finishes.
+	 *
+	 * @param title - name of the graph being scheduled
+	 * @param dag - the graph being scheduled
+	 * @param numberOfCores - number of processors being scheduled on
+	 * @param noOfParallerCores - number of threads running the search
+	 * @param channel - where the search publishes its progress
+	 */
+	void show(String title, DAG dag, int numberOfCores, int noOfParallerCores, SearchChannel channel);
+
+	/**
+	 * Loads the default view.
+	 *
+	 * @return a new instance of {@link #DEFAULT_VIEW}
+	 * @throws IllegalStateException if the GUI module is not on the class path
+	 */
+	static SearchView load() {
+		try {
+			return (SearchView) Class.forName(DEFAULT_VIEW).getDeclaredConstructor().newInstance();
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException("Visualisation is not available in this build, "
+					+ DEFAULT_VIEW + " is not on the class path.", e);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Could not create " + DEFAULT_VIEW, e);
+		}
+	}
+}
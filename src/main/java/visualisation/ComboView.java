@@ -6,6 +6,8 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map.Entry;
 import java.awt.GridLayout;
 import java.awt.Image;
 import java.awt.event.ActionEvent;
@@ -22,6 +24,7 @@ import javax.swing.JProgressBar;
 import javax.swing.JScrollBar;
 import javax.swing.JScrollPane;
 import javax.swing.ScrollPaneConstants;
+import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.UIManager.LookAndFeelInfo;
 import javax.swing.border.BevelBorder;
@@ -29,6 +32,8 @@ import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 
 import implementations.structures.DAGImp;
+import interfaces.algorithm.SearchChannel;
+import interfaces.algorithm.SearchChannel.Incumbent;
 import interfaces.structures.DAG;
 import interfaces.structures.NodeSchedule;
 import net.miginfocom.swing.MigLayout;
@@ -40,6 +45,8 @@ import scala.xml.include.sax.Main;
  */
 @SuppressWarnings("serial")
 public class ComboView extends JFrame {
+	// Time between two polls of the search, ~25 frames per second:
+	private static final int FRAME_INTERVAL_MS = 40;
 	//Panels:
 	private JPanel _contentPane;
 	private JPanel _panelTop;
@@ -51,11 +58,17 @@ public class ComboView extends JFrame {
 	private JButton _bestTimeLabel; 
 	private JButton _parallelLabel;
 	// Model:
-	private TableModel _tableModel;
+	private GanttModel _ganttModel;
+	private BarChartModel _chart;
 	private int _cores;
+	private DAG _dag;
+	// Search being watched:
+	private SearchChannel _channel;
+	private Incumbent _shownIncumbent;
+	private Timer _frameTimer;
 	// Labels
 	private JLabel _statusLabel;
-	private static String _fileName;
+	private String _fileName;
 	// Extra JFrame:
 	private JFrame _tableFrame;
 	// Icons
@@ -65,10 +78,11 @@ public class ComboView extends JFrame {
 
 	/**
 	 * Create the frame.
+	 * @param fileName name of the .dot file being processed
 	 * @param _numberOfCores 
 	 * @param _dag 
 	 */
-	public ComboView(TableModel tableModel, DAG dag, int numberOfCores, BarChartModel chart) {
+	public ComboView(String fileName, GanttModel ganttModel, DAG dag, int numberOfCores, BarChartModel chart) {
 		
 		try {
 		    for (LookAndFeelInfo info : UIManager.getInstalledLookAndFeels()) {
@@ -82,8 +96,11 @@ public class ComboView extends JFrame {
 			e.printStackTrace();
 		}
 		
-		_tableModel = TableModel.getInstance();
+		_fileName = fileName;
+		_ganttModel = ganttModel;
+		_chart = chart;
 		_cores = numberOfCores;
+		_dag = dag;
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		setBounds(100, 100, 1300, 700);
 		_contentPane = buildPanel();
@@ -158,9 +175,10 @@ public class ComboView extends JFrame {
         	public void actionPerformed(ActionEvent e) {
         		int confirmDialog = JOptionPane.YES_NO_OPTION;
         		confirmDialog = JOptionPane.showConfirmDialog (null, "Are you sure you want to stop the"
-        				+ " process? \nThis will end the current program and exit the interface.","Warning",confirmDialog);
+        				+ " process? \nThe best schedule found so far will be kept.","Warning",confirmDialog);
         		if(confirmDialog == JOptionPane.YES_OPTION){
-        			System.exit(0);
+        			// the search stops at its next expansion and finishes as usual, with the best schedule so far
+        			_channel.cancel();
         		}
         	}
         });
@@ -182,14 +200,14 @@ public class ComboView extends JFrame {
     	_panelTop.add(panelStopBtn);
     	
 		// Adding GraphStream to left side
-		GraphStreamView gv = new GraphStreamView(_cores);
+		GraphStreamView gv = new GraphStreamView(_dag, _cores);
 		JPanel p = gv.getPanel();
 		p.setVisible(true);
 		_panelLeft.add(p);
 		
 		// Making JFrame to display the schedule
-		GraphViewImp table = new GraphViewImp(_tableModel);
-		JScrollPane pane = table.getPane();
+		GanttChart gantt = new GanttChart(_ganttModel);
+		JScrollPane pane = gantt.getPane();
 		pane.setVerticalScrollBarPolicy(ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS);
 		_tableFrame = new JFrame();
 		_tableFrame.setSize(500, 520);
@@ -201,7 +219,7 @@ public class ComboView extends JFrame {
 		
 		// Populating Bottom Panel:
 		JButton coresLabel = new JButton();
-		coresLabel.setText("Scheduling Cores: "+ (_tableModel.getColumnCount()-1));
+		coresLabel.setText("Scheduling Cores: "+ _cores);
 		coresLabel.setFont(new Font("Trebuchet MS", Font.BOLD, 18));
 		coresLabel.setBackground(new Color(255, 193, 193));
 
@@ -274,10 +292,56 @@ public class ComboView extends JFrame {
         panel.add(_panelBottom, "span, center, width 100%, height 13%");
     }
 
-    public static void setFileName(String name){
-    	_fileName = name;
+    /**
+     * Starts polling the search at a fixed frame rate on the Event Dispatch Thread. Everything published since
+     * the previous frame is shown at once, and polling stops after the frame that sees the search finish.
+     * @param channel the search to watch
+     */
+    public void listenTo(SearchChannel channel){
+    	_channel = channel;
+    	_frameTimer = new Timer(FRAME_INTERVAL_MS, new ActionListener()
+    	{
+    		@Override
+    		public void actionPerformed(ActionEvent e) {
+    			pollSearch();
+    		}
+    	});
+    	_frameTimer.start();
     }
-    
+
+    /**
+     * Method called once per frame to bring the view up to date with the search.
+     */
+    private void pollSearch(){
+    	// read the flag first, so everything published before the search finished is seen in this frame
+    	boolean finished = _channel.isFinished();
+
+    	List<Integer> improvements = _channel.drainImprovements();
+    	for (int time : improvements){
+    		_chart.addDataToSeries(time);
+    	}
+
+    	// only the latest schedule is drawn, however many were found since the last frame
+    	Incumbent incumbent = _channel.getLatestIncumbent();
+    	if (incumbent != null && incumbent != _shownIncumbent){
+    		_shownIncumbent = incumbent;
+    		_ganttModel.changeData(incumbent.getSchedule(), incumbent.getBestTime());
+    		for (Entry<String, NodeSchedule> entry : incumbent.getSchedule().entrySet()){
+    			GraphStreamView.updateNodeColor(entry.getKey(), entry.getValue().getBestProcessor());
+    		}
+    		setBestTimeText(incumbent.getBestTime());
+    	}
+
+    	setCallsButtonText((int) _channel.getExpansions());
+
+    	if (finished){
+    		_frameTimer.stop();
+    		// STOP THE CLOCK, now that we're done with it and set Label to done.
+    		Clock.getInstance().stopClock();
+    		setStatusLabel(Clock.getInstance().getProcessStatus());
+    	}
+    }
+
     public void setCallsButtonText(int calls){
     	_callsLabel.setText("Recursive Calls: " + calls);
     }
@@ -0,0 +1,207 @@
+package visualisation;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+
+import javax.swing.JComponent;
+import javax.swing.JScrollPane;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+/**
+ * Gantt chart of the current best schedule: one column per core, time running downwards.
+ * Only the part of the chart inside the clip (the visible region of the scroll pane) is painted,
+ * so the cost of a repaint depends on the tasks in view rather than on the whole schedule.
+ */
+@SuppressWarnings("serial")
+public class GanttChart extends JComponent implements Scrollable {
+	private static final int AXIS_WIDTH = 60;
+	private static final int COLUMN_WIDTH = 100;
+	private static final int HEADER_HEIGHT = 24;
+	// Height of one time unit for small schedules:
+	private static final double UNIT_HEIGHT = 16;
+	// Larger schedules are scaled down to fit this height:
+	private static final int MAX_HEIGHT = 20000;
+	// Minimum gap between two labels on the time axis:
+	private static final int TICK_SPACING = 20;
+
+	private final GanttModel _model;
+	private double _unitHeight = UNIT_HEIGHT;
+
+	public GanttChart(GanttModel model) {
+		_model = model;
+		setOpaque(true);
+		setBackground(Color.WHITE);
+		setFont(new Font("Trebuchet MS", Font.PLAIN, 12));
+		_model.addChangeListener(new ChangeListener() {
+			@Override
+			public void stateChanged(ChangeEvent e) {
+				int bestTime = Math.max(1, _model.getBestTime());
+				_unitHeight = Math.min(UNIT_HEIGHT, (double) MAX_HEIGHT / bestTime);
+				revalidate();
+				repaint();
+			}
+		});
+	}
+
+	/**
+	 * Method returns the chart inside a scroll pane, with the core names as a fixed header.
+	 * @return JScrollPane containing the chart.
+	 */
+	public JScrollPane getPane() {
+		JScrollPane pane = new JScrollPane(this);
+		pane.setColumnHeaderView(new Header());
+		pane.getViewport().setBackground(Color.WHITE);
+		return pane;
+	}
+
+	@Override
+	public Dimension getPreferredSize() {
+		int height = (int) Math.ceil(_model.getBestTime() * _unitHeight);
+		return new Dimension(AXIS_WIDTH + _model.getCores() * COLUMN_WIDTH, height);
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		Rectangle clip = g.getClipBounds();
+		if (clip == null) {
+			clip = new Rectangle(0, 0, getWidth(), getHeight());
+		}
+		g.setColor(getBackground());
+		g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+		int from = (int) Math.floor(clip.y / _unitHeight);
+		int to = (int) Math.ceil((clip.y + clip.height) / _unitHeight);
+
+		paintAxis(g, from, to);
+
+		int firstCore = Math.max(1, (clip.x - AXIS_WIDTH) / COLUMN_WIDTH + 1);
+		int lastCore = Math.min(_model.getCores(), (clip.x + clip.width - AXIS_WIDTH) / COLUMN_WIDTH + 1);
+		FontMetrics metrics = g.getFontMetrics();
+		for (int core = firstCore; core <= lastCore; core++) {
+			int x = AXIS_WIDTH + (core - 1) * COLUMN_WIDTH;
+			for (GanttModel.Interval interval : _model.getIntervalsBetween(core, from, to)) {
+				int top = toY(interval.getStart());
+				int height = Math.max(1, toY(interval.getEnd()) - top);
+
+				g.setColor(colourOf(interval.getName()));
+				g.fillRect(x + 2, top, COLUMN_WIDTH - 4, height);
+				g.setColor(Color.DARK_GRAY);
+				g.drawRect(x + 2, top, COLUMN_WIDTH - 4, height);
+
+				if (height > metrics.getAscent()) {
+					String label = interval.getName().toUpperCase();
+					g.setColor(Color.BLACK);
+					g.drawString(label, x + (COLUMN_WIDTH - metrics.stringWidth(label)) / 2,
+							top + (height + metrics.getAscent()) / 2);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Draws the time labels down the left of the chart, spaced so they never overlap.
+	 */
+	private void paintAxis(Graphics g, int from, int to) {
+		int step = 1;
+		while (step * _unitHeight < TICK_SPACING) {
+			step = nextTickStep(step);
+		}
+
+		g.setColor(Color.GRAY);
+		FontMetrics metrics = g.getFontMetrics();
+		for (int time = (from / step) * step; time <= to && time <= _model.getBestTime(); time += step) {
+			int y = toY(time);
+			g.drawLine(AXIS_WIDTH - 6, y, AXIS_WIDTH, y);
+			String label = Integer.toString(time);
+			g.drawString(label, AXIS_WIDTH - 8 - metrics.stringWidth(label), y + metrics.getAscent());
+		}
+		g.drawLine(AXIS_WIDTH, toY(from), AXIS_WIDTH, toY(to));
+	}
+
+	/**
+	 * Steps between time labels go 1, 2, 5, 10, 20, 50, ...
+	 */
+	private static int nextTickStep(int step) {
+		int magnitude = 1;
+		while (magnitude * 10 <= step) {
+			magnitude *= 10;
+		}
+		int leading = step / magnitude;
+		if (leading == 1) {
+			return 2 * magnitude;
+		} else if (leading == 2) {
+			return 5 * magnitude;
+		}
+		return 10 * magnitude;
+	}
+
+	private int toY(int time) {
+		return (int) Math.round(time * _unitHeight);
+	}
+
+	/**
+	 * Each task keeps the same colour across schedules and runs.
+	 * @return Color with all R,G and B values light enough to read a label on.
+	 */
+	private static Color colourOf(String name) {
+		float hue = ((name.hashCode() & 0x7fffffff) % 360) / 360f;
+		return Color.getHSBColor(hue, 0.35f, 1f);
+	}
+
+	@Override
+	public Dimension getPreferredScrollableViewportSize() {
+		return new Dimension(AXIS_WIDTH + _model.getCores() * COLUMN_WIDTH, 480);
+	}
+
+	@Override
+	public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+		return (orientation == SwingConstants.VERTICAL) ? (int) UNIT_HEIGHT : COLUMN_WIDTH / 4;
+	}
+
+	@Override
+	public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+		return (orientation == SwingConstants.VERTICAL) ? visibleRect.height : visibleRect.width;
+	}
+
+	@Override
+	public boolean getScrollableTracksViewportWidth() {
+		return false;
+	}
+
+	@Override
+	public boolean getScrollableTracksViewportHeight() {
+		return false;
+	}
+
+	/**
+	 * Core names shown above the chart, which stay in place while the chart scrolls.
+	 */
+	private class Header extends JComponent {
+		@Override
+		public Dimension getPreferredSize() {
+			return new Dimension(GanttChart.this.getPreferredSize().width, HEADER_HEIGHT);
+		}
+
+		@Override
+		protected void paintComponent(Graphics g) {
+			g.setColor(Color.WHITE);
+			g.fillRect(0, 0, getWidth(), getHeight());
+			g.setColor(Color.BLACK);
+			g.setFont(GanttChart.this.getFont().deriveFont(Font.BOLD));
+			FontMetrics metrics = g.getFontMetrics();
+			int baseline = (HEADER_HEIGHT + metrics.getAscent()) / 2;
+			g.drawString("Time", (AXIS_WIDTH - metrics.stringWidth("Time")) / 2, baseline);
+			for (int core = 1; core <= _model.getCores(); core++) {
+				String label = "P" + core;
+				g.drawString(label, AXIS_WIDTH + (core - 1) * COLUMN_WIDTH + (COLUMN_WIDTH - metrics.stringWidth(label)) / 2, baseline);
+			}
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package visualisation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+import interfaces.structures.DAG;
+import interfaces.structures.Node;
+import interfaces.structures.NodeSchedule;
+
+/**
+ * Model for the Gantt chart of the current best schedule.
+ * Every task is stored as a single interval (start, length, node) on its core, so the memory used depends
+ * on the number of tasks rather than on the total time of the schedule.
+ * The intervals of each core are kept sorted by start time, so the tasks in a time window can be found
+ * with a binary search.
+ */
+public class GanttModel {
+
+	/**
+	 * A task placed on a core.
+	 */
+	public static class Interval {
+		private final String _name;
+		private final int _core;
+		private final int _start;
+		private final int _length;
+
+		public Interval(String name, int core, int start, int length) {
+			_name = name;
+			_core = core;
+			_start = start;
+			_length = length;
+		}
+
+		public String getName() {
+			return _name;
+		}
+
+		public int getCore() {
+			return _core;
+		}
+
+		public int getStart() {
+			return _start;
+		}
+
+		public int getLength() {
+			return _length;
+		}
+
+		public int getEnd() {
+			return _start + _length;
+		}
+	}
+
+	private static final Comparator<Interval> BY_START = new Comparator<Interval>() {
+		@Override
+		public int compare(Interval a, Interval b) {
+			return Integer.compare(a.getStart(), b.getStart());
+		}
+	};
+
+	private final DAG _dag;
+	private final int _cores;
+	private int _bestTime;
+	// intervals of each core sorted by start time, index 0 is core 1.
+	private Interval[][] _intervals;
+	private int[][] _starts;
+	private final List<ChangeListener> _listeners = new ArrayList<ChangeListener>();
+
+	/**
+	 * @param dag DAG object, used to look up the weight of each task.
+	 * @param cores integer representing the number of cores.
+	 */
+	public GanttModel(DAG dag, int cores) {
+		_dag = dag;
+		_cores = cores;
+		_intervals = new Interval[cores][0];
+		_starts = new int[cores][0];
+	}
+
+	/**
+	 * Method is called when a better schedule (with lower schedule time) is available. The intervals are rebuilt
+	 * and the listeners notified. Must be called on the Event Dispatch Thread.
+	 * @param map node name to start time and core of the new best schedule.
+	 * @param betterTime total time of the new best schedule.
+	 */
+	public void changeData(Map<String, NodeSchedule> map, int betterTime) {
+		List<List<Interval>> byCore = new ArrayList<List<Interval>>();
+		for (int i = 0; i < _cores; i++) {
+			byCore.add(new ArrayList<Interval>());
+		}
+
+		for (Entry<String, NodeSchedule> entry : map.entrySet()) {
+			Node node = _dag.getNodeByName(entry.getKey());
+			if (node == null) {
+				continue;
+			}
+			NodeSchedule value = entry.getValue();
+			byCore.get(value.getBestProcessor() - 1).add(
+					new Interval(entry.getKey(), value.getBestProcessor(), value.getBestStartTime(), node.getWeight()));
+		}
+
+		Interval[][] intervals = new Interval[_cores][];
+		int[][] starts = new int[_cores][];
+		for (int i = 0; i < _cores; i++) {
+			List<Interval> core = byCore.get(i);
+			Collections.sort(core, BY_START);
+			intervals[i] = core.toArray(new Interval[core.size()]);
+			starts[i] = new int[core.size()];
+			for (int j = 0; j < core.size(); j++) {
+				starts[i][j] = core.get(j).getStart();
+			}
+		}
+
+		_intervals = intervals;
+		_starts = starts;
+		_bestTime = betterTime;
+		fireStateChanged();
+	}
+
+	public int getCores() {
+		return _cores;
+	}
+
+	/**
+	 * @return total time of the schedule shown, 0 before the first schedule.
+	 */
+	public int getBestTime() {
+		return _bestTime;
+	}
+
+	/**
+	 * @param core the core, from 1.
+	 * @return every task on the core, sorted by start time.
+	 */
+	public List<Interval> getIntervals(int core) {
+		return Collections.unmodifiableList(Arrays.asList(_intervals[core - 1]));
+	}
+
+	/**
+	 * Finds the tasks on a core which overlap the time window [from, to).
+	 * @param core the core, from 1.
+	 * @param from start of the window.
+	 * @param to end of the window.
+	 * @return the overlapping tasks, sorted by start time.
+	 */
+	public List<Interval> getIntervalsBetween(int core, int from, int to) {
+		Interval[] intervals = _intervals[core - 1];
+		int[] starts = _starts[core - 1];
+
+		// tasks on one core never overlap, so the task before the first one starting at or after 'from'
+		// is the only earlier task that can still be running at 'from'.
+		int first = Arrays.binarySearch(starts, from);
+		if (first < 0) {
+			first = -first - 1;
+		}
+		if (first > 0 && intervals[first - 1].getEnd() > from) {
+			first--;
+		}
+
+		List<Interval> visible = new ArrayList<Interval>();
+		for (int i = first; i < intervals.length && intervals[i].getStart() < to; i++) {
+			visible.add(intervals[i]);
+		}
+		return visible;
+	}
+
+	public void addChangeListener(ChangeListener listener) {
+		_listeners.add(listener);
+	}
+
+	public void removeChangeListener(ChangeListener listener) {
+		_listeners.remove(listener);
+	}
+
+	private void fireStateChanged() {
+		ChangeEvent event = new ChangeEvent(this);
+		for (ChangeListener listener : _listeners) {
+			listener.stateChanged(event);
+		}
+	}
+}
@@ -9,7 +9,6 @@ import org.graphstream.ui.view.Viewer;
 import implementations.io.Conversion;
 import implementations.algorithm.AlgorithmImp;
 import implementations.io.InputImp;
-import implementations.structures.DAGImp;
 import interfaces.io.Input;
 import interfaces.structures.DAG;
 import interfaces.structures.NodeSchedule;
@@ -50,9 +49,10 @@ public class GraphStreamView implements GraphView {
 	
 	/**
 	 * GraphStreamView constructor - Builds a GraphStream visual representing the DAG of nodes to be processed
+	 * @param dag - The graph being scheduled
 	 * @param coreCount - The number of cores 
 	 */
-	public GraphStreamView(int coreCount){
+	public GraphStreamView(DAG dag, int coreCount){
 		
 		//Initialising fields
 		_graphNodeNodeMap = new HashMap<interfaces.structures.Node,Node>();
@@ -62,7 +62,7 @@ public class GraphStreamView implements GraphView {
 		
 		//Gets random colours for different processors
 		setProcessorColours();
-		_dag = DAGImp.getInstance();
+		_dag = dag;
 		
 		List<interfaces.structures.Node> nodes = _dag.getAllNodes();
 		
@@ -0,0 +1,19 @@
+package visualisation;
+
+import interfaces.algorithm.SearchChannel;
+import interfaces.algorithm.SearchView;
+import interfaces.structures.DAG;
+
+/**
+ * Entry point of the GUI module: opens the {@link ComboView} for a search.
+ * Loaded by name through {@link SearchView#load()}, so the solver core never links against Swing.
+ */
+public class SwingSearchView implements SearchView {
+
+	@Override
+	public void show(String title, DAG dag, int numberOfCores, int noOfParallerCores, SearchChannel channel) {
+		ComboView view = new ComboView(title, new GanttModel(dag, numberOfCores), dag, numberOfCores, new BarChartModel());
+		view.setParallelLabel(noOfParallerCores);
+		view.listenTo(channel);
+	}
+}
@@ -0,0 +1,69 @@
+package algorithm;
+
+import interfaces.structures.DAG;
+import interfaces.structures.Node;
+import interfaces.structures.NodeSchedule;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks a complete schedule against its graph, for tests of the solvers.
+ */
+public class ScheduleValidator {
+
+	/**
+	 * @return a description of the first problem found, or null if the schedule is valid and takes totalTime
+	 */
+	public static String validate(DAG dag, int numberOfCores, Map<String, NodeSchedule> schedule, int totalTime) {
+		int finish = 0;
+		for (Node node : dag.getAllNodes()) {
+			NodeSchedule ns = schedule.get(node.getName());
+			if (ns == null) {
+				return node.getName() + " is not scheduled";
+			}
+			if (ns.getBestProcessor() < 1 || ns.getBestProcessor() > numberOfCores) {
+				return node.getName() + " is on core " + ns.getBestProcessor();
+			}
+			for (Node predecessor : node.getPredecessors()) {
+				NodeSchedule ps = schedule.get(predecessor.getName());
+				if (ps == null) {
+					return predecessor.getName() + " is not scheduled";
+				}
+				int ready = ps.getBestStartTime() + predecessor.getWeight();
+				if (ps.getBestProcessor() != ns.getBestProcessor()) {
+					ready += node.getInArc(predecessor).getWeight();
+				}
+				if (ns.getBestStartTime() < ready) {
+					return node.getName() + " starts at " + ns.getBestStartTime() + " before its data from "
+							+ predecessor.getName() + " arrives at " + ready;
+				}
+			}
+			finish = Math.max(finish, ns.getBestStartTime() + node.getWeight());
+		}
+
+		for (int core = 1; core <= numberOfCores; core++) {
+			List<Node> onCore = new ArrayList<Node>();
+			for (Node node : dag.getAllNodes()) {
+				if (schedule.get(node.getName()).getBestProcessor() == core) {
+					onCore.add(node);
+				}
+			}
+			onCore.sort(Comparator.comparingInt(n -> schedule.get(n.getName()).getBestStartTime()));
+			for (int i = 1; i < onCore.size(); i++) {
+				Node previous = onCore.get(i - 1);
+				if (schedule.get(previous.getName()).getBestStartTime() + previous.getWeight()
+						> schedule.get(onCore.get(i).getName()).getBestStartTime()) {
+					return previous.getName() + " and " + onCore.get(i).getName() + " overlap on core " + core;
+				}
+			}
+		}
+
+		if (finish != totalTime) {
+			return "schedule finishes at " + finish + " but reports " + totalTime;
+		}
+		return null;
+	}
+}
@@ -5,6 +5,7 @@ import implementations.algorithm.AlgorithmNodeImp;
 import interfaces.algorithm.AlgorithmNode;
 import implementations.io.Conversion;
 import implementations.io.InputImp;
+import implementations.structures.DAGImp;
 import implementations.structures.ScheduleImp;
 import interfaces.io.Input;
 import interfaces.structures.Schedule;
@@ -22,6 +23,11 @@ public class TestAlgorithmImp {
 	public static final String EXAMPLE_FILE = "test.dot";
 	public static final String EXAMPLE_ISOLATED_NODE = "test2.dot";
 	public static final String EXAMPLE_NON_ISOLATED_NODE_E = "test3.dot";
+	/**
+	 * 0 and 1 both feed 2 and 3, which both feed 4. The optimal schedule on two cores (30) puts 3 before 2
+	 * on the same core, so it is only found if the order of nodes on a core is not ignored.
+	 */
+	public static final String EXAMPLE_STENCIL = "testFiles/Nodes_5_Stencil.dot";
 
 //	@Test
 //	public void testGenerateSchedule() {
@@ -408,6 +414,18 @@ public class TestAlgorithmImp {
 		}
 	}
 
+	/**
+	 * Nodes in a different order on a core start at different times, so duplicate detection must not treat
+	 * those partial schedules as the same.
+	 */
+	@Test
+	public void testOrderOnCoreFindsOptimum() {
+		DAGImp.getNewInstance();
+		AlgorithmImp alg = computeAlgorithmFromInput(EXAMPLE_STENCIL, "2");
+
+		assertEquals(30, alg.getBestTotalTime());
+	}
+
 
 	/**
 	 * Helper method for creating algorithm nodes for testing
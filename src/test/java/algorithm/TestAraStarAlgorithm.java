@@ -0,0 +1,110 @@
+package algorithm;
+
+import implementations.algorithm.AraStarAlgorithm;
+import implementations.algorithm.BitmaskAlgorithm;
+import implementations.algorithm.SearchMetrics;
+import implementations.structures.ArraySchedule;
+import implementations.structures.IndexedDAG;
+import implementations.structures.ScheduleImp;
+import interfaces.structures.DAG;
+import interfaces.structures.Schedule;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertNull;
+
+public class TestAraStarAlgorithm {
+
+	/**
+	 * Given enough time, the search ends with epsilon 1 and an optimal schedule.
+	 */
+	@Test
+	public void testOptimalWithEnoughTime() {
+		String[][] cases = {
+				{"test.dot", "2", "8"},
+				{"testFiles/Nodes_5_Stencil.dot", "2", "30"},
+				{"testFiles/Nodes_7_OutTree.dot", "4", "22"},
+				{"testFiles/Nodes_9_SeriesParallel.dot", "2", "55"},
+				{"testFiles/Nodes_10_Random.dot", "2", "50"},
+				{"testFiles/Nodes_11_OutTree.dot", "4", "227"},
+		};
+		for (String[] c : cases) {
+			DAG dag = TestGraphs.load(c[0]);
+			int cores = Integer.parseInt(c[1]);
+			AraStarAlgorithm alg = new AraStarAlgorithm(dag, cores, 60000, new SearchMetrics(), null);
+
+			assertEquals(c[0], Integer.parseInt(c[2]), alg.getBestTotalTime());
+			assertTrue(c[0], alg.isOptimal());
+			assertNull(c[0], ScheduleValidator.validate(dag, cores, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+		}
+	}
+
+	/**
+	 * Every reported schedule is no worse than the one before, and its lower bound never falls or passes the optimum.
+	 */
+	@Test
+	public void testReportedBoundsHold() {
+		DAG dag = TestGraphs.load("testFiles/Nodes_11_OutTree.dot");
+		AraStarAlgorithm alg = new AraStarAlgorithm(dag, 2, 60000, 3.0, 0.5, new SearchMetrics(), null);
+
+		List<AraStarAlgorithm.Solution> solutions = alg.getSolutions();
+		for (int i = 0; i < solutions.size(); i++) {
+			AraStarAlgorithm.Solution solution = solutions.get(i);
+			assertTrue(solution.getLowerBound() <= 350);
+			assertTrue(solution.getTotalTime() >= 350);
+			assertTrue(solution.getSuboptimality() >= 1);
+			if (i > 0) {
+				assertTrue(solution.getTotalTime() <= solutions.get(i - 1).getTotalTime());
+				assertTrue(solution.getLowerBound() >= solutions.get(i - 1).getLowerBound());
+			}
+		}
+		assertTrue(solutions.get(solutions.size() - 1).isOptimal());
+	}
+
+	/**
+	 * With no time at all, the list schedule is returned with a bound on how far from optimal it is.
+	 */
+	@Test
+	public void testNoTimeGivesListSchedule() {
+		DAG dag = TestGraphs.load("testFiles/Nodes_11_OutTree.dot");
+		AraStarAlgorithm alg = new AraStarAlgorithm(dag, 4, 0, new SearchMetrics(), null);
+
+		assertTrue(alg.getBestTotalTime() >= 227);
+		assertTrue(alg.getLowerBound() <= 227);
+		assertNull(ScheduleValidator.validate(dag, 4, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+	}
+
+	/**
+	 * With no time at all, a better schedule given to start from is kept over the list schedule.
+	 */
+	@Test
+	public void testNoTimeKeepsInitialSchedule() {
+		DAG dag = TestGraphs.load("testFiles/Nodes_11_OutTree.dot");
+		BitmaskAlgorithm optimal = new BitmaskAlgorithm(dag, 4, new SearchMetrics(), null);
+		Schedule initial = ScheduleImp.fromNodeSchedules(dag, 4, optimal.getCurrentBestSchedule());
+		AraStarAlgorithm alg = new AraStarAlgorithm(dag, 4, 0, new SearchMetrics(), null, initial);
+
+		assertEquals(227, alg.getBestTotalTime());
+		assertNull(ScheduleValidator.validate(dag, 4, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+	}
+
+	@Test
+	public void testLowerBoundOfEmptySchedule() {
+		String[][] cases = {
+				{"test.dot", "2", "8"},
+				{"testFiles/Nodes_8_Random.dot", "4", "581"},
+				{"testFiles/Nodes_11_OutTree.dot", "2", "350"},
+		};
+		for (String[] c : cases) {
+			IndexedDAG dag = new IndexedDAG(TestGraphs.load(c[0]));
+			int bound = new ArraySchedule(dag, Integer.parseInt(c[1])).getLowerBound();
+
+			assertTrue(c[0], bound > 0);
+			assertTrue(c[0], bound <= Integer.parseInt(c[2]));
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package algorithm;
+
+import implementations.algorithm.BeamSearchAlgorithm;
+import implementations.algorithm.ListScheduler;
+import implementations.algorithm.SearchMetrics;
+import implementations.io.GraphType;
+import implementations.structures.IndexedDAG;
+import interfaces.structures.DAG;
+import interfaces.structures.NodeSchedule;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertNull;
+
+public class TestBeamSearchAlgorithm {
+
+	/**
+	 * On large graphs the beam is never worse than the list schedule, and better on a fork-join graph.
+	 */
+	@Test
+	public void testNoWorseThanListSchedule() throws IOException {
+		boolean better = false;
+		for (GraphType type : new GraphType[] {GraphType.FORK_JOIN, GraphType.PIPELINE, GraphType.RANDOM}) {
+			DAG dag = TestGraphs.generate(type, 200, 1.0, 3);
+			int listTime = ListScheduler.bottomLevelFirst(new IndexedDAG(dag), 4).getTotalTime();
+			BeamSearchAlgorithm alg = new BeamSearchAlgorithm(dag, 4, 16, 2, new SearchMetrics());
+
+			assertTrue(type.toString(), alg.getBestTotalTime() <= listTime);
+			assertNull(type.toString(), ScheduleValidator.validate(dag, 4, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+			better |= alg.getBestTotalTime() < listTime;
+		}
+		assertTrue(better);
+	}
+
+	/**
+	 * The beam is merged in the same order whatever the number of threads.
+	 */
+	@Test
+	public void testSameResultForAnyNumberOfThreads() throws IOException {
+		DAG dag = TestGraphs.generate(GraphType.STENCIL, 100, 1.0, 3);
+		BeamSearchAlgorithm one = new BeamSearchAlgorithm(dag, 3, 16, 1, new SearchMetrics());
+		BeamSearchAlgorithm four = new BeamSearchAlgorithm(dag, 3, 16, 4, new SearchMetrics());
+
+		assertEquals(one.getBestTotalTime(), four.getBestTotalTime());
+		for (String name : one.getCurrentBestSchedule().keySet()) {
+			NodeSchedule expected = one.getCurrentBestSchedule().get(name);
+			NodeSchedule actual = four.getCurrentBestSchedule().get(name);
+			assertEquals(name, expected.getBestStartTime(), actual.getBestStartTime());
+			assertEquals(name, expected.getBestProcessor(), actual.getBestProcessor());
+		}
+	}
+
+	@Test
+	public void testSmallGraphs() {
+		String[][] cases = {
+				{"test.dot", "2", "8"},
+				{"testFiles/Nodes_7_OutTree.dot", "4", "22"},
+				{"testFiles/Nodes_10_Random.dot", "2", "50"},
+		};
+		for (String[] c : cases) {
+			DAG dag = TestGraphs.load(c[0]);
+			int cores = Integer.parseInt(c[1]);
+			BeamSearchAlgorithm alg = new BeamSearchAlgorithm(dag, cores, BeamSearchAlgorithm.DEFAULT_WIDTH, 1, new SearchMetrics());
+
+			assertTrue(c[0], alg.getBestTotalTime() >= Integer.parseInt(c[2]));
+			assertNull(c[0], ScheduleValidator.validate(dag, cores, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroWidth() {
+		new BeamSearchAlgorithm(TestGraphs.load("test.dot"), 2, 0, 1, new SearchMetrics());
+	}
+}
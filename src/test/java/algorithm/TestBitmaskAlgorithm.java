@@ -0,0 +1,70 @@
+package algorithm;
+
+import implementations.algorithm.AlgorithmImp;
+import implementations.algorithm.BitmaskAlgorithm;
+import implementations.algorithm.SearchMetrics;
+import implementations.io.GraphType;
+import interfaces.structures.DAG;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertNull;
+
+public class TestBitmaskAlgorithm {
+
+	@Test
+	public void testSmallGraphs() {
+		String[][] cases = {
+				{"test.dot", "2", "8"},
+				{"testFiles/Nodes_7_OutTree.dot", "2", "28"},
+				{"testFiles/Nodes_7_OutTree.dot", "4", "22"},
+				{"testFiles/Nodes_8_Random.dot", "2", "581"},
+				{"testFiles/Nodes_9_SeriesParallel.dot", "2", "55"},
+				{"testFiles/Nodes_10_Random.dot", "4", "50"},
+				{"testFiles/Nodes_11_OutTree.dot", "2", "350"},
+				{"testFiles/Nodes_11_OutTree.dot", "4", "227"},
+		};
+		for (String[] c : cases) {
+			DAG dag = TestGraphs.load(c[0]);
+			int cores = Integer.parseInt(c[1]);
+			BitmaskAlgorithm alg = new BitmaskAlgorithm(dag, cores, new SearchMetrics(), null);
+
+			assertEquals(c[0], Integer.parseInt(c[2]), alg.getBestTotalTime());
+			assertNull(c[0], ScheduleValidator.validate(dag, cores, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+		}
+	}
+
+	@Test
+	public void testSameTimeAsAlgorithmImp() throws IOException {
+		long seed = 1;
+		for (GraphType type : GraphType.values()) {
+			for (double ccr : new double[] {0.1, 10.0}) {
+				DAG dag = TestGraphs.generate(type, 8, ccr, seed++);
+				for (int cores = 1; cores <= 3; cores++) {
+					AlgorithmImp expected = new AlgorithmImp(dag, cores, 1, new SearchMetrics(), null, null);
+					BitmaskAlgorithm alg = new BitmaskAlgorithm(dag, cores, new SearchMetrics(), null);
+
+					assertEquals(type + " " + ccr, expected.getBestTotalTime(), alg.getBestTotalTime());
+					assertNull(ScheduleValidator.validate(dag, cores, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+				}
+			}
+		}
+	}
+
+	/**
+	 * The independent nodes of a join can go in any order, which the fixed task order turns into one.
+	 */
+	@Test(timeout = 20000)
+	public void testLargeJoin() throws IOException {
+		DAG dag = TestGraphs.generate(GraphType.JOIN, 18, 10.0, 3);
+		SearchMetrics metrics = new SearchMetrics();
+		BitmaskAlgorithm alg = new BitmaskAlgorithm(dag, 3, metrics, null);
+
+		assertNull(ScheduleValidator.validate(dag, 3, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+		assertTrue(metrics.isFinished());
+	}
+}
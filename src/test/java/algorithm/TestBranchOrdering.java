@@ -0,0 +1,117 @@
+package algorithm;
+
+import implementations.algorithm.AlgorithmImp;
+import implementations.algorithm.AlgorithmNodeImp;
+import implementations.algorithm.BottomLevelOrdering;
+import implementations.algorithm.EarliestStartOrdering;
+import implementations.algorithm.SearchMetrics;
+import implementations.structures.ScheduleImp;
+import interfaces.algorithm.AlgorithmNode;
+import interfaces.algorithm.BranchOrdering;
+import interfaces.structures.DAG;
+import interfaces.structures.Schedule;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestBranchOrdering {
+	/**
+	 * 0 and 1 both feed 2 and 3, which both feed 4. The optimal schedule on two cores (30) puts 3 before 2
+	 * on the same core, so it is only found if the order of nodes on a core is not ignored.
+	 */
+	public static final String STENCIL_FILE = "testFiles/Nodes_5_Stencil.dot";
+
+	@Test
+	public void testHighestBottomLevelFirst() {
+		DAG dag = TestGraphs.load(STENCIL_FILE);
+		List<AlgorithmNode> ordered = new BottomLevelOrdering(dag).orderNodes(nodes("4", "3", "2", "1", "0"),
+				new ScheduleImp(dag, 2));
+
+		// bottom levels 27, 23, 19, 12 and 10
+		assertEquals(Arrays.asList("0", "1", "2", "3", "4"), names(ordered));
+	}
+
+	/**
+	 * With 1 on core 1 and 0 on core 2, 3 can start at 9 on core 2 but only at 14 on core 1.
+	 */
+	@Test
+	public void testEarliestStartCoreFirst() {
+		DAG dag = TestGraphs.load(STENCIL_FILE);
+		Schedule schedule = new ScheduleImp(dag, 2).getNextSchedule(onCore("1", 1)).getNextSchedule(onCore("0", 2));
+
+		List<Integer> ordered = new EarliestStartOrdering(dag).orderCores(new AlgorithmNodeImp("3"), Arrays.asList(1, 2), schedule);
+
+		assertEquals(Arrays.asList(2, 1), ordered);
+	}
+
+	/**
+	 * 4 cannot start before 2 and 3 are scheduled, so its cores are left in index order, even though core 2 is
+	 * free first.
+	 */
+	@Test
+	public void testNodeNotReadyKeepsCoreOrder() {
+		DAG dag = TestGraphs.load(STENCIL_FILE);
+		Schedule schedule = new ScheduleImp(dag, 2).getNextSchedule(onCore("0", 1)).getNextSchedule(onCore("1", 2));
+
+		List<Integer> ordered = new EarliestStartOrdering(dag).orderCores(new AlgorithmNodeImp("4"), Arrays.asList(1, 2), schedule);
+
+		assertEquals(Arrays.asList(1, 2), ordered);
+	}
+
+	/**
+	 * The order only changes how soon good schedules are found, never the optimal total time.
+	 */
+	@Test
+	public void testOrderingsGiveSameOptimum() {
+		String[][] cases = {
+				{STENCIL_FILE, "2", "30"},
+				{"test.dot", "2", "8"},
+				{"testFiles/Nodes_7_OutTree.dot", "4", "22"},
+				{"testFiles/Nodes_10_Random.dot", "2", "50"},
+		};
+		for (String[] c : cases) {
+			DAG dag = TestGraphs.load(c[0]);
+			int cores = Integer.parseInt(c[1]);
+			BranchOrdering[] orderings = {
+					BranchOrdering.INDEX,
+					new BottomLevelOrdering(dag),
+					new EarliestStartOrdering(dag),
+					BranchOrdering.combine(new BottomLevelOrdering(dag), new EarliestStartOrdering(dag)),
+			};
+			for (BranchOrdering ordering : orderings) {
+				AlgorithmImp alg = new AlgorithmImp(dag, cores, 1, new SearchMetrics(), null, null, ordering);
+
+				assertEquals(c[0], Integer.parseInt(c[2]), alg.getBestTotalTime());
+				assertNull(c[0], ScheduleValidator.validate(dag, cores, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+			}
+		}
+	}
+
+	private List<AlgorithmNode> nodes(String... names) {
+		List<AlgorithmNode> nodes = new ArrayList<AlgorithmNode>();
+		for (String name : names) {
+			nodes.add(new AlgorithmNodeImp(name));
+		}
+		return nodes;
+	}
+
+	private List<String> names(List<AlgorithmNode> nodes) {
+		List<String> names = new ArrayList<String>();
+		for (AlgorithmNode node : nodes) {
+			names.add(node.getNodeName());
+		}
+		return names;
+	}
+
+	private AlgorithmNode onCore(String name, int core) {
+		AlgorithmNode node = new AlgorithmNodeImp(name);
+		node.setCore(core);
+		return node;
+	}
+}
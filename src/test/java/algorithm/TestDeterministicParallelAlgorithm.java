@@ -0,0 +1,66 @@
+package algorithm;
+
+import implementations.algorithm.DeterministicParallelAlgorithm;
+import implementations.algorithm.SearchMetrics;
+import implementations.io.GraphType;
+import interfaces.structures.DAG;
+import interfaces.structures.NodeSchedule;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertNull;
+
+public class TestDeterministicParallelAlgorithm {
+
+	@Test
+	public void testSmallGraphs() {
+		String[][] cases = {
+				{"test.dot", "2", "8"},
+				{"testFiles/Nodes_7_OutTree.dot", "2", "28"},
+				{"testFiles/Nodes_9_SeriesParallel.dot", "2", "55"},
+				{"testFiles/Nodes_10_Random.dot", "2", "50"},
+				{"testFiles/Nodes_11_OutTree.dot", "4", "227"},
+		};
+		for (String[] c : cases) {
+			DAG dag = TestGraphs.load(c[0]);
+			int cores = Integer.parseInt(c[1]);
+			for (int threads : new int[] {1, 4}) {
+				DeterministicParallelAlgorithm alg = new DeterministicParallelAlgorithm(dag, cores, threads, new SearchMetrics());
+
+				assertEquals(c[0], Integer.parseInt(c[2]), alg.getBestTotalTime());
+				assertNull(c[0], ScheduleValidator.validate(dag, cores, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+			}
+		}
+	}
+
+	/**
+	 * Runs with the same number of threads give the same schedule, expansions and incumbent improvements.
+	 */
+	@Test
+	public void testSameResultEveryRun() throws IOException {
+		DAG dag = TestGraphs.generate(GraphType.STENCIL, 14, 1.0, 5);
+		SearchMetrics firstMetrics = new SearchMetrics();
+		DeterministicParallelAlgorithm first = new DeterministicParallelAlgorithm(dag, 3, 4, firstMetrics);
+		assertTrue(firstMetrics.getExpansions() > 0);
+
+		for (int run = 0; run < 3; run++) {
+			SearchMetrics metrics = new SearchMetrics();
+			DeterministicParallelAlgorithm alg = new DeterministicParallelAlgorithm(dag, 3, 4, metrics);
+
+			assertEquals(first.getBestTotalTime(), alg.getBestTotalTime());
+			assertEquals(firstMetrics.getExpansions(), metrics.getExpansions());
+			assertEquals(firstMetrics.getIncumbentImprovements(), metrics.getIncumbentImprovements());
+			Map<String, NodeSchedule> expected = first.getCurrentBestSchedule();
+			Map<String, NodeSchedule> actual = alg.getCurrentBestSchedule();
+			for (String name : expected.keySet()) {
+				assertEquals(name, expected.get(name).getBestStartTime(), actual.get(name).getBestStartTime());
+				assertEquals(name, expected.get(name).getBestProcessor(), actual.get(name).getBestProcessor());
+			}
+		}
+	}
+}
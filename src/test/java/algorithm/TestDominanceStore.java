@@ -0,0 +1,108 @@
+package algorithm;
+
+import implementations.algorithm.AlgorithmImp;
+import implementations.algorithm.AlgorithmNodeImp;
+import implementations.algorithm.DominanceStore;
+import implementations.algorithm.SearchMetrics;
+import implementations.io.Conversion;
+import implementations.io.InputImp;
+import implementations.structures.ArcImpl;
+import implementations.structures.DAGImp;
+import implementations.structures.NodeImp;
+import implementations.structures.ScheduleImp;
+import interfaces.algorithm.AlgorithmNode;
+import interfaces.structures.Arc;
+import interfaces.structures.DAG;
+import interfaces.structures.Node;
+import interfaces.structures.Schedule;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+public class TestDominanceStore {
+	private DAG _dag;
+
+	/**
+	 * a (2) -> c (1) with an arc of 5, and b (2) on its own.
+	 */
+	@Before
+	public void setUp() {
+		_dag = DAGImp.createDetached();
+		Node a = new NodeImp("a", 2);
+		Node b = new NodeImp("b", 2);
+		Node c = new NodeImp("c", 1);
+		Arc arc = new ArcImpl(5, a, c);
+		a.addOutArc(arc);
+		c.addInArc(arc);
+		_dag.add(a);
+		_dag.add(b);
+		_dag.add(c);
+		List<Node> startNodes = new ArrayList<Node>();
+		startNodes.add(a);
+		startNodes.add(b);
+		_dag.addStartNodes(startNodes);
+	}
+
+	/**
+	 * With a before b on core 1, c's data is ready earlier than with b before a, and core 1 is free at the same time.
+	 */
+	@Test
+	public void testLaterDataArrivalDominated() {
+		DominanceStore store = new DominanceStore(_dag, 2);
+
+		assertTrue(store.addIfNotDominated(schedule("a", 1, "b", 1)));
+		assertFalse(store.addIfNotDominated(schedule("b", 1, "a", 1)));
+	}
+
+	@Test
+	public void testDominatedProfileReplaced() {
+		DominanceStore store = new DominanceStore(_dag, 2);
+
+		assertTrue(store.addIfNotDominated(schedule("b", 1, "a", 1)));
+		assertTrue(store.addIfNotDominated(schedule("a", 1, "b", 1)));
+		assertFalse(store.addIfNotDominated(schedule("b", 1, "a", 1)));
+	}
+
+	/**
+	 * b on core 2 frees core 1 earlier but keeps core 2 busy, so neither schedule dominates the other.
+	 */
+	@Test
+	public void testIncomparableProfilesKept() {
+		DominanceStore store = new DominanceStore(_dag, 2);
+
+		assertTrue(store.addIfNotDominated(schedule("a", 1, "b", 1)));
+		assertTrue(store.addIfNotDominated(schedule("a", 1, "b", 2)));
+		assertFalse(store.addIfNotDominated(schedule("a", 1, "b", 2)));
+	}
+
+	/**
+	 * Dominance pruning must not change the optimal total time.
+	 */
+	@Test
+	public void testSearchPrunesDominatedStates() {
+		DAGImp.getNewInstance();
+		new Conversion(new InputImp("testFiles/Nodes_8_Random.dot", "4"));
+		SearchMetrics metrics = new SearchMetrics();
+		AlgorithmImp alg = new AlgorithmImp(DAGImp.getInstance(), 4, 1, metrics, null, null);
+
+		assertEquals(581, alg.getBestTotalTime());
+		assertTrue(metrics.getPrunedByDominance() > 0);
+	}
+
+	private Schedule schedule(String first, int firstCore, String second, int secondCore) {
+		Schedule schedule = new ScheduleImp(_dag, 2);
+		AlgorithmNode node = new AlgorithmNodeImp(first);
+		node.setCore(firstCore);
+		schedule = schedule.getNextSchedule(node);
+		node = new AlgorithmNodeImp(second);
+		node.setCore(secondCore);
+		return schedule.getNextSchedule(node);
+	}
+}
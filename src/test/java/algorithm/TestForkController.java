@@ -0,0 +1,93 @@
+package algorithm;
+
+import implementations.algorithm.AlgorithmImp;
+import implementations.algorithm.ForkController;
+import implementations.algorithm.SearchMetrics;
+import interfaces.structures.DAG;
+
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertNull;
+
+public class TestForkController {
+
+	@Test
+	public void testNeverForksWithoutThreads() {
+		ForkController forks = new ForkController(20, 0);
+
+		assertFalse(forks.tryFork(20, 0, 100));
+	}
+
+	@Test
+	public void testTinySubtreeNotForked() {
+		ForkController forks = new ForkController(20, 2);
+
+		assertFalse(forks.tryFork(2, 0, 100));
+		assertTrue(forks.tryFork(3, 0, 100));
+	}
+
+	/**
+	 * A subtree bounded within a few percent of the best time is mostly pruned at once, so it is not worth a task.
+	 */
+	@Test
+	public void testSubtreeCloseToBestNotForked() {
+		ForkController forks = new ForkController(20, 2);
+
+		assertFalse(forks.tryFork(20, 98, 100));
+		assertTrue(forks.tryFork(20, 90, 100));
+	}
+
+	/**
+	 * The more tasks are outstanding the bigger a subtree has to be, and no more than twice the threads are.
+	 */
+	@Test
+	public void testQueueDepthRaisesRequiredSize() {
+		ForkController forks = new ForkController(20, 2);
+
+		assertTrue(forks.tryFork(3, 0, 100));
+		assertFalse(forks.tryFork(3, 0, 100));
+		assertTrue(forks.tryFork(10, 0, 100));
+		assertTrue(forks.tryFork(20, 0, 100));
+		assertTrue(forks.tryFork(20, 0, 100));
+		assertEquals(4, forks.getOutstanding());
+		assertFalse(forks.tryFork(20, 0, 100));
+
+		forks.finished();
+		assertEquals(3, forks.getOutstanding());
+		assertTrue(forks.tryFork(20, 0, 100));
+	}
+
+	@Test
+	public void testAwaitAllReturnsOnceTasksFinish() throws InterruptedException {
+		final ForkController forks = new ForkController(20, 2);
+		assertTrue(forks.tryFork(20, 0, 100));
+		new Thread(new Runnable() {
+			public void run() {
+				forks.finished();
+			}
+		}).start();
+
+		forks.awaitAll();
+		assertEquals(0, forks.getOutstanding());
+	}
+
+	@Test
+	public void testParallelSearchStillOptimal() {
+		String[][] cases = {
+				{"testFiles/Nodes_7_OutTree.dot", "4", "22"},
+				{"testFiles/Nodes_9_SeriesParallel.dot", "2", "55"},
+				{"testFiles/Nodes_10_Random.dot", "2", "50"},
+		};
+		for (String[] c : cases) {
+			DAG dag = TestGraphs.load(c[0]);
+			int cores = Integer.parseInt(c[1]);
+			AlgorithmImp alg = new AlgorithmImp(dag, cores, 4, new SearchMetrics(), null, null);
+
+			assertEquals(c[0], Integer.parseInt(c[2]), alg.getBestTotalTime());
+			assertNull(c[0], ScheduleValidator.validate(dag, cores, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+		}
+	}
+}
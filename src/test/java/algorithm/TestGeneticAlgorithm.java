@@ -0,0 +1,80 @@
+package algorithm;
+
+import implementations.algorithm.GeneticAlgorithm;
+import implementations.algorithm.ListScheduler;
+import implementations.algorithm.SearchMetrics;
+import implementations.io.GraphType;
+import implementations.structures.IndexedDAG;
+import interfaces.structures.DAG;
+import interfaces.structures.NodeSchedule;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertNull;
+
+public class TestGeneticAlgorithm {
+
+	/**
+	 * The list schedule is in the first population and the best schedules always survive, so the result is never
+	 * worse; on a pipeline it is better.
+	 */
+	@Test
+	public void testNoWorseThanListSchedule() throws IOException {
+		for (GraphType type : new GraphType[] {GraphType.PIPELINE, GraphType.IN_TREE, GraphType.RANDOM}) {
+			DAG dag = TestGraphs.generate(type, 200, 1.0, 3);
+			int listTime = ListScheduler.bottomLevelFirst(new IndexedDAG(dag), 4).getTotalTime();
+			GeneticAlgorithm alg = new GeneticAlgorithm(dag, 4, 32, 50, true, 1, 2, new SearchMetrics());
+
+			assertTrue(type.toString(), alg.getBestTotalTime() <= listTime);
+			assertNull(type.toString(), ScheduleValidator.validate(dag, 4, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+			if (type == GraphType.PIPELINE) {
+				assertTrue(alg.getBestTotalTime() < listTime);
+			}
+		}
+	}
+
+	/**
+	 * Only the main thread draws random numbers, so the number of threads does not change the schedule.
+	 */
+	@Test
+	public void testSameResultForAnyNumberOfThreads() throws IOException {
+		DAG dag = TestGraphs.generate(GraphType.STENCIL, 100, 1.0, 3);
+		GeneticAlgorithm one = new GeneticAlgorithm(dag, 3, 32, 30, true, 7, 1, new SearchMetrics());
+		GeneticAlgorithm four = new GeneticAlgorithm(dag, 3, 32, 30, true, 7, 4, new SearchMetrics());
+
+		assertEquals(one.getBestTotalTime(), four.getBestTotalTime());
+		Map<String, NodeSchedule> expected = one.getCurrentBestSchedule();
+		Map<String, NodeSchedule> actual = four.getCurrentBestSchedule();
+		for (String name : expected.keySet()) {
+			assertEquals(name, expected.get(name).getBestStartTime(), actual.get(name).getBestStartTime());
+			assertEquals(name, expected.get(name).getBestProcessor(), actual.get(name).getBestProcessor());
+		}
+	}
+
+	@Test
+	public void testSmallGraphs() {
+		String[][] cases = {
+				{"test.dot", "2", "8"},
+				{"testFiles/Nodes_7_OutTree.dot", "4", "22"},
+				{"testFiles/Nodes_10_Random.dot", "2", "50"},
+		};
+		for (String[] c : cases) {
+			DAG dag = TestGraphs.load(c[0]);
+			int cores = Integer.parseInt(c[1]);
+			GeneticAlgorithm alg = new GeneticAlgorithm(dag, cores, 1, new SearchMetrics());
+
+			assertTrue(c[0], alg.getBestTotalTime() >= Integer.parseInt(c[2]));
+			assertNull(c[0], ScheduleValidator.validate(dag, cores, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPopulationTooSmall() {
+		new GeneticAlgorithm(TestGraphs.load("test.dot"), 2, 2, 10, false, 0, 1, new SearchMetrics());
+	}
+}
@@ -0,0 +1,39 @@
+package algorithm;
+
+import implementations.io.GraphGenerator;
+import implementations.io.GraphType;
+import implementations.io.SolveContext;
+import implementations.io.WeightDistribution;
+import interfaces.structures.DAG;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Reads and generates the graphs the tests of the solvers run on.
+ *
+ * Each graph is a graph of its own rather than the shared {@link implementations.structures.DAGImp#getInstance()},
+ * so one test reading a graph does not change the graph of another.
+ */
+public class TestGraphs {
+
+	/**
+	 * @param path - the .dot file to read
+	 * @return the graph in the file
+	 */
+	public static DAG load(String path) {
+		return new SolveContext(path, 2, 1).getDAG();
+	}
+
+	/**
+	 * Writes a graph from {@link GraphGenerator} to a temporary file, and reads it back.
+	 *
+	 * @return the generated graph, with weights drawn uniformly
+	 */
+	public static DAG generate(GraphType type, int nodes, double ccr, long seed) throws IOException {
+		File file = File.createTempFile("graph", ".dot");
+		file.deleteOnExit();
+		new GraphGenerator(type, nodes, ccr, WeightDistribution.UNIFORM, seed).writeToFile(file.getPath());
+		return load(file.getPath());
+	}
+}
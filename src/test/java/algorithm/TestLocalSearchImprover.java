@@ -0,0 +1,98 @@
+package algorithm;
+
+import implementations.algorithm.AlgorithmImp;
+import implementations.algorithm.ListScheduler;
+import implementations.algorithm.LocalSearchImprover;
+import implementations.algorithm.SearchMetrics;
+import implementations.structures.IndexedDAG;
+import interfaces.structures.DAG;
+import interfaces.structures.NodeSchedule;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertNull;
+
+public class TestLocalSearchImprover {
+
+	/**
+	 * Starting from everything on one core (350 on two cores, the optimum is 227 on four), the improver publishes
+	 * better and better valid schedules.
+	 */
+	@Test
+	public void testImprovesSequentialSchedule() throws InterruptedException {
+		final DAG dag = TestGraphs.load("testFiles/Nodes_11_OutTree.dot");
+		final HashMap<String, NodeSchedule> start = ListScheduler.sequential(new IndexedDAG(dag), 4).toNodeSchedules();
+		final int startTime = totalTime(dag, start);
+		final List<HashMap<String, NodeSchedule>> published = Collections.synchronizedList(new ArrayList<HashMap<String, NodeSchedule>>());
+
+		LocalSearchImprover improver = new LocalSearchImprover(dag, 4,
+				new IntSupplier() {
+					public int getAsInt() {
+						return published.isEmpty() ? startTime : totalTime(dag, published.get(published.size() - 1));
+					}
+				},
+				new Supplier<Map<String, NodeSchedule>>() {
+					public Map<String, NodeSchedule> get() {
+						return published.isEmpty() ? start : published.get(published.size() - 1);
+					}
+				},
+				new Consumer<HashMap<String, NodeSchedule>>() {
+					public void accept(HashMap<String, NodeSchedule> schedule) {
+						published.add(schedule);
+					}
+				}, 1);
+		improver.start();
+		Thread.sleep(300);
+		improver.stop();
+
+		assertFalse(published.isEmpty());
+		int previous = startTime;
+		for (HashMap<String, NodeSchedule> schedule : published) {
+			int time = totalTime(dag, schedule);
+			assertTrue(time < previous);
+			assertTrue(time >= 227);
+			assertNull(ScheduleValidator.validate(dag, 4, schedule, time));
+			previous = time;
+		}
+	}
+
+	/**
+	 * With a spare core (and more than one processor) the search runs alongside the improver, and still ends with
+	 * the optimal schedule.
+	 */
+	@Test
+	public void testSearchWithImproverStillOptimal() {
+		String[][] cases = {
+				{"testFiles/Nodes_7_OutTree.dot", "4", "22"},
+				{"testFiles/Nodes_10_Random.dot", "2", "50"},
+		};
+		for (String[] c : cases) {
+			DAG dag = TestGraphs.load(c[0]);
+			int cores = Integer.parseInt(c[1]);
+			AlgorithmImp alg = new AlgorithmImp(dag, cores, 2, new SearchMetrics(), null, null);
+
+			assertEquals(c[0], Integer.parseInt(c[2]), alg.getBestTotalTime());
+			assertNull(c[0], ScheduleValidator.validate(dag, cores, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+		}
+	}
+
+	private int totalTime(DAG dag, Map<String, NodeSchedule> schedule) {
+		int time = 0;
+		for (Map.Entry<String, NodeSchedule> entry : schedule.entrySet()) {
+			time = Math.max(time, entry.getValue().getBestStartTime() + dag.getNodeByName(entry.getKey()).getWeight());
+		}
+		return time;
+	}
+}
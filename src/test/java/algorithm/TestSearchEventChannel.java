@@ -0,0 +1,72 @@
+package algorithm;
+
+import implementations.algorithm.SearchEventChannel;
+import implementations.algorithm.SearchMetrics;
+import implementations.structures.NodeScheduleImp;
+import interfaces.structures.NodeSchedule;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class TestSearchEventChannel {
+
+	@Test
+	public void testNothingPublished() {
+		SearchEventChannel channel = new SearchEventChannel(new SearchMetrics());
+
+		assertNull(channel.getLatestIncumbent());
+		assertTrue(channel.drainImprovements().isEmpty());
+		assertFalse(channel.isFinished());
+	}
+
+	/**
+	 * Only the latest schedule is kept, but every improvement is queued in order until drained.
+	 */
+	@Test
+	public void testImprovementsCoalesced() {
+		SearchEventChannel channel = new SearchEventChannel(new SearchMetrics());
+		HashMap<String, NodeSchedule> schedule = new HashMap<String, NodeSchedule>();
+		schedule.put("a", new NodeScheduleImp(0, 1));
+
+		channel.publishIncumbent(12, schedule);
+		channel.publishIncumbent(10, schedule);
+		channel.publishIncumbent(9, schedule);
+
+		assertEquals(9, channel.getLatestIncumbent().getBestTime());
+		List<Integer> improvements = channel.drainImprovements();
+		assertEquals(Arrays.asList(12, 10, 9), improvements);
+		assertTrue(channel.drainImprovements().isEmpty());
+	}
+
+	/**
+	 * The search keeps changing its best schedule map, so the channel must hold a copy.
+	 */
+	@Test
+	public void testScheduleCopied() {
+		SearchEventChannel channel = new SearchEventChannel(new SearchMetrics());
+		HashMap<String, NodeSchedule> schedule = new HashMap<String, NodeSchedule>();
+		schedule.put("a", new NodeScheduleImp(0, 1));
+
+		channel.publishIncumbent(5, schedule);
+		schedule.put("b", new NodeScheduleImp(5, 2));
+
+		assertEquals(1, channel.getLatestIncumbent().getSchedule().size());
+		assertEquals(0, channel.getLatestIncumbent().getSchedule().get("a").getBestStartTime());
+	}
+
+	@Test
+	public void testFinished() {
+		SearchEventChannel channel = new SearchEventChannel(new SearchMetrics());
+		channel.publishFinished();
+
+		assertTrue(channel.isFinished());
+	}
+}
@@ -0,0 +1,103 @@
+package algorithm;
+
+import implementations.algorithm.AlgorithmImp;
+import implementations.algorithm.SearchMetrics;
+import implementations.io.Conversion;
+import implementations.io.InputImp;
+import implementations.structures.DAGImp;
+import interfaces.io.Input;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+public class TestSearchMetrics {
+	public static final String EXAMPLE_FILE = "test.dot";
+
+	/**
+	 * Checks the counters after solving the example graph, and that the legacy getters agree with them.
+	 */
+	@Test
+	public void testCountersAfterSolve() {
+		SearchMetrics metrics = new SearchMetrics();
+		AlgorithmImp alg = solve(EXAMPLE_FILE, "2", metrics);
+
+		assertTrue(metrics.isFinished());
+		assertEquals(8, metrics.getBestMakespan());
+		assertEquals(alg.getBestTotalTime(), metrics.getBestMakespan());
+		assertTrue(metrics.getIncumbentImprovements() >= 1);
+		assertTrue(metrics.getExpansions() > 0);
+		assertEquals(alg.getRecursiveCalls(), (int) metrics.getExpansions());
+		assertEquals(alg.getPrunedStates(), (int) metrics.getPrunedTotal());
+		assertTrue(metrics.getTimeToFirstSolutionMs() >= 0);
+		assertTrue(metrics.getTimeToOptimalMs() >= metrics.getTimeToFirstSolutionMs());
+	}
+
+	/**
+	 * Before anything is recorded the times are unset and the search is not finished.
+	 */
+	@Test
+	public void testUnsetBeforeSearch() {
+		SearchMetrics metrics = new SearchMetrics();
+
+		assertFalse(metrics.isFinished());
+		assertEquals(-1, metrics.getBestMakespan());
+		assertEquals(-1.0, metrics.getTimeToFirstSolutionMs());
+		assertEquals(-1.0, metrics.getTimeToOptimalMs());
+	}
+
+	@Test
+	public void testPruneCountersAddUp() {
+		SearchMetrics metrics = new SearchMetrics();
+		metrics.recordBoundPrune();
+		metrics.recordDuplicatePrune();
+		metrics.recordDuplicatePrune();
+		metrics.recordSymmetryPrune(3);
+
+		assertEquals(1L, metrics.getPrunedByBound());
+		assertEquals(2L, metrics.getPrunedByDuplicate());
+		assertEquals(3L, metrics.getPrunedBySymmetry());
+		assertEquals(6L, metrics.getPrunedTotal());
+	}
+
+	@Test
+	public void testPrometheusFormat() {
+		SearchMetrics metrics = new SearchMetrics();
+		solve(EXAMPLE_FILE, "2", metrics);
+		String text = metrics.toPrometheus();
+
+		assertTrue(text.contains("# TYPE scheduler_states_expanded_total counter"));
+		assertTrue(text.contains("scheduler_states_expanded_total " + metrics.getExpansions() + "\n"));
+		assertTrue(text.contains("scheduler_states_pruned_total{rule=\"bound\"} " + metrics.getPrunedByBound() + "\n"));
+		assertTrue(text.contains("scheduler_best_makespan 8\n"));
+		assertTrue(text.contains("scheduler_search_finished 1\n"));
+	}
+
+	@Test
+	public void testExportToJsonFile() throws Exception {
+		SearchMetrics metrics = new SearchMetrics();
+		solve(EXAMPLE_FILE, "2", metrics);
+
+		File file = File.createTempFile("metrics", ".json");
+		file.deleteOnExit();
+		metrics.exportToFile(file.getPath());
+		String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+
+		assertTrue(json.contains("\"expansions\": " + metrics.getExpansions() + ","));
+		assertTrue(json.contains("\"bestMakespan\": 8,"));
+		assertTrue(json.contains("\"finished\": true"));
+	}
+
+	private AlgorithmImp solve(String path, String core, SearchMetrics metrics) {
+		DAGImp.getNewInstance();
+		Input input = new InputImp(path, core);
+		Conversion conversion = new Conversion(input);
+		return new AlgorithmImp(input.getProcessorCount(), false, 1, metrics);
+	}
+}
@@ -0,0 +1,77 @@
+package algorithm;
+
+import implementations.algorithm.SearchMetrics;
+import implementations.algorithm.SearchTreeEstimator;
+import implementations.io.GraphType;
+import implementations.preprocessing.EngineSelector;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.DAG;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertNull;
+
+public class TestSearchTreeEstimator {
+
+	@Test
+	public void testSameSeedSameEstimate() {
+		DAG dag = TestGraphs.load("testFiles/Nodes_10_Random.dot");
+		SearchTreeEstimator first = new SearchTreeEstimator(dag, 2, 50, 7);
+		SearchTreeEstimator second = new SearchTreeEstimator(dag, 2, 50, 7);
+
+		assertEquals(50, first.getProbes());
+		assertEquals(first.getEstimatedNodes(), second.getEstimatedNodes());
+		assertTrue(first.getEstimatedNodes() >= 1);
+		assertTrue(first.getPredictedMs() >= 0);
+	}
+
+	/**
+	 * When the list schedule meets the lower bound every child is pruned, so the tree is only its root.
+	 */
+	@Test
+	public void testNothingToSearch() {
+		DAG dag = TestGraphs.load("testFiles/Nodes_4_Sequential.dot");
+		assertEquals(1.0, new SearchTreeEstimator(dag, 2).getEstimatedNodes());
+	}
+
+	@Test
+	public void testBiggerGraphBiggerTree() throws IOException {
+		double small = new SearchTreeEstimator(TestGraphs.generate(GraphType.RANDOM, 8, 1.0, 5), 3).getEstimatedNodes();
+		double large = new SearchTreeEstimator(TestGraphs.generate(GraphType.RANDOM, 30, 1.0, 5), 3)
+				.getEstimatedNodes();
+		assertTrue(small + " " + large, large > small);
+	}
+
+	@Test
+	public void testSmallGraphSearchedExactly() {
+		DAG dag = TestGraphs.load("testFiles/Nodes_11_OutTree.dot");
+		EngineSelector selector = new EngineSelector(dag, 4, EngineSelector.DEFAULT_BUDGET_MS);
+		Algorithm alg = selector.createAlgorithm(1, new SearchMetrics(), null);
+
+		assertEquals(EngineSelector.Engine.EXACT, selector.getEngine());
+		assertEquals(227, alg.getBestTotalTime());
+
+		// a graph the bitmask search takes is not estimated, however short the budget
+		selector = new EngineSelector(dag, 4, 1);
+		assertFalse(selector.isEstimated());
+		assertEquals(EngineSelector.Engine.EXACT, selector.getEngine());
+	}
+
+	/**
+	 * With next to no time, a large graph is left to the beam search, which still gives a valid schedule.
+	 */
+	@Test(timeout = 30000)
+	public void testHopelessGraphNotSearchedExactly() throws IOException {
+		DAG dag = TestGraphs.generate(GraphType.RANDOM, 60, 1.0, 5);
+		EngineSelector selector = new EngineSelector(dag, 4, 1);
+		Algorithm alg = selector.createAlgorithm(1, new SearchMetrics(), null);
+
+		assertEquals(EngineSelector.Engine.HEURISTIC, selector.getEngine());
+		assertNull(ScheduleValidator.validate(dag, 4, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+	}
+}
@@ -0,0 +1,96 @@
+package algorithm;
+
+import implementations.algorithm.SolveHandle;
+import implementations.algorithm.Solver;
+import implementations.io.GraphType;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.DAG;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+import static org.junit.Assert.assertNull;
+
+public class TestSolver {
+
+	@Test
+	public void testAwaitResultIsOptimal() throws Exception {
+		Solver solver = new Solver(2);
+		DAG first = TestGraphs.load("testFiles/Nodes_10_Random.dot");
+		DAG second = TestGraphs.load("testFiles/Nodes_7_OutTree.dot");
+		SolveHandle firstHandle = solver.submit(first, 2, 1);
+		SolveHandle secondHandle = solver.submit(second, 2, 1);
+
+		Algorithm firstResult = firstHandle.awaitResult(30, TimeUnit.SECONDS);
+		Algorithm secondResult = secondHandle.awaitResult(30, TimeUnit.SECONDS);
+		assertEquals(50, firstResult.getBestTotalTime());
+		assertEquals(28, secondResult.getBestTotalTime());
+		assertNull(ScheduleValidator.validate(first, 2, firstResult.getCurrentBestSchedule(), firstResult.getBestTotalTime()));
+		assertTrue(firstHandle.isOptimal());
+		assertEquals(50, firstHandle.getBestTimeSoFar());
+		assertTrue(firstHandle.getMetrics().isFinished());
+
+		// cancelling once the search is over does not make its schedule any less optimal
+		firstHandle.cancel();
+		assertTrue(firstHandle.isOptimal());
+		solver.shutdown();
+	}
+
+	@Test
+	public void testCancelKeepsBestScheduleSoFar() throws Exception {
+		Solver solver = new Solver(1);
+		DAG dag = TestGraphs.generate(GraphType.RANDOM, 40, 1.0, 3);
+		SolveHandle handle = solver.submit(dag, 4, 1);
+		while (handle.getBestTimeSoFar() < 0) {
+			Thread.sleep(10);
+		}
+		Thread.sleep(100);
+		handle.cancel();
+
+		Algorithm result = handle.awaitResult(10, TimeUnit.SECONDS);
+		assertTrue(handle.isDone());
+		assertFalse(handle.isOptimal());
+		assertFalse(handle.getMetrics().isFinished());
+		assertEquals(handle.getBestTimeSoFar(), result.getBestTotalTime());
+		assertNull(ScheduleValidator.validate(dag, 4, result.getCurrentBestSchedule(), result.getBestTotalTime()));
+		solver.shutdown();
+	}
+
+	@Test
+	public void testFailedSolveIsNotOptimal() throws Exception {
+		Solver solver = new Solver(1);
+		SolveHandle handle = solver.submit(null, 2, 1);
+		try {
+			handle.awaitResult(10, TimeUnit.SECONDS);
+			fail("a solve without a graph should fail");
+		} catch (IllegalStateException e) {
+			assertTrue(handle.isDone());
+			assertFalse(handle.isCancelled());
+			assertFalse(handle.isOptimal());
+		}
+		solver.shutdown();
+	}
+
+	@Test
+	public void testAwaitResultTimesOut() throws Exception {
+		Solver solver = new Solver(1);
+		SolveHandle handle = solver.submit(TestGraphs.generate(GraphType.RANDOM, 40, 1.0, 3), 4, 1);
+		try {
+			handle.awaitResult(50, TimeUnit.MILLISECONDS);
+			fail("the search should still be running");
+		} catch (TimeoutException e) {
+			assertFalse(handle.isDone());
+		}
+
+		// shutting down cancels the solve, which then finishes soon after
+		solver.shutdown();
+		handle.awaitResult(10, TimeUnit.SECONDS);
+		assertTrue(handle.isCancelled());
+	}
+}
@@ -0,0 +1,163 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reader for the benchmark baseline file, so the harness doesn't need
+ * a JSON library on the classpath.
+ *
+ * Objects are read into {@code Map<String, Object>}, arrays into {@code List<Object>},
+ * numbers into {@code Double} and strings into {@code String}.
+ */
+public class JsonReader {
+	private final String _text;
+	private int _position;
+
+	private JsonReader(String text) {
+		_text = text;
+	}
+
+	/**
+	 * Parses the given JSON text.
+	 *
+	 * @param text - JSON document
+	 * @return the parsed value
+	 */
+	public static Object parse(String text) {
+		JsonReader reader = new JsonReader(text);
+		Object value = reader.readValue();
+		reader.skipWhitespace();
+		if (reader._position != text.length()) {
+			throw reader.error("Unexpected trailing content");
+		}
+		return value;
+	}
+
+	private Object readValue() {
+		skipWhitespace();
+		char c = peek();
+		if (c == '{') {
+			return readObject();
+		} else if (c == '[') {
+			return readArray();
+		} else if (c == '"') {
+			return readString();
+		} else if (_text.startsWith("true", _position)) {
+			_position += 4;
+			return Boolean.TRUE;
+		} else if (_text.startsWith("false", _position)) {
+			_position += 5;
+			return Boolean.FALSE;
+		} else if (_text.startsWith("null", _position)) {
+			_position += 4;
+			return null;
+		}
+		return readNumber();
+	}
+
+	private Map<String, Object> readObject() {
+		Map<String, Object> object = new LinkedHashMap<>();
+		expect('{');
+		skipWhitespace();
+		if (peek() == '}') {
+			_position++;
+			return object;
+		}
+		while (true) {
+			skipWhitespace();
+			String key = readString();
+			skipWhitespace();
+			expect(':');
+			object.put(key, readValue());
+			skipWhitespace();
+			if (peek() == ',') {
+				_position++;
+			} else {
+				expect('}');
+				return object;
+			}
+		}
+	}
+
+	private List<Object> readArray() {
+		List<Object> array = new ArrayList<>();
+		expect('[');
+		skipWhitespace();
+		if (peek() == ']') {
+			_position++;
+			return array;
+		}
+		while (true) {
+			array.add(readValue());
+			skipWhitespace();
+			if (peek() == ',') {
+				_position++;
+			} else {
+				expect(']');
+				return array;
+			}
+		}
+	}
+
+	private String readString() {
+		expect('"');
+		StringBuilder sb = new StringBuilder();
+		while (peek() != '"') {
+			char c = _text.charAt(_position++);
+			if (c == '\\') {
+				char escaped = _text.charAt(_position++);
+				switch (escaped) {
+					case 'n': sb.append('\n'); break;
+					case 't': sb.append('\t'); break;
+					case 'u':
+						sb.append((char) Integer.parseInt(_text.substring(_position, _position + 4), 16));
+						_position += 4;
+						break;
+					default: sb.append(escaped);
+				}
+			} else {
+				sb.append(c);
+			}
+		}
+		_position++;
+		return sb.toString();
+	}
+
+	private Double readNumber() {
+		int start = _position;
+		while (_position < _text.length() && "+-0123456789.eE".indexOf(_text.charAt(_position)) >= 0) {
+			_position++;
+		}
+		if (start == _position) {
+			throw error("Unexpected character");
+		}
+		return Double.valueOf(_text.substring(start, _position));
+	}
+
+	private void expect(char c) {
+		if (peek() != c) {
+			throw error("Expected '" + c + "'");
+		}
+		_position++;
+	}
+
+	private char peek() {
+		if (_position >= _text.length()) {
+			throw error("Unexpected end of input");
+		}
+		return _text.charAt(_position);
+	}
+
+	private void skipWhitespace() {
+		while (_position < _text.length() && Character.isWhitespace(_text.charAt(_position))) {
+			_position++;
+		}
+	}
+
+	private IllegalArgumentException error(String message) {
+		return new IllegalArgumentException(message + " at position " + _position);
+	}
+}
@@ -0,0 +1,268 @@
+package benchmark;
+
+import implementations.algorithm.AlgorithmImp;
+import implementations.io.Conversion;
+import implementations.io.InputImp;
+import implementations.structures.DAGImp;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the solver over a fixed corpus of graphs and compares wall time, states expanded,
+ * states pruned, peak heap and makespan against the baseline committed in {@link #DEFAULT_BASELINE}.
+ *
+ * A makespan that differs from the baseline is a correctness failure. Every other metric fails
+ * only when it grows beyond the thresholds stored in the baseline file, so intentional speed-ups
+ * pass without re-recording.
+ *
+ * Usage (from the directory containing the pom, with the test classes compiled):
+ * <pre>
+ * RegressionHarness [-record] [-baseline FILE] [-runs N]
+ * </pre>
+ * {@code -record} re-measures the corpus and overwrites the baseline; use it after an
+ * intentional change in search behaviour.
+ */
+public class RegressionHarness {
+	public static final String DEFAULT_BASELINE = "testFiles/baseline.json";
+
+	/**
+	 * The fixed corpus: {graph file, number of processors}
+	 */
+	public static final String[][] CORPUS = {
+			{"test.dot", "2"},
+			{"test2.dot", "2"},
+			{"test3.dot", "2"},
+			{"testFiles/Nodes_4_Sequential.dot", "2"},
+			{"testFiles/Nodes_7_OutTree.dot", "2"},
+			{"testFiles/Nodes_7_OutTree.dot", "4"},
+			{"testFiles/Nodes_8_Random.dot", "2"},
+			{"testFiles/Nodes_8_Random.dot", "4"},
+			{"testFiles/Nodes_9_SeriesParallel.dot", "2"},
+			{"testFiles/Nodes_9_SeriesParallel.dot", "4"},
+			{"testFiles/Nodes_10_Random.dot", "2"},
+			{"testFiles/Nodes_10_Random.dot", "4"},
+			{"testFiles/Nodes_11_OutTree.dot", "2"},
+			{"testFiles/Nodes_11_OutTree.dot", "4"},
+			{"testFiles/generated/Fork_Nodes_10_CCR_1.0_WeightType_Random_Seed_1.dot", "2"},
+			{"testFiles/generated/InTree_Nodes_10_CCR_1.0_WeightType_Random_Seed_1.dot", "2"},
+			{"testFiles/generated/Pipeline_Nodes_9_CCR_1.0_WeightType_Random_Seed_1.dot", "3"},
+			{"testFiles/generated/Stencil_Nodes_9_CCR_0.1_WeightType_Random_Seed_1.dot", "3"},
+	};
+
+	/**
+	 * Default thresholds, written to the baseline when it is first recorded.
+	 * Ratios are allowed growth factors; slack values absorb noise on the very small graphs.
+	 */
+	private static final double WALL_TIME_RATIO = 2.0;
+	private static final long WALL_TIME_SLACK_MS = 250;
+	private static final double STATES_RATIO = 1.10;
+	private static final double PEAK_HEAP_RATIO = 2.0;
+	private static final long PEAK_HEAP_SLACK_MB = 64;
+
+	/**
+	 * The metrics recorded for one solve.
+	 */
+	public static class Measurement {
+		public String file;
+		public int processors;
+		public int makespan;
+		public long wallTimeMs;
+		public long expanded;
+		public long pruned;
+		public long peakHeapMb;
+
+		private String toJson() {
+			return "{\"file\": \"" + file + "\", \"processors\": " + processors + ", \"makespan\": " + makespan
+					+ ", \"wallTimeMs\": " + wallTimeMs + ", \"expanded\": " + expanded + ", \"pruned\": " + pruned
+					+ ", \"peakHeapMb\": " + peakHeapMb + "}";
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-75s P=%d makespan=%-5d time=%6dms expanded=%-9d pruned=%-9d heap=%dMB",
+					file, processors, makespan, wallTimeMs, expanded, pruned, peakHeapMb);
+		}
+	}
+
+	/**
+	 * Solves a single graph (single-threaded, so the state counts are deterministic) and records its metrics.
+	 * The wall time is the fastest of the given number of runs.
+	 *
+	 * @param file - path of the .dot file
+	 * @param processors - number of processors to schedule on
+	 * @param runs - number of times to solve the graph
+	 */
+	public static Measurement measure(String file, int processors, int runs) {
+		Measurement measurement = new Measurement();
+		measurement.file = file;
+		measurement.processors = processors;
+		measurement.wallTimeMs = Long.MAX_VALUE;
+
+		for (int run = 0; run < runs; run++) {
+			System.gc();
+			resetPeakHeap();
+
+			long start = System.nanoTime();
+			DAGImp.getNewInstance();
+			InputImp input = new InputImp(file, Integer.toString(processors));
+			new Conversion(input);
+			AlgorithmImp alg = new AlgorithmImp(input.getProcessorCount(), false, 1);
+			long wallTime = (System.nanoTime() - start) / 1000000;
+
+			measurement.wallTimeMs = Math.min(measurement.wallTimeMs, wallTime);
+			measurement.peakHeapMb = Math.max(measurement.peakHeapMb, getPeakHeap() / (1024 * 1024));
+			measurement.makespan = alg.getBestTotalTime();
+			measurement.expanded = alg.getRecursiveCalls();
+			measurement.pruned = alg.getPrunedStates();
+		}
+		return measurement;
+	}
+
+	/**
+	 * Measures the whole corpus.
+	 */
+	public static List<Measurement> measureCorpus(int runs) {
+		List<Measurement> measurements = new ArrayList<>();
+		for (String[] entry : CORPUS) {
+			Measurement measurement = measure(entry[0], Integer.parseInt(entry[1]), runs);
+			System.out.println(measurement);
+			measurements.add(measurement);
+		}
+		return measurements;
+	}
+
+	/**
+	 * Measures the corpus and compares it with the baseline.
+	 *
+	 * @param baselinePath - path to the baseline JSON file
+	 * @param runs - number of times to solve each graph
+	 * @return a description of every regression found, empty if there are none
+	 */
+	@SuppressWarnings("unchecked")
+	public static List<String> check(String baselinePath, int runs) throws IOException {
+		Map<String, Object> baseline = (Map<String, Object>) JsonReader.parse(
+				new String(Files.readAllBytes(Paths.get(baselinePath)), StandardCharsets.UTF_8));
+		Map<String, Object> thresholds = (Map<String, Object>) baseline.get("thresholds");
+		List<Object> graphs = (List<Object>) baseline.get("graphs");
+
+		List<String> failures = new ArrayList<>();
+		for (Measurement measurement : measureCorpus(runs)) {
+			Map<String, Object> expected = null;
+			for (Object graph : graphs) {
+				Map<String, Object> entry = (Map<String, Object>) graph;
+				if (measurement.file.equals(entry.get("file"))
+						&& measurement.processors == number(entry, "processors")) {
+					expected = entry;
+				}
+			}
+
+			String name = measurement.file + " (P=" + measurement.processors + ")";
+			if (expected == null) {
+				failures.add(name + ": no baseline recorded, re-record the baseline");
+				continue;
+			}
+
+			if (measurement.makespan != number(expected, "makespan")) {
+				failures.add(name + ": makespan changed from " + (long) number(expected, "makespan")
+						+ " to " + measurement.makespan + " (correctness failure)");
+			}
+			checkMetric(failures, name, "wall time (ms)", measurement.wallTimeMs, number(expected, "wallTimeMs"),
+					number(thresholds, "wallTimeRatio"), number(thresholds, "wallTimeSlackMs"));
+			checkMetric(failures, name, "states expanded", measurement.expanded, number(expected, "expanded"),
+					number(thresholds, "statesRatio"), 0);
+			checkMetric(failures, name, "states pruned", measurement.pruned, number(expected, "pruned"),
+					number(thresholds, "statesRatio"), 0);
+			checkMetric(failures, name, "peak heap (MB)", measurement.peakHeapMb, number(expected, "peakHeapMb"),
+					number(thresholds, "peakHeapRatio"), number(thresholds, "peakHeapSlackMb"));
+		}
+		return failures;
+	}
+
+	/**
+	 * Measures the corpus and writes it out as the new baseline.
+	 */
+	public static void record(String baselinePath, int runs) throws FileNotFoundException, UnsupportedEncodingException {
+		List<Measurement> measurements = measureCorpus(runs);
+
+		PrintWriter writer = new PrintWriter(baselinePath, "UTF-8");
+		writer.println("{");
+		writer.println("  \"thresholds\": {\"wallTimeRatio\": " + WALL_TIME_RATIO + ", \"wallTimeSlackMs\": " + WALL_TIME_SLACK_MS
+				+ ", \"statesRatio\": " + STATES_RATIO + ", \"peakHeapRatio\": " + PEAK_HEAP_RATIO
+				+ ", \"peakHeapSlackMb\": " + PEAK_HEAP_SLACK_MB + "},");
+		writer.println("  \"graphs\": [");
+		for (int i = 0; i < measurements.size(); i++) {
+			writer.println("    " + measurements.get(i).toJson() + ((i < measurements.size() - 1) ? "," : ""));
+		}
+		writer.println("  ]");
+		writer.println("}");
+		writer.close();
+	}
+
+	private static void checkMetric(List<String> failures, String name, String metric, long actual, double expected,
+			double ratio, double slack) {
+		if (actual > expected * ratio + slack) {
+			failures.add(name + ": " + metric + " regressed from " + (long) expected + " to " + actual);
+		}
+	}
+
+	private static double number(Map<String, Object> object, String key) {
+		return ((Double) object.get(key)).doubleValue();
+	}
+
+	private static void resetPeakHeap() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+			}
+		}
+	}
+
+	private static long getPeakHeap() {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peak;
+	}
+
+	public static void main(String args[]) throws IOException {
+		boolean record = false;
+		String baselinePath = DEFAULT_BASELINE;
+		int runs = 3;
+
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-record")) {
+				record = true;
+			} else if (args[i].equals("-baseline")) {
+				baselinePath = args[i + 1];
+			} else if (args[i].equals("-runs")) {
+				runs = Integer.parseInt(args[i + 1]);
+			}
+		}
+
+		if (record) {
+			record(baselinePath, runs);
+			return;
+		}
+
+		List<String> failures = check(baselinePath, runs);
+		for (String failure : failures) {
+			System.out.println("REGRESSION: " + failure);
+		}
+		System.exit(failures.isEmpty() ? 0 : 1);
+	}
+}
@@ -0,0 +1,21 @@
+package benchmark;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the regression harness over the benchmark corpus as part of the test suite.
+ * Fails if any makespan changes or any metric regresses beyond the baseline thresholds.
+ */
+public class TestRegression {
+
+	@Test
+	public void testNoRegressions() throws IOException {
+		List<String> failures = RegressionHarness.check(RegressionHarness.DEFAULT_BASELINE, 2);
+		assertTrue(String.join("\n", failures), failures.isEmpty());
+	}
+}
@@ -0,0 +1,233 @@
+package distributed;
+
+import algorithm.ScheduleValidator;
+import algorithm.TestGraphs;
+import implementations.algorithm.ListScheduler;
+import implementations.algorithm.SearchMetrics;
+import implementations.distributed.SearchCoordinator;
+import implementations.distributed.SearchProtocol;
+import implementations.distributed.SearchWorker;
+import implementations.distributed.SubproblemSearch;
+import implementations.structures.ArraySchedule;
+import implementations.structures.DAGImp;
+import implementations.structures.IndexedDAG;
+import interfaces.structures.DAG;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class TestSearchCoordinator {
+
+	@Test
+	public void testWorkerThreadsFindOptimalSchedules() throws IOException, InterruptedException {
+		String[][] cases = {
+				{"testFiles/Nodes_7_OutTree.dot", "2", "28"},
+				{"testFiles/Nodes_10_Random.dot", "2", "50"},
+				{"testFiles/Nodes_11_OutTree.dot", "4", "227"},
+		};
+		for (String[] c : cases) {
+			DAG dag = TestGraphs.load(c[0]);
+			int cores = Integer.parseInt(c[1]);
+			ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+			List<Thread> workers = new ArrayList<Thread>();
+			for (int i = 0; i < 3; i++) {
+				Thread worker = new Thread(new SearchWorker("localhost", server.getLocalPort()));
+				worker.start();
+				workers.add(worker);
+			}
+			SearchCoordinator coordinator = new SearchCoordinator(dag, cores, server, new SearchMetrics());
+			for (Thread worker : workers) {
+				worker.join(10000);
+				assertFalse(worker.isAlive());
+			}
+
+			assertEquals(c[0], Integer.parseInt(c[2]), coordinator.getBestTotalTime());
+			assertNull(c[0], ScheduleValidator.validate(dag, cores, coordinator.getCurrentBestSchedule(), coordinator.getBestTotalTime()));
+		}
+	}
+
+	/**
+	 * A worker that takes a subproblem and then sends a line that cannot be read is dropped, and the subproblem is
+	 * searched by the worker that is left.
+	 */
+	@Test
+	public void testMalformedLineDropsWorker() throws IOException, InterruptedException {
+		DAG dag = TestGraphs.load("testFiles/Nodes_10_Random.dot");
+		final ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		final Thread worker = new Thread(new SearchWorker("localhost", server.getLocalPort()));
+		final boolean[] closed = {false};
+		Thread broken = new Thread(new Runnable() {
+			public void run() {
+				try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort())) {
+					BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+							StandardCharsets.UTF_8));
+					PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
+					out.println(SearchProtocol.IDLE + " 0");
+					String line;
+					while ((line = in.readLine()) != null && !line.startsWith(SearchProtocol.WORK)) {
+						// the graph and the bound
+					}
+					out.println(SearchProtocol.SOLUTION + " not-a-schedule");
+					worker.start();
+					while ((line = in.readLine()) != null && !line.equals(SearchProtocol.DONE)) {
+						// nothing else is sent to a dropped worker
+					}
+					closed[0] = line == null;
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		});
+		broken.start();
+		SearchCoordinator coordinator = new SearchCoordinator(dag, 2, server, new SearchMetrics());
+		broken.join(10000);
+		worker.join(10000);
+		assertFalse(broken.isAlive());
+		assertFalse(worker.isAlive());
+
+		assertTrue(closed[0]);
+		assertEquals(50, coordinator.getBestTotalTime());
+		assertNull(ScheduleValidator.validate(dag, 2, coordinator.getCurrentBestSchedule(), coordinator.getBestTotalTime()));
+	}
+
+	/**
+	 * The workers are separate JVMs started as {@code Main -w HOST:PORT}.
+	 */
+	@Test
+	public void testWorkerProcessesFindOptimalSchedule() throws IOException, InterruptedException {
+		DAG dag = TestGraphs.load("testFiles/Nodes_11_OutTree.dot");
+		ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		List<Process> workers = new ArrayList<Process>();
+		for (int i = 0; i < 2; i++) {
+			workers.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), "Main",
+					"-w", "localhost:" + server.getLocalPort()).inheritIO().start());
+		}
+		SearchCoordinator coordinator = new SearchCoordinator(dag, 4, server, new SearchMetrics());
+		for (Process worker : workers) {
+			assertEquals(0, worker.waitFor());
+		}
+
+		assertEquals(227, coordinator.getBestTotalTime());
+		assertNull(ScheduleValidator.validate(dag, 4, coordinator.getCurrentBestSchedule(), coordinator.getBestTotalTime()));
+	}
+
+	/**
+	 * The work a search gives away plus the work it keeps covers every schedule.
+	 */
+	@Test
+	public void testDonatedWorkStillFindsOptimum() {
+		IndexedDAG dag = new IndexedDAG(TestGraphs.load("testFiles/Nodes_10_Random.dot"));
+		final List<ArraySchedule> donated = new ArrayList<ArraySchedule>();
+		final List<ArraySchedule> solutions = new ArrayList<ArraySchedule>();
+		Consumer<ArraySchedule> solution = new Consumer<ArraySchedule>() {
+			public void accept(ArraySchedule schedule) {
+				solutions.add(schedule);
+			}
+		};
+		int bound = ListScheduler.bottomLevelFirst(dag, 2).getTotalTime();
+
+		SubproblemSearch search = new SubproblemSearch(dag, 2, bound);
+		search.explore(new ArraySchedule(dag, 2), solution, new BooleanSupplier() {
+			private int _calls = 0;
+
+			public boolean getAsBoolean() {
+				return ++_calls == 20;
+			}
+		}, new Consumer<List<ArraySchedule>>() {
+			public void accept(List<ArraySchedule> schedules) {
+				donated.addAll(schedules);
+			}
+		});
+		assertFalse(donated.isEmpty());
+
+		SubproblemSearch other = new SubproblemSearch(dag, 2, bound);
+		for (ArraySchedule prefix : donated) {
+			other.lowerBound(search.getBound());
+			other.explore(prefix, solution, never(), null);
+		}
+		assertEquals(50, Math.min(search.getBound(), other.getBound()));
+		for (ArraySchedule schedule : solutions) {
+			assertTrue(schedule.isComplete());
+		}
+	}
+
+	/**
+	 * Partitioning with the optimal time as the bound discards partial schedules, and counts them.
+	 */
+	@Test
+	public void testPartitionCountsBoundPrunes() {
+		IndexedDAG dag = new IndexedDAG(TestGraphs.load("testFiles/Nodes_10_Random.dot"));
+		SubproblemSearch search = new SubproblemSearch(dag, 2, 50);
+		List<ArraySchedule> partition = search.partition(256, new Consumer<ArraySchedule>() {
+			public void accept(ArraySchedule schedule) {
+				fail("no schedule beats the optimum");
+			}
+		});
+		assertTrue(search.getBoundPrunes() > 0);
+		for (ArraySchedule schedule : partition) {
+			assertTrue(schedule.getLowerBound() < 50);
+		}
+	}
+
+	@Test
+	public void testProtocolRoundTrip() throws IOException {
+		IndexedDAG dag = new IndexedDAG(TestGraphs.load("testFiles/Nodes_9_SeriesParallel.dot"));
+		StringWriter text = new StringWriter();
+		SearchProtocol.writeGraph(new PrintWriter(text), dag, 3);
+		DAG read = DAGImp.createDetached();
+
+		assertEquals(3, SearchProtocol.readGraph(new BufferedReader(new StringReader(text.toString())), read));
+		IndexedDAG copy = new IndexedDAG(read);
+		assertEquals(dag.size(), copy.size());
+		for (int node = 0; node < dag.size(); node++) {
+			assertEquals(dag.getName(node), copy.getName(node));
+			assertEquals(dag.getWeight(node), copy.getWeight(node));
+			assertEquals(dag.getBottomLevel(node), copy.getBottomLevel(node));
+		}
+
+		ArraySchedule schedule = ListScheduler.bottomLevelFirst(dag, 3);
+		assertEquals(schedule, SearchProtocol.readSchedule(SearchProtocol.writeSchedule(schedule, dag), copy, 3));
+		ArraySchedule empty = new ArraySchedule(dag, 3);
+		assertEquals(empty, SearchProtocol.readSchedule(SearchProtocol.writeSchedule(empty, dag), dag, 3));
+	}
+
+	/**
+	 * A worker that connects once the search is over gets DONE or a closed connection instead of the graph.
+	 */
+	@Test
+	public void testSearchOverBeforeGraph() throws IOException {
+		assertEquals(0, SearchProtocol.readGraph(new BufferedReader(new StringReader(SearchProtocol.DONE + "\n")),
+				DAGImp.createDetached()));
+		assertEquals(0, SearchProtocol.readGraph(new BufferedReader(new StringReader("")), DAGImp.createDetached()));
+	}
+
+	private BooleanSupplier never() {
+		return new BooleanSupplier() {
+			public boolean getAsBoolean() {
+				return false;
+			}
+		};
+	}
+}
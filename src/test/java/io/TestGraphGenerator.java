@@ -0,0 +1,128 @@
+package io;
+
+import implementations.io.Conversion;
+import implementations.io.GraphGenerator;
+import implementations.io.GraphType;
+import implementations.io.InputImp;
+import implementations.io.WeightDistribution;
+import implementations.structures.DAGImp;
+import interfaces.structures.DAG;
+import interfaces.structures.Node;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests the GraphGenerator, reading the generated graphs back in through InputImp.
+ */
+public class TestGraphGenerator {
+
+	/**
+	 * The same parameters and seed must always give the same graph.
+	 */
+	@Test
+	public void testReproducible() {
+		for (GraphType type : GraphType.values()) {
+			String first = new GraphGenerator(type, 50, 1.0, WeightDistribution.UNIFORM, 42).generate();
+			String second = new GraphGenerator(type, 50, 1.0, WeightDistribution.UNIFORM, 42).generate();
+			assertEquals(first, second);
+		}
+
+		String other = new GraphGenerator(GraphType.RANDOM, 50, 1.0, WeightDistribution.UNIFORM, 43).generate();
+		assertFalse(other.equals(new GraphGenerator(GraphType.RANDOM, 50, 1.0, WeightDistribution.UNIFORM, 42).generate()));
+	}
+
+	/**
+	 * Every family can be read by InputImp, has the requested number of nodes and is acyclic.
+	 */
+	@Test
+	public void testReadableByInput() throws IOException {
+		for (GraphType type : GraphType.values()) {
+			for (int size : new int[]{1, 2, 7, 100}) {
+				DAG dag = readGenerated(new GraphGenerator(type, size, 1.0, WeightDistribution.NORMAL, 7));
+
+				assertEquals(size, dag.getAllNodes().size());
+				assertFalse(dag.getStartNodes().isEmpty());
+				assertTrue(isAcyclic(dag));
+			}
+		}
+	}
+
+	/**
+	 * The shape of the simple families is as expected.
+	 */
+	@Test
+	public void testShapes() throws IOException {
+		DAG fork = readGenerated(new GraphGenerator(GraphType.FORK, 10, 1.0, WeightDistribution.UNIFORM, 1));
+		assertEquals(1, fork.getStartNodes().size());
+		assertEquals(9, fork.getStartNodes().get(0).getSuccessors().size());
+
+		DAG join = readGenerated(new GraphGenerator(GraphType.JOIN, 10, 1.0, WeightDistribution.UNIFORM, 1));
+		assertEquals(9, join.getStartNodes().size());
+
+		DAG outTree = readGenerated(new GraphGenerator(GraphType.OUT_TREE, 13, 1.0, WeightDistribution.UNIFORM, 1));
+		assertEquals(1, outTree.getStartNodes().size());
+		for (Node node : outTree.getAllNodes()) {
+			assertTrue(node.getPredecessors().size() <= 1);
+			assertTrue(node.getSuccessors().size() <= 3);
+		}
+
+		DAG inTree = readGenerated(new GraphGenerator(GraphType.IN_TREE, 13, 1.0, WeightDistribution.UNIFORM, 1));
+		for (Node node : inTree.getAllNodes()) {
+			assertTrue(node.getSuccessors().size() <= 1);
+		}
+	}
+
+	/**
+	 * The arc weights are scaled so that the graph has roughly the requested CCR.
+	 * (Heavier tasks are used so that rounding arcs to whole numbers doesn't skew the low CCR.)
+	 */
+	@Test
+	public void testCCR() throws IOException {
+		for (double ccr : new double[]{0.1, 1.0, 10.0}) {
+			GraphGenerator generator = new GraphGenerator(GraphType.RANDOM, 200, ccr, WeightDistribution.UNIFORM, 3);
+			generator.setWeightRange(20, 100);
+			DAG dag = readGenerated(generator);
+			double nodeWeight = 0;
+			double arcWeight = 0;
+			for (Node node : dag.getAllNodes()) {
+				nodeWeight += node.getWeight();
+				for (Node successor : node.getSuccessors()) {
+					arcWeight += node.getOutArc(successor).getWeight();
+				}
+			}
+			assertEquals(ccr, arcWeight / nodeWeight, ccr * 0.2 + 0.05);
+		}
+	}
+
+	private DAG readGenerated(GraphGenerator generator) throws IOException {
+		File file = File.createTempFile("generated", ".dot");
+		file.deleteOnExit();
+		generator.writeToFile(file.getPath());
+
+		DAGImp.getNewInstance();
+		new Conversion(new InputImp(file.getPath(), "2"));
+		return DAGImp.getInstance();
+	}
+
+	private boolean isAcyclic(DAG dag) {
+		Set<Node> done = new HashSet<>();
+		int previous = -1;
+		while (done.size() != previous) {
+			previous = done.size();
+			for (Node node : dag.getAllNodes()) {
+				if (!done.contains(node) && done.containsAll(node.getPredecessors())) {
+					done.add(node);
+				}
+			}
+		}
+		return done.size() == dag.getAllNodes().size();
+	}
+}
@@ -0,0 +1,98 @@
+package io;
+
+import algorithm.ScheduleValidator;
+import implementations.algorithm.ListScheduler;
+import implementations.algorithm.SearchMetrics;
+import implementations.io.OutputImp;
+import implementations.io.ScheduleReader;
+import implementations.io.SolveContext;
+import implementations.preprocessing.SpecialGraphAlgorithm;
+import implementations.structures.ArraySchedule;
+import implementations.structures.IndexedDAG;
+import implementations.structures.NodeScheduleImp;
+import interfaces.algorithm.Algorithm;
+import interfaces.structures.NodeSchedule;
+import interfaces.structures.Schedule;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertNull;
+
+public class TestScheduleReader {
+
+	@Test
+	public void testReadsWhatOutputWrote() throws IOException {
+		SolveContext context = new SolveContext("testFiles/Nodes_7_OutTree.dot", 2, 1);
+		Algorithm alg = new SpecialGraphAlgorithm(context.getDAG(), 2, 1, new SearchMetrics());
+		File schedule = write(alg.getCurrentBestSchedule(), "testFiles/Nodes_7_OutTree.dot");
+
+		HashMap<String, NodeSchedule> read = new ScheduleReader(schedule.getPath()).getSchedule();
+		assertEquals(7, read.size());
+		for (String name : read.keySet()) {
+			NodeSchedule expected = alg.getCurrentBestSchedule().get(name);
+			assertEquals(expected.getBestStartTime(), read.get(name).getBestStartTime());
+			assertEquals(expected.getBestProcessor(), read.get(name).getBestProcessor());
+		}
+	}
+
+	/**
+	 * Repairing a schedule of an unchanged graph never makes it take longer.
+	 */
+	@Test
+	public void testRepairOfUnchangedGraph() {
+		SolveContext context = new SolveContext("testFiles/Nodes_11_OutTree.dot", 4, 1);
+		Algorithm alg = new SpecialGraphAlgorithm(context.getDAG(), 4, 1, new SearchMetrics());
+		ArraySchedule repaired = ListScheduler.repair(new IndexedDAG(context.getDAG()), 4, alg.getCurrentBestSchedule());
+
+		assertEquals(alg.getBestTotalTime(), repaired.getTotalTime());
+	}
+
+	/**
+	 * A schedule of the graph before a weight grew and a node was added is repaired to a valid schedule, and the
+	 * search from it still ends with the optimal schedule.
+	 */
+	@Test
+	public void testWarmStartAfterGraphChanged() throws IOException {
+		SolveContext before = new SolveContext("testFiles/Nodes_9_SeriesParallel.dot", 2, 1);
+		Algorithm alg = new SpecialGraphAlgorithm(before.getDAG(), 2, 1, new SearchMetrics());
+		File schedule = write(alg.getCurrentBestSchedule(), "testFiles/Nodes_9_SeriesParallel.dot");
+
+		String graph = new String(Files.readAllBytes(new File("testFiles/Nodes_9_SeriesParallel.dot").toPath()),
+				StandardCharsets.UTF_8);
+		graph = graph.replace("5\t [Weight=9];", "5\t [Weight=19];")
+				.replace("}", "\t9\t [Weight=4];\n\t1 -> 9\t [Weight=3];\n}");
+		File changed = File.createTempFile("changed", ".dot");
+		changed.deleteOnExit();
+		Files.write(changed.toPath(), graph.getBytes(StandardCharsets.UTF_8));
+
+		SolveContext after = new SolveContext(changed.getPath(), 2, 1);
+		Schedule warmStart = after.createWarmStart(schedule.getPath());
+		assertEquals(10, warmStart.getSizeOfSchedule());
+		HashMap<String, NodeSchedule> warmStartMap = new HashMap<String, NodeSchedule>();
+		for (int i = 0; i < warmStart.getSizeOfSchedule(); i++) {
+			warmStartMap.put(warmStart.getNodeName(i), new NodeScheduleImp(
+					warmStart.getNodeStartTime(i), warmStart.getNodeCore(i)));
+		}
+		assertNull(ScheduleValidator.validate(after.getDAG(), 2, warmStartMap, warmStart.getTotalTime()));
+
+		Algorithm warm = new SpecialGraphAlgorithm(after.getDAG(), 2, 1, new SearchMetrics(), warmStart);
+		Algorithm cold = new SpecialGraphAlgorithm(after.getDAG(), 2, 1, new SearchMetrics());
+		assertEquals(cold.getBestTotalTime(), warm.getBestTotalTime());
+		assertTrue(warm.getBestTotalTime() <= warmStart.getTotalTime());
+	}
+
+	private File write(HashMap<String, NodeSchedule> schedule, String inputPath) throws IOException {
+		File file = File.createTempFile("schedule", ".dot");
+		file.deleteOnExit();
+		new OutputImp(schedule, inputPath, file.getPath()).outputToFile();
+		return file;
+	}
+}
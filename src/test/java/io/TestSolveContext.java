@@ -0,0 +1,79 @@
+package io;
+
+import algorithm.ScheduleValidator;
+import implementations.algorithm.SolveHandle;
+import implementations.algorithm.Solver;
+import implementations.io.InputImp;
+import implementations.io.SolveContext;
+import implementations.structures.DAGImp;
+import interfaces.algorithm.Algorithm;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertNull;
+
+public class TestSolveContext {
+
+	@Test
+	public void testContextDoesNotUseSharedGraph() {
+		DAGImp.getNewInstance();
+		SolveContext context = new SolveContext("testFiles/Nodes_7_OutTree.dot", 2, 1);
+
+		assertEquals(7, context.getDAG().getAllNodes().size());
+		assertTrue(DAGImp.getInstance().getAllNodes().isEmpty());
+		assertEquals(2, context.getNumberOfCores());
+		assertEquals(0, context.createEmptySchedule().getSizeOfSchedule());
+	}
+
+	/**
+	 * Graphs solved at the same time in one JVM each get their own optimal schedule.
+	 */
+	@Test
+	public void testConcurrentSolves() throws Exception {
+		String[][] cases = {
+				{"testFiles/Nodes_7_OutTree.dot", "2", "28"},
+				{"testFiles/Nodes_8_Random.dot", "2", "581"},
+				{"testFiles/Nodes_10_Random.dot", "2", "50"},
+				{"testFiles/Nodes_11_OutTree.dot", "4", "227"},
+		};
+		Solver solver = new Solver(cases.length);
+		List<SolveContext> contexts = new ArrayList<SolveContext>();
+		List<SolveHandle> handles = new ArrayList<SolveHandle>();
+		for (String[] c : cases) {
+			SolveContext context = new SolveContext(c[0], Integer.parseInt(c[1]), 1);
+			contexts.add(context);
+			handles.add(solver.submit(context));
+		}
+
+		for (int i = 0; i < cases.length; i++) {
+			Algorithm result = handles.get(i).awaitResult(60, TimeUnit.SECONDS);
+			SolveContext context = contexts.get(i);
+			assertEquals(cases[i][0], Integer.parseInt(cases[i][2]), result.getBestTotalTime());
+			assertNull(cases[i][0], ScheduleValidator.validate(context.getDAG(), context.getNumberOfCores(),
+					result.getCurrentBestSchedule(), result.getBestTotalTime()));
+		}
+		solver.shutdown();
+	}
+
+	@Test
+	public void testOutputGoesToContextPath() throws Exception {
+		File out = File.createTempFile("context", ".dot");
+		out.deleteOnExit();
+		SolveContext context = new SolveContext("test.dot",
+				new InputImp("test.dot", "2"), 1, out.getPath());
+		Algorithm result = new Solver(1).submit(context).awaitResult(30, TimeUnit.SECONDS);
+
+		context.createOutput(result.getCurrentBestSchedule()).outputToFile();
+		String written = new String(Files.readAllBytes(out.toPath()), StandardCharsets.UTF_8);
+		assertTrue(written.contains("Processor="));
+	}
+}
@@ -0,0 +1,91 @@
+package preprocessing;
+
+import algorithm.ScheduleValidator;
+import algorithm.TestGraphs;
+import implementations.algorithm.SearchMetrics;
+import implementations.preprocessing.ChainReduction;
+import implementations.preprocessing.LowerBounds;
+import implementations.preprocessing.ReducingAlgorithm;
+import interfaces.structures.DAG;
+
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class TestChainReduction {
+
+	/**
+	 * A sequential graph contracts into one task holding all the weight.
+	 */
+	@Test
+	public void testSequentialGraphContracted() {
+		DAG dag = TestGraphs.load("testFiles/Nodes_4_Sequential.dot");
+		ChainReduction reduction = new ChainReduction(dag);
+
+		assertTrue(reduction.isReduced());
+		assertEquals(1, reduction.getReducedDAG().getAllNodes().size());
+		assertEquals(1, reduction.getReducedDAG().getStartNodes().size());
+		assertEquals(22, reduction.getReducedDAG().getAllNodes().get(0).getWeight());
+	}
+
+	/**
+	 * In test2.dot c -> d is a chain, and the arc from a into it must carry over to the contracted task.
+	 */
+	@Test
+	public void testArcsBetweenChainsKept() {
+		DAG dag = TestGraphs.load("test2.dot");
+		ChainReduction reduction = new ChainReduction(dag);
+		DAG reduced = reduction.getReducedDAG();
+
+		// a forks to b and c, c -> d is a chain, e is isolated
+		assertEquals(4, reduced.getAllNodes().size());
+		assertEquals(5, reduced.getNodeByName("c").getWeight());
+		assertEquals(2, reduced.getNodeByName("c").getInArc(reduced.getNodeByName("a")).getWeight());
+		assertEquals(2, reduced.getStartNodes().size());
+	}
+
+	@Test
+	public void testForkNotReduced() {
+		DAG dag = TestGraphs.load("testFiles/Nodes_7_OutTree.dot");
+		assertFalse(new ChainReduction(dag).isReduced());
+	}
+
+	/**
+	 * The reducing solver must give valid schedules with the same optimal total time as the full search.
+	 */
+	@Test
+	public void testReducingAlgorithmOptimal() {
+		String[][] cases = {
+				{"test.dot", "2", "8"},
+				{"test2.dot", "2", "7"},
+				{"test3.dot", "2", "9"},
+				{"testFiles/Nodes_4_Sequential.dot", "2", "22"},
+				{"testFiles/Nodes_9_SeriesParallel.dot", "2", "55"},
+				{"testFiles/Nodes_10_Random.dot", "2", "50"},
+				{"testFiles/generated/Pipeline_Nodes_9_CCR_1.0_WeightType_Random_Seed_1.dot", "3", "38"},
+		};
+		for (String[] c : cases) {
+			DAG dag = TestGraphs.load(c[0]);
+			int cores = Integer.parseInt(c[1]);
+			ReducingAlgorithm alg = new ReducingAlgorithm(dag, cores, 1, new SearchMetrics());
+
+			assertEquals(c[0], Integer.parseInt(c[2]), alg.getBestTotalTime());
+			assertNull(c[0], ScheduleValidator.validate(dag, cores, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+		}
+	}
+
+	/**
+	 * A chain meets the critical path bound, so it is solved without searching the original graph.
+	 */
+	@Test
+	public void testSequentialSolvedByReduction() {
+		DAG dag = TestGraphs.load("testFiles/Nodes_4_Sequential.dot");
+		ReducingAlgorithm alg = new ReducingAlgorithm(dag, 2, 1, new SearchMetrics());
+
+		assertTrue(alg.isSolvedByReduction());
+		assertEquals(LowerBounds.criticalPath(dag), alg.getBestTotalTime());
+	}
+}
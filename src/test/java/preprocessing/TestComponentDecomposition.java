@@ -0,0 +1,112 @@
+package preprocessing;
+
+import algorithm.ScheduleValidator;
+import algorithm.TestGraphs;
+import implementations.algorithm.AlgorithmImp;
+import implementations.algorithm.SearchMetrics;
+import implementations.preprocessing.ComponentDecomposition;
+import implementations.preprocessing.DecomposingAlgorithm;
+import implementations.structures.ArcImpl;
+import implementations.structures.DAGImp;
+import implementations.structures.NodeImp;
+import interfaces.structures.Arc;
+import interfaces.structures.DAG;
+import interfaces.structures.Node;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class TestComponentDecomposition {
+
+	/**
+	 * In test2.dot e is isolated from a, b, c and d.
+	 */
+	@Test
+	public void testIsolatedNodeSplitOff() {
+		ComponentDecomposition decomposition = new ComponentDecomposition(TestGraphs.load("test2.dot"));
+		List<DAG> components = decomposition.getComponents();
+
+		assertTrue(decomposition.isDecomposed());
+		assertEquals(2, components.size());
+		// heaviest first
+		assertEquals(4, components.get(0).getAllNodes().size());
+		assertEquals(1, components.get(0).getStartNodes().size());
+		assertEquals(1, components.get(1).getAllNodes().size());
+		assertEquals("e", components.get(1).getStartNodes().get(0).getName());
+	}
+
+	@Test
+	public void testConnectedGraphNotDecomposed() {
+		assertFalse(new ComponentDecomposition(TestGraphs.load("testFiles/Nodes_7_OutTree.dot")).isDecomposed());
+	}
+
+	/**
+	 * Two forks which each need two cores: each gets two of the four cores, which is proven optimal
+	 * because neither finishes earlier on all four.
+	 */
+	@Test
+	public void testPartsGivenTheirOwnCores() {
+		DAG dag = DAGImp.createDetached();
+		List<Node> startNodes = new ArrayList<Node>();
+		startNodes.add(addFork(dag, "r", "a", "b"));
+		startNodes.add(addFork(dag, "s", "c", "d"));
+		dag.addStartNodes(startNodes);
+
+		DecomposingAlgorithm alg = new DecomposingAlgorithm(dag, 4, 1, new SearchMetrics());
+
+		assertTrue(alg.isSolvedByDecomposition());
+		assertEquals(6, alg.getBestTotalTime());
+		assertEquals(new AlgorithmImp(dag, 4, 1, new SearchMetrics(), null, null).getBestTotalTime(), alg.getBestTotalTime());
+		assertNull(ScheduleValidator.validate(dag, 4, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+	}
+
+	/**
+	 * The decomposing solver must give valid schedules with the same optimal total time as the full search,
+	 * both sequentially and with the parts solved in parallel.
+	 */
+	@Test
+	public void testDecomposingAlgorithmOptimal() {
+		String[][] cases = {
+				{"test.dot", "2", "8"},
+				{"test2.dot", "2", "7"},
+				{"test2.dot", "4", "7"},
+				{"testFiles/Nodes_7_OutTree.dot", "4", "22"},
+				{"testFiles/Nodes_9_SeriesParallel.dot", "2", "55"},
+		};
+		for (int threads = 1; threads <= 2; threads++) {
+			for (String[] c : cases) {
+				DAG dag = TestGraphs.load(c[0]);
+				int cores = Integer.parseInt(c[1]);
+				DecomposingAlgorithm alg = new DecomposingAlgorithm(dag, cores, threads, new SearchMetrics());
+
+				assertEquals(c[0], Integer.parseInt(c[2]), alg.getBestTotalTime());
+				assertNull(c[0], ScheduleValidator.validate(dag, cores, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+			}
+		}
+	}
+
+	/**
+	 * Adds root -> left and root -> right, with weights 2, 3 and 3 and arcs of weight 1.
+	 *
+	 * @return the root
+	 */
+	private Node addFork(DAG dag, String root, String left, String right) {
+		Node rootNode = new NodeImp(root, 2);
+		dag.add(rootNode);
+		for (String name : new String[] {left, right}) {
+			Node child = new NodeImp(name, 3);
+			Arc arc = new ArcImpl(1, rootNode, child);
+			rootNode.addOutArc(arc);
+			child.addInArc(arc);
+			dag.add(child);
+		}
+		return rootNode;
+	}
+}
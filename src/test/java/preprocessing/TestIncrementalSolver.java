@@ -0,0 +1,87 @@
+package preprocessing;
+
+import algorithm.ScheduleValidator;
+import algorithm.TestGraphs;
+import implementations.algorithm.SearchMetrics;
+import implementations.preprocessing.IncrementalSolver;
+import implementations.preprocessing.LowerBounds;
+import implementations.preprocessing.SpecialGraphAlgorithm;
+import interfaces.structures.DAG;
+
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+import static org.junit.Assert.assertNull;
+
+public class TestIncrementalSolver {
+
+	@Test
+	public void testResolveWithoutEditsNeedsNoSearch() {
+		DAG dag = TestGraphs.load("testFiles/Nodes_10_Random.dot");
+		IncrementalSolver solver = new IncrementalSolver(dag, 2, 1).solve();
+		assertEquals(50, solver.getBestTotalTime());
+
+		solver.solve();
+		assertTrue(solver.isSolvedWithoutSearch());
+		assertEquals(50, solver.getBestTotalTime());
+	}
+
+	/**
+	 * After every edit the result is the same as solving the edited graph from scratch.
+	 */
+	@Test
+	public void testEditsSameTimeAsFromScratch() {
+		DAG dag = TestGraphs.load("testFiles/Nodes_9_SeriesParallel.dot");
+		IncrementalSolver solver = new IncrementalSolver(dag, 2, 1).solve();
+		assertEquals(55, solver.getBestTotalTime());
+
+		solver.setWeight("5", 20);
+		assertOptimal(solver);
+		solver.setWeight("5", 3);
+		assertOptimal(solver);
+		solver.setArcCost("0", "2", 5);
+		assertOptimal(solver);
+		solver.setArcCost("0", "2", 80);
+		assertOptimal(solver);
+		solver.addTask("9", 6);
+		solver.addArc("1", "9", 4);
+		assertOptimal(solver);
+		solver.removeTask("7");
+		assertOptimal(solver);
+		solver.removeArc("3", "1");
+		assertOptimal(solver);
+		assertEquals(9, solver.getDAG().getAllNodes().size());
+	}
+
+	@Test
+	public void testCachedLowerBoundFollowsEdits() {
+		IncrementalSolver solver = new IncrementalSolver(TestGraphs.load("testFiles/Nodes_7_OutTree.dot"), 2, 1);
+		assertEquals(LowerBounds.lowerBound(solver.getDAG(), 2), solver.getLowerBound());
+
+		solver.setWeight("0", 100);
+		assertEquals(LowerBounds.lowerBound(solver.getDAG(), 2), solver.getLowerBound());
+		solver.removeTask("0");
+		assertEquals(LowerBounds.lowerBound(solver.getDAG(), 2), solver.getLowerBound());
+	}
+
+	@Test
+	public void testCycleRejected() {
+		IncrementalSolver solver = new IncrementalSolver(TestGraphs.load("testFiles/Nodes_9_SeriesParallel.dot"), 2, 1);
+		try {
+			solver.addArc("1", "0", 1);
+			fail("1 is reached from 0");
+		} catch (IllegalArgumentException e) {
+			assertEquals(9, solver.getDAG().getAllNodes().size());
+		}
+	}
+
+	private void assertOptimal(IncrementalSolver solver) {
+		solver.solve(new SearchMetrics());
+		DAG dag = solver.getDAG();
+		int expected = new SpecialGraphAlgorithm(dag, 2, 1, new SearchMetrics()).getBestTotalTime();
+		assertEquals(expected, solver.getBestTotalTime());
+		assertNull(ScheduleValidator.validate(dag, 2, solver.getCurrentBestSchedule(), solver.getBestTotalTime()));
+	}
+}
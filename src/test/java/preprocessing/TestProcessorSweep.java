@@ -0,0 +1,77 @@
+package preprocessing;
+
+import algorithm.ScheduleValidator;
+import algorithm.TestGraphs;
+import implementations.algorithm.SearchMetrics;
+import implementations.preprocessing.ProcessorSweep;
+import implementations.preprocessing.SpecialGraphAlgorithm;
+import interfaces.structures.DAG;
+import interfaces.structures.NodeSchedule;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertNull;
+
+public class TestProcessorSweep {
+
+	@Test
+	public void testSameTimesAsSeparateSolves() {
+		DAG dag = TestGraphs.load("testFiles/Nodes_11_OutTree.dot");
+		ProcessorSweep sweep = new ProcessorSweep(dag, 5, 2, new SearchMetrics());
+
+		for (int cores = 1; cores <= 5; cores++) {
+			int expected = new SpecialGraphAlgorithm(dag, cores, 1, new SearchMetrics()).getBestTotalTime();
+			assertEquals(expected, sweep.getTotalTime(cores));
+			assertNull(ScheduleValidator.validate(dag, cores, sweep.getSchedule(cores), sweep.getTotalTime(cores)));
+		}
+		assertEquals(640, sweep.getTotalTime(1));
+		assertEquals(227, sweep.getBestTotalTime());
+	}
+
+	/**
+	 * A number of processors whose schedule on fewer meets the optimal time on more takes that schedule.
+	 */
+	@Test
+	public void testMoreCoresTakeScheduleOnFewer() {
+		DAG dag = TestGraphs.load("testFiles/Nodes_11_OutTree.dot");
+		ProcessorSweep sweep = new ProcessorSweep(dag, 6, 1, new SearchMetrics());
+
+		for (int cores = 2; cores <= 6; cores++) {
+			assertTrue(sweep.getTotalTime(cores) <= sweep.getTotalTime(cores - 1));
+		}
+		assertEquals(4, sweep.getTakenFrom(5));
+		assertEquals(sweep.getTotalTime(4), sweep.getTotalTime(5));
+		assertEquals(7, sweep.toTable().split(System.lineSeparator()).length);
+	}
+
+	/**
+	 * The most processors are solved first, and the numbers of processors its schedule leaves empty take it.
+	 */
+	@Test
+	public void testFewerCoresTakeScheduleOnMore() {
+		DAG dag = TestGraphs.load("testFiles/Nodes_7_OutTree.dot");
+		ProcessorSweep sweep = new ProcessorSweep(dag, 8, 1, new SearchMetrics());
+
+		Set<Integer> used = new HashSet<Integer>();
+		for (NodeSchedule nodeSchedule : sweep.getSchedule(8).values()) {
+			used.add(nodeSchedule.getBestProcessor());
+		}
+		assertTrue(used.size() < 8);
+		assertEquals(0, sweep.getTakenFrom(8));
+		for (int cores = used.size(); cores < 8; cores++) {
+			assertEquals(8, sweep.getTakenFrom(cores));
+			assertEquals(sweep.getTotalTime(8), sweep.getTotalTime(cores));
+			assertNull(ScheduleValidator.validate(dag, cores, sweep.getSchedule(cores), sweep.getTotalTime(cores)));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoProcessors() {
+		new ProcessorSweep(TestGraphs.load("test.dot"), 0, 1, new SearchMetrics());
+	}
+}
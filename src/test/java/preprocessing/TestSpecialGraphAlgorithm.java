@@ -0,0 +1,89 @@
+package preprocessing;
+
+import algorithm.ScheduleValidator;
+import algorithm.TestGraphs;
+import implementations.algorithm.AlgorithmImp;
+import implementations.algorithm.SearchMetrics;
+import implementations.io.GraphType;
+import implementations.preprocessing.GraphClass;
+import implementations.preprocessing.GraphClassifier;
+import implementations.preprocessing.SpecialGraphAlgorithm;
+import interfaces.structures.DAG;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertNull;
+
+public class TestSpecialGraphAlgorithm {
+
+	@Test
+	public void testClassifyTestFiles() {
+		assertEquals(GraphClass.CHAIN, GraphClassifier.classify(TestGraphs.load("testFiles/Nodes_4_Sequential.dot")));
+		assertEquals(GraphClass.OUT_TREE, GraphClassifier.classify(TestGraphs.load("testFiles/Nodes_7_OutTree.dot")));
+		assertEquals(GraphClass.OUT_TREE, GraphClassifier.classify(TestGraphs.load("testFiles/Nodes_11_OutTree.dot")));
+		assertEquals(GraphClass.SERIES_PARALLEL,
+				GraphClassifier.classify(TestGraphs.load("testFiles/Nodes_9_SeriesParallel.dot")));
+		assertEquals(GraphClass.GENERAL, GraphClassifier.classify(TestGraphs.load("testFiles/Nodes_5_Stencil.dot")));
+	}
+
+	@Test
+	public void testClassifyGeneratedGraphs() throws IOException {
+		assertEquals(GraphClass.FORK, GraphClassifier.classify(TestGraphs.generate(GraphType.FORK, 8, 1.0, 1)));
+		assertEquals(GraphClass.JOIN, GraphClassifier.classify(TestGraphs.generate(GraphType.JOIN, 8, 1.0, 1)));
+		assertEquals(GraphClass.IN_TREE, GraphClassifier.classify(TestGraphs.generate(GraphType.IN_TREE, 12, 1.0, 1)));
+		assertEquals(GraphClass.SERIES_PARALLEL,
+				GraphClassifier.classify(TestGraphs.generate(GraphType.FORK_JOIN, 10, 1.0, 1)));
+	}
+
+	@Test
+	public void testChainSolvedDirectly() {
+		DAG dag = TestGraphs.load("testFiles/Nodes_4_Sequential.dot");
+		SearchMetrics metrics = new SearchMetrics();
+		SpecialGraphAlgorithm alg = new SpecialGraphAlgorithm(dag, 2, 1, metrics);
+
+		assertTrue(alg.isSolvedDirectly());
+		assertEquals(0, metrics.getExpansions());
+		assertNull(ScheduleValidator.validate(dag, 2, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+		assertEquals(new AlgorithmImp(dag, 2, 1, new SearchMetrics(), null, null).getBestTotalTime(), alg.getBestTotalTime());
+	}
+
+	/**
+	 * Forks and joins with a core for every leaf are solved directly, with the same time as the search.
+	 */
+	@Test
+	public void testForkAndJoinSameTimeAsAlgorithmImp() throws IOException {
+		long seed = 1;
+		for (GraphType type : new GraphType[] {GraphType.FORK, GraphType.JOIN}) {
+			for (double ccr : new double[] {0.1, 1.0, 10.0}) {
+				DAG dag = TestGraphs.generate(type, 6, ccr, seed++);
+				SpecialGraphAlgorithm alg = new SpecialGraphAlgorithm(dag, 6, 1, new SearchMetrics());
+				AlgorithmImp expected = new AlgorithmImp(dag, 6, 1, new SearchMetrics(), null, null);
+
+				assertTrue(alg.isSolvedDirectly());
+				assertEquals(type + " " + ccr, expected.getBestTotalTime(), alg.getBestTotalTime());
+				assertNull(ScheduleValidator.validate(dag, 6, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+			}
+		}
+	}
+
+	@Test
+	public void testOtherGraphsStillOptimal() {
+		String[][] cases = {
+				{"testFiles/Nodes_7_OutTree.dot", "2", "28"},
+				{"testFiles/Nodes_9_SeriesParallel.dot", "2", "55"},
+				{"testFiles/Nodes_11_OutTree.dot", "4", "227"},
+		};
+		for (String[] c : cases) {
+			DAG dag = TestGraphs.load(c[0]);
+			int cores = Integer.parseInt(c[1]);
+			SpecialGraphAlgorithm alg = new SpecialGraphAlgorithm(dag, cores, 1, new SearchMetrics());
+
+			assertEquals(c[0], Integer.parseInt(c[2]), alg.getBestTotalTime());
+			assertNull(c[0], ScheduleValidator.validate(dag, cores, alg.getCurrentBestSchedule(), alg.getBestTotalTime()));
+		}
+	}
+}
@@ -2,78 +2,111 @@ package testVisualisation;
 
 import static org.junit.Assert.*;
 
+import java.util.HashMap;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 
 import implementations.io.Conversion;
 import implementations.algorithm.AlgorithmImp;
 import implementations.io.InputImp;
-import implementations.io.OutputImp;
+import implementations.structures.DAGImp;
+import implementations.structures.NodeScheduleImp;
 import interfaces.io.Input;
 import interfaces.structures.DAG;
-import visualisation.GraphView;
-import visualisation.GraphViewImp;
-import visualisation.TableModel;
+import interfaces.structures.NodeSchedule;
+import visualisation.GanttModel;
+import visualisation.GanttModel.Interval;
 
 public class TestScheduleVisual {
-	/*public static final String FILENAME = "test2.dot";
+	public static final String FILENAME = "test2.dot";
 	private AlgorithmImp alg;
-	private OutputImp output;
 	private DAG dag;
 	private int _cores;
-	private TableModel _schedule;
+	private GanttModel _schedule;
 	
 	@Before
 	public void initialise(){
+		DAGImp.getNewInstance();
 		Input input = new InputImp(FILENAME, "2");
-		Conversion conversion = new ConversionImp(input);
+		Conversion conversion = new Conversion(input);
 
-		dag = conversion.getDAG();
+		dag = DAGImp.getInstance();
 		_cores = input.getProcessorCount();
 		
-		alg = new AlgorithmImp(dag, _cores);
-		output = new OutputImp (alg.getCurrentBestSchedule(),FILENAME);
-		_schedule = TableModel.getInstance();
-		_schedule.initModel(alg, dag, _cores);
-		
-		//GraphView schedule = new GraphViewImp(_schedule);
+		alg = new AlgorithmImp(_cores, false, 1);
+		_schedule = new GanttModel(dag, _cores);
+		_schedule.changeData(alg.getCurrentBestSchedule(), alg.getBestTotalTime());
+	}
+	
+	/**
+	 * Every task of the best schedule is one interval, with the length of the task's weight.
+	 */
+	@Test
+	public void testOneIntervalPerTask() {
+		int count = 0;
+		for (int core = 1; core <= _cores; core++) {
+			for (Interval interval : _schedule.getIntervals(core)) {
+				assertEquals(core, interval.getCore());
+				assertEquals(dag.getNodeByName(interval.getName()).getWeight(), interval.getLength());
+				NodeSchedule expected = alg.getCurrentBestSchedule().get(interval.getName());
+				assertEquals(expected.getBestStartTime(), interval.getStart());
+				count++;
+			}
+		}
+		assertEquals(dag.getAllNodes().size(), count);
+		assertEquals(7, _schedule.getBestTime());
 	}
 	
+	/**
+	 * Intervals on a core are sorted by start time and never overlap.
+	 */
 	@Test
-    public void testColumnName() {
-		String[] colNames = _schedule.initColumnNames();
-		String[] expectedColNames = new String[] {"Time","P1","P2"};
-		assertArrayEquals(expectedColNames,colNames);
-    }
+	public void testIntervalsSorted() {
+		for (int core = 1; core <= _cores; core++) {
+			List<Interval> intervals = _schedule.getIntervals(core);
+			for (int i = 1; i < intervals.size(); i++) {
+				assertTrue(intervals.get(i - 1).getEnd() <= intervals.get(i).getStart());
+			}
+		}
+	}
 	
-	//@Test
-	public void testData(){
-		String[][] expectedData = { { "1", "A", "" },
-				{ "2", "A", "" },
-				{ "3", "C", "" },
-				{ "4", "C", "B" },
-				{ "5", "C", "B" }, 
-				{ "6", "", "B" },
-				{ "7", "", "D" },
-				{ "8", "", "D" }
-		};
-		String[][] data = _schedule.initData();
-		assertArrayEquals(expectedData,data);
+	/**
+	 * The window query returns exactly the tasks which overlap the window, including one which started before it.
+	 */
+	@Test
+	public void testIntervalsBetween() {
+		for (int core = 1; core <= _cores; core++) {
+			for (int from = 0; from < _schedule.getBestTime(); from++) {
+				for (int to = from + 1; to <= _schedule.getBestTime(); to++) {
+					int expected = 0;
+					for (Interval interval : _schedule.getIntervals(core)) {
+						if (interval.getStart() < to && interval.getEnd() > from) {
+							expected++;
+						}
+					}
+					assertEquals(expected, _schedule.getIntervalsBetween(core, from, to).size());
+				}
+			}
+		}
 	}
 	
-	//@Test
-	/*public void testData2(){
-		String[][] expectedData = { { "1", "A", "" },
-				{ "2", "A", "" },
-				{ "3", "C", "" },
-				{ "4", "C", "B" },
-				{ "5", "C", "B" }, 
-				{ "6", "", "B" },
-				{ "7", "", "D" },
-				{ "8", "", "D" }
-		};
-		String[][] data = _schedule.changeData();
-		assertArrayEquals(expectedData,data);
-	}*/
+	/**
+	 * A schedule with a very large total time still only stores one interval per task.
+	 */
+	@Test
+	public void testLargeTimes() {
+		HashMap<String, NodeSchedule> map = new HashMap<String, NodeSchedule>();
+		map.put("a", new NodeScheduleImp(0, 1));
+		map.put("b", new NodeScheduleImp(50000000, 1));
+		_schedule.changeData(map, 100000000);
+		
+		assertEquals(2, _schedule.getIntervals(1).size());
+		assertEquals(0, _schedule.getIntervals(2).size());
+		List<Interval> visible = _schedule.getIntervalsBetween(1, 49999999, 50000001);
+		assertEquals(1, visible.size());
+		assertEquals("b", visible.get(0).getName());
+	}
 	
 }
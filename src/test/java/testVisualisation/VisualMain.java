@@ -10,8 +10,6 @@ import interfaces.structures.DAG;
 import visualisation.ComboView;
 import visualisation.GraphStreamView;
 import visualisation.GraphView;
-import visualisation.GraphViewImp;
-import visualisation.TableModel;
 
 public class VisualMain {
 	public static void main(String args[]) {